@@ -15,6 +15,7 @@ CREATE TABLE `POST` (
 	`model_id` int NOT NULL,
     primary key (id),
     INDEX    `POST_create_date_index` (`create_date`),
+    INDEX    `POST_user_id_create_date_index` (`user_id`, `create_date`, `id`),
     constraint post_user_id_fk
         foreign key (user_id) references USER (id)
             on update cascade on delete cascade,
@@ -49,6 +50,16 @@ CREATE TABLE `FOLLOW` (
             on update cascade on delete cascade
 );
 
+CREATE TABLE `FOLLOW_COUNT` (
+	`user_id`	int	NOT NULL,
+	`follower_count`	int	NOT NULL default 0,
+	`following_count`	int	NOT NULL default 0,
+    primary key (user_id),
+    constraint follow_count_user_id_fk
+        foreign key (user_id) references USER (id)
+            on update cascade on delete cascade
+);
+
 CREATE TABLE `HASHTAG` (
 	`id`	int	NOT NULL auto_increment,
 	`tag`	varchar(16)	NOT NULL unique,
@@ -68,11 +79,32 @@ CREATE TABLE `POST_HASHTAG` (
             on update cascade on delete cascade
 );
 
+CREATE TABLE `IMAGE_OBJECT` (
+	`digest`	char(64)	NOT NULL,
+	`image_url`	varchar(255)	NOT NULL unique,
+	`thumbnail_url`	varchar(255)	NULL,
+	`feed_url`	varchar(255)	NULL,
+	`ref_count`	int	NOT NULL default 1,
+	`uploaded`	boolean	NOT NULL default false,
+	`deleting`	boolean	NOT NULL default false,
+    primary key (digest)
+);
+
+CREATE TABLE `S3_DELETE_QUEUE` (
+	`id`	int	NOT NULL auto_increment,
+	`object_key`	varchar(255)	NOT NULL,
+	`create_date`	timestamp	NOT NULL default CURRENT_TIMESTAMP,
+    primary key (id),
+    index S3_DELETE_QUEUE_object_key_index (object_key)
+);
+
 CREATE TABLE `IMAGE` (
 	`id`	int	NOT NULL auto_increment,
-	`post_id`	int	NOT NULL,
+	`post_id`	int	NOT NULL unique,
 	`file_name`	varchar(255)	NOT NULL,
 	`file_path`	varchar(255)	NOT NULL,
+	`thumbnail_url`	varchar(255)	NULL,
+	`feed_url`	varchar(255)	NULL,
     primary key (id),
     constraint image_post_id_fk
         foreign key (post_id) references POST (id)
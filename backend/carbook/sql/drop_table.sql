@@ -1,6 +1,9 @@
 drop table if exists IMAGE CASCADE;
+drop table if exists IMAGE_OBJECT CASCADE;
+drop table if exists S3_DELETE_QUEUE CASCADE;
 drop table if exists POST_HASHTAG CASCADE;
 drop table if exists HASHTAG CASCADE;
+drop table if exists FOLLOW_COUNT CASCADE;
 drop table if exists Follow CASCADE;
 drop table if exists POST_LIKE CASCADE;
 drop table if exists POST CASCADE;
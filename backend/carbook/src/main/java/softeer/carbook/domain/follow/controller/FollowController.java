@@ -5,6 +5,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import softeer.carbook.domain.follow.dto.FollowListResponse;
+import softeer.carbook.domain.follow.dto.FollowPageResponse;
 import softeer.carbook.domain.follow.dto.ModifyFollowInfoForm;
 import softeer.carbook.domain.follow.service.FollowService;
 import softeer.carbook.global.dto.Message;
@@ -58,6 +59,20 @@ public class FollowController {
         return new ResponseEntity<>(followService.getFollowings(nickname), HttpStatus.OK);
     }
 
+    @GetMapping("/profile/followers/page")
+    public ResponseEntity<FollowPageResponse> getFollowersPage(
+            @RequestParam String nickname,
+            @RequestParam(defaultValue = "0") int index){
+        return new ResponseEntity<>(followService.getFollowersPage(nickname, index), HttpStatus.OK);
+    }
+
+    @GetMapping("/profile/followings/page")
+    public ResponseEntity<FollowPageResponse> getFollowingsPage(
+            @RequestParam String nickname,
+            @RequestParam(defaultValue = "0") int index){
+        return new ResponseEntity<>(followService.getFollowingsPage(nickname, index), HttpStatus.OK);
+    }
+
     @DeleteMapping("profile/follower")
     public ResponseEntity<Message> deleteFollower(@RequestParam String follower, HttpServletRequest httpServletRequest){
         User loginUser = userService.findLoginedUser(httpServletRequest);
@@ -0,0 +1,27 @@
+package softeer.carbook.domain.follow.dto;
+
+import java.util.List;
+
+public class FollowPageResponse {
+    private final List<String> nicknames;
+    private final int nextIndex;
+    private final boolean hasNext;
+
+    public FollowPageResponse(List<String> nicknames, int nextIndex, boolean hasNext) {
+        this.nicknames = nicknames;
+        this.nextIndex = nextIndex;
+        this.hasNext = hasNext;
+    }
+
+    public List<String> getNicknames() {
+        return nicknames;
+    }
+
+    public int getNextIndex() {
+        return nextIndex;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+}
@@ -0,0 +1,20 @@
+package softeer.carbook.domain.follow.model;
+
+// 팔로우 목록 페이지의 한 줄, followId 는 다음 페이지를 불러올 커서로 쓴다
+public class FollowNickname {
+    private final int followId;
+    private final String nickname;
+
+    public FollowNickname(int followId, String nickname) {
+        this.followId = followId;
+        this.nickname = nickname;
+    }
+
+    public int getFollowId() {
+        return followId;
+    }
+
+    public String getNickname() {
+        return nickname;
+    }
+}
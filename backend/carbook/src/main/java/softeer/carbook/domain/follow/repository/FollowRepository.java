@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.sql.DataSource;
 import java.util.List;
@@ -24,12 +25,24 @@ public class FollowRepository {
         return jdbcTemplate.query("select following_id from FOLLOW where is_deleted = false and follower_id = ?", followingIdRowMapper(), followerId);
     }
 
+    // followerId 가 팔로우하는 사용자 중 팔로워가 followerCount 명보다 많은 사용자, 팔로워 수는 FOLLOW_COUNT 에서 읽는다
+    public List<Integer> getFollowingIdsOverFollowerCount(int followerId, int followerCount){
+        return jdbcTemplate.query(
+                "select f.following_id from FOLLOW f " +
+                        "inner join FOLLOW_COUNT c on c.user_id = f.following_id " +
+                        "where f.is_deleted = false and f.follower_id = ? and c.follower_count > ?",
+                followingIdRowMapper(), followerId, followerCount);
+    }
+
+    // 팔로우/언팔로우 시 함께 갱신되는 FOLLOW_COUNT 에서 조회
     public int getFollowerCount(int followingId){
-        return jdbcTemplate.queryForObject("select count(*) from FOLLOW where is_deleted = false and following_id = ?", Integer.class, followingId);
+        return jdbcTemplate.query("select follower_count from FOLLOW_COUNT where user_id = ?",
+                (rs, rowNum) -> rs.getInt("follower_count"), followingId).stream().findAny().orElse(0);
     }
 
     public int getFollowingCount(int followerId){
-        return jdbcTemplate.queryForObject("select count(*) from FOLLOW where is_deleted = false and follower_id = ?", Integer.class, followerId);
+        return jdbcTemplate.query("select following_count from FOLLOW_COUNT where user_id = ?",
+                (rs, rowNum) -> rs.getInt("following_count"), followerId).stream().findAny().orElse(0);
     }
 
     public boolean isFollow(int id, int followingId) {
@@ -44,16 +57,61 @@ public class FollowRepository {
                 idRowMapper(), followerId, followingId).stream().findAny();
     }
 
+    @Transactional
     public void unFollow(int followId) {
+        // 이미 취소된 팔로우면 카운터를 건드리지 않는다
+        int changed = jdbcTemplate.update(
+                "update FOLLOW set is_deleted = true where id = ? and is_deleted = false", followId);
+        if (changed == 0) {
+            return;
+        }
+        jdbcTemplate.update(
+                "update FOLLOW_COUNT set following_count = following_count - 1 " +
+                        "where user_id = (select follower_id from FOLLOW where id = ?)", followId);
         jdbcTemplate.update(
-                "update FOLLOW set is_deleted = true where id = ?", followId);
+                "update FOLLOW_COUNT set follower_count = follower_count - 1 " +
+                        "where user_id = (select following_id from FOLLOW where id = ?)", followId);
     }
 
+    @Transactional
     public void addFollow(int followerId, int followingId) {
+        // 이미 팔로우 중이면 카운터를 건드리지 않는다
+        int changed = jdbcTemplate.update(
+                "update FOLLOW set is_deleted = false " +
+                        "where follower_id = ? and following_id = ? and is_deleted = true",
+                followerId, followingId);
+        if (changed == 0) {
+            changed = jdbcTemplate.update(
+                    "insert ignore into FOLLOW(follower_id, following_id) values (?, ?)",
+                    followerId, followingId);
+        }
+        if (changed == 0) {
+            return;
+        }
         jdbcTemplate.update(
-                "insert into FOLLOW(follower_id, following_id) values (?, ?) " +
-                        "ON DUPLICATE KEY update is_deleted = false",
-                followerId, followingId );
+                "insert into FOLLOW_COUNT(user_id, following_count) values (?, 1) " +
+                        "ON DUPLICATE KEY update following_count = following_count + 1",
+                followerId);
+        jdbcTemplate.update(
+                "insert into FOLLOW_COUNT(user_id, follower_count) values (?, 1) " +
+                        "ON DUPLICATE KEY update follower_count = follower_count + 1",
+                followingId);
+    }
+
+    // FOLLOW 를 다시 세어 FOLLOW_COUNT 의 어긋난 값을 바로잡는다
+    @Transactional
+    public int reconcileFollowCounts() {
+        int updated = jdbcTemplate.update(
+                "update FOLLOW_COUNT c set " +
+                        "follower_count = (select count(*) from FOLLOW f where f.is_deleted = false and f.following_id = c.user_id), " +
+                        "following_count = (select count(*) from FOLLOW f where f.is_deleted = false and f.follower_id = c.user_id)");
+        int inserted = jdbcTemplate.update(
+                "insert into FOLLOW_COUNT(user_id, follower_count, following_count) " +
+                        "select u.id, " +
+                        "(select count(*) from FOLLOW f where f.is_deleted = false and f.following_id = u.id), " +
+                        "(select count(*) from FOLLOW f where f.is_deleted = false and f.follower_id = u.id) " +
+                        "from `USER` u where not exists (select c.user_id from FOLLOW_COUNT c where c.user_id = u.id)");
+        return updated + inserted;
     }
 
     private RowMapper<Integer> idRowMapper(){
@@ -0,0 +1,30 @@
+package softeer.carbook.domain.follow.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import softeer.carbook.domain.follow.repository.FollowRepository;
+
+// FOLLOW_COUNT 가 FOLLOW 와 어긋나지 않도록 시작할 때와 매일 한 번 다시 센다
+@Component
+public class FollowCountReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowCountReconciler.class);
+    private final FollowRepository followRepository;
+
+    @Autowired
+    public FollowCountReconciler(FollowRepository followRepository) {
+        this.followRepository = followRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${carbook.follow.reconcile-cron:0 0 4 * * *}")
+    public void reconcile() {
+        int count = followRepository.reconcileFollowCounts();
+        logger.info("follow counts reconciled: {} users", count);
+    }
+}
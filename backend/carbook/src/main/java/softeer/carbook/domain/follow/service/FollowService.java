@@ -3,26 +3,36 @@ package softeer.carbook.domain.follow.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import softeer.carbook.domain.follow.dto.FollowListResponse;
+import softeer.carbook.domain.follow.dto.FollowPageResponse;
 import softeer.carbook.domain.follow.exception.FollowIdNotExistException;
+import softeer.carbook.domain.follow.model.FollowNickname;
 import softeer.carbook.domain.follow.repository.FollowRepository;
+import softeer.carbook.domain.post.service.HomeTimeline;
 import softeer.carbook.global.dto.Message;
 import softeer.carbook.domain.user.model.User;
 import softeer.carbook.domain.user.repository.UserRepository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class FollowService {
     private final FollowRepository followRepository;
     private final UserRepository userRepository;
+    private final HomeTimeline homeTimeline;
+    private final int FOLLOW_PAGE_SIZE = 20;
+    private final int FOLLOW_LIST_LIMIT = 1000;
 
     @Autowired
     public FollowService(
             FollowRepository followRepository,
-            UserRepository userRepository
+            UserRepository userRepository,
+            HomeTimeline homeTimeline
     ) {
         this.followRepository = followRepository;
         this.userRepository = userRepository;
+        this.homeTimeline = homeTimeline;
     }
 
     public Message modifyFollowInfo(User loginUser, String profileUserNickname) {
@@ -36,20 +46,44 @@ public class FollowService {
             // 언팔로우 진행
 
             followRepository.unFollow(followId.get());
+            homeTimeline.unfollow(loginUser.getId(), profileUser.getId());
             return new Message("Unfollow Success");
         }
 
         // 팔로우 진행
         followRepository.addFollow(loginUser.getId(), profileUser.getId());
+        homeTimeline.follow(loginUser.getId());
         return new Message("Follow Success");
     }
 
+    // 페이지 없이 조회하는 이전 API, 최대 FOLLOW_LIST_LIMIT 명까지만 내려준다
     public FollowListResponse getFollowings(String nickname){
-        return new FollowListResponse(userRepository.getFollowingNicknames(nickname));
+        return new FollowListResponse(userRepository.getFollowingNicknames(nickname, FOLLOW_LIST_LIMIT));
     }
 
     public FollowListResponse getFollowers(String nickname){
-        return new FollowListResponse(userRepository.getFollowerNicknames(nickname));
+        return new FollowListResponse(userRepository.getFollowerNicknames(nickname, FOLLOW_LIST_LIMIT));
+    }
+
+    public FollowPageResponse getFollowingsPage(String nickname, int index){
+        return toPage(userRepository.getFollowingNicknamesBefore(nickname, initIndex(index), FOLLOW_PAGE_SIZE + 1));
+    }
+
+    public FollowPageResponse getFollowersPage(String nickname, int index){
+        return toPage(userRepository.getFollowerNicknamesBefore(nickname, initIndex(index), FOLLOW_PAGE_SIZE + 1));
+    }
+
+    // 한 명 더 조회해서 다음 페이지가 있는지 판단
+    private FollowPageResponse toPage(List<FollowNickname> follows){
+        boolean hasNext = follows.size() > FOLLOW_PAGE_SIZE;
+        List<FollowNickname> page = hasNext ? follows.subList(0, FOLLOW_PAGE_SIZE) : follows;
+        List<String> nicknames = page.stream().map(FollowNickname::getNickname).collect(Collectors.toList());
+        int nextIndex = page.isEmpty() ? 0 : page.get(page.size() - 1).getFollowId();
+        return new FollowPageResponse(nicknames, nextIndex, hasNext);
+    }
+
+    private int initIndex(int index){
+        return index == 0 ? Integer.MAX_VALUE : index;
     }
 
     public Message deleteFollower(User loginUser, String nickname) {
@@ -57,6 +91,7 @@ public class FollowService {
         Optional<Integer> followId = followRepository.findFollowId(deletedUser.getId(), loginUser.getId());
         if(followId.isPresent()){
             followRepository.unFollow(followId.get());
+            homeTimeline.unfollow(deletedUser.getId(), loginUser.getId());
             return new Message("Follower delete success");
         }
         throw new FollowIdNotExistException();
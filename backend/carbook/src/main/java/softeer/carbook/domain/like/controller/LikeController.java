@@ -3,18 +3,23 @@ package softeer.carbook.domain.like.controller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import softeer.carbook.domain.like.dto.LikeResponse;
+import softeer.carbook.domain.like.dto.LikedPostsResponse;
 import softeer.carbook.domain.like.dto.ModifyLikeInfoForm;
 import softeer.carbook.domain.like.service.LikeService;
 import softeer.carbook.domain.post.controller.PostController;
 import softeer.carbook.domain.user.model.User;
 import softeer.carbook.domain.user.service.UserService;
-import softeer.carbook.global.dto.Message;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.List;
 
 @RestController
 public class LikeController {
@@ -34,7 +39,7 @@ public class LikeController {
     // 좋아요
     // 좋아요 취소
     @PostMapping("/post/like")
-    public ResponseEntity<Message> modifyLikeInfo(
+    public ResponseEntity<LikeResponse> modifyLikeInfo(
             @RequestBody ModifyLikeInfoForm modifyLikeInfoForm,
             HttpServletRequest httpServletRequest
     ){
@@ -44,15 +49,25 @@ public class LikeController {
         User loginUser = userService.findLoginedUser(httpServletRequest);
 
         // 로그인한 유저 정보와 좋아요/좋아요취소를 할 게시글의 id를 파라미터로 전달
-        Message resultMsg = likeService.modifyLikeInfo(
+        LikeResponse likeResponse = likeService.modifyLikeInfo(
                 loginUser.getId(),
                 modifyLikeInfoForm.getPostId()
         );
         long endTime = System.currentTimeMillis();
         logger.info("Time in milliSeconds: {}", endTime - startTime);
 
-        return Message.make200Response(resultMsg.getMessage());
+        return new ResponseEntity<>(likeResponse, HttpStatus.OK);
 
     }
 
+    // 피드에 보이는 게시글들의 좋아요 여부를 한 번에 조회
+    @GetMapping("/post/likes")
+    public ResponseEntity<LikedPostsResponse> getLikedPostIds(
+            @RequestParam List<Integer> postIds,
+            HttpServletRequest httpServletRequest
+    ){
+        User loginUser = userService.findLoginedUser(httpServletRequest);
+        return new ResponseEntity<>(likeService.findLikedPostIds(loginUser.getId(), postIds), HttpStatus.OK);
+    }
+
 }
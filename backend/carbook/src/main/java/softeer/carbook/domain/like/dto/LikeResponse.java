@@ -0,0 +1,25 @@
+package softeer.carbook.domain.like.dto;
+
+public class LikeResponse {
+    private final String message;
+    private final boolean isLike;
+    private final int likeCount;
+
+    public LikeResponse(String message, boolean isLike, int likeCount) {
+        this.message = message;
+        this.isLike = isLike;
+        this.likeCount = likeCount;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isLike() {
+        return isLike;
+    }
+
+    public int getLikeCount() {
+        return likeCount;
+    }
+}
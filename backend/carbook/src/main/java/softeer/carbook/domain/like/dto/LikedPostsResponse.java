@@ -0,0 +1,15 @@
+package softeer.carbook.domain.like.dto;
+
+import java.util.List;
+
+public class LikedPostsResponse {
+    private final List<Integer> likedPostIds;
+
+    public LikedPostsResponse(List<Integer> likedPostIds) {
+        this.likedPostIds = likedPostIds;
+    }
+
+    public List<Integer> getLikedPostIds() {
+        return likedPostIds;
+    }
+}
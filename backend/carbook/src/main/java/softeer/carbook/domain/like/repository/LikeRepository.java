@@ -8,9 +8,7 @@ import org.springframework.transaction.annotation.Transactional;
 import softeer.carbook.domain.user.model.User;
 
 import javax.sql.DataSource;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import java.util.*;
 
 @Repository
 public class LikeRepository {
@@ -19,11 +17,10 @@ public class LikeRepository {
     @Autowired
     public LikeRepository(DataSource dataSource) { this.jdbcTemplate = new JdbcTemplate(dataSource); }
 
+    // POST_LIKE 를 세지 않고 POST 의 like_count 를 읽는다, LikeCountBuffer 에 남은 변화량은 포함하지 않는다
     public int findLikeCountByPostId(int postId) {
-        return Objects.requireNonNull(jdbcTemplate.queryForObject(
-                "select count(id) from POST_LIKE where post_id = ? and is_deleted = false",
-                Integer.class,
-                postId));
+        return jdbcTemplate.query("select like_count from POST where id = ?",
+                (rs, rowNum) -> rs.getInt("like_count"), postId).stream().findAny().orElse(0);
     }
 
     public boolean checkLike(int userId, int postId) {
@@ -32,28 +29,54 @@ public class LikeRepository {
         return !result.isEmpty();
     }
 
+    public List<Integer> findAllLikedPostIds(int userId) {
+        return jdbcTemplate.query(
+                "select post_id from POST_LIKE where user_id = ? and is_deleted = false",
+                (rs, rowNum) -> rs.getInt("post_id"), userId);
+    }
+
+    // postIds 중 userId 가 좋아요를 누른 게시글 id
+    public List<Integer> findLikedPostIds(int userId, List<Integer> postIds) {
+        if (postIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String inClause = String.join(", ", Collections.nCopies(postIds.size(), "?"));
+        List<Object> args = new ArrayList<>();
+        args.add(userId);
+        args.addAll(postIds);
+        return jdbcTemplate.query(
+                "select post_id from POST_LIKE where user_id = ? and is_deleted = false " +
+                        "and post_id in (" + inClause + ")",
+                (rs, rowNum) -> rs.getInt("post_id"), args.toArray());
+    }
+
     public Optional<Integer> findLikeByUserIdAndPostId(int userId, int postId) {
         return jdbcTemplate.query(
                 "select id from POST_LIKE where is_deleted = false and user_id = ? and post_id = ?",
                 idRowMapper(), userId, postId).stream().findAny();
     }
 
+    // 좋아요 여부를 한 문장으로 뒤집고 바뀐 상태를 반환, 같은 행을 잠그므로 동시에 눌러도 순서대로 적용된다
     @Transactional
-    public void unLike(int likeId, int postId) {
+    public boolean toggleLike(int userId, int postId) {
         jdbcTemplate.update(
-                "update POST_LIKE set is_deleted = true where id = ?", likeId);
-        jdbcTemplate.update(
-                "update POST set like_count = like_count - 1 where id = ?", postId);
+                "insert into POST_LIKE(user_id, post_id) values (?, ?) " +
+                        "on DUPLICATE KEY update is_deleted = not is_deleted",
+                userId, postId);
+        Boolean isDeleted = jdbcTemplate.queryForObject(
+                "select is_deleted from POST_LIKE where user_id = ? and post_id = ?",
+                Boolean.class, userId, postId);
+        return !Boolean.TRUE.equals(isDeleted);
     }
 
+    // 게시글 id -> 좋아요 수 변화량을 한 번의 배치로 반영, 일부만 반영되지 않도록 한 트랜잭션으로 묶는다
     @Transactional
-    public void addLike(int userId, int postId) {
-        jdbcTemplate.update(
-        "insert into POST_LIKE(user_id, post_id) values (?, ?) " +
-                "on DUPLICATE KEY update is_deleted = false",
-                userId, postId);
-        jdbcTemplate.update(
-                "update POST set like_count = like_count + 1 where id = ?", postId);
+    public void increaseLikeCounts(Map<Integer, Integer> deltas) {
+        List<Object[]> batchArgs = new ArrayList<>();
+        // 게시글 id 순서대로 잠가서 동시에 반영할 때 교착 상태를 피한다
+        new TreeMap<>(deltas).forEach((postId, delta) -> batchArgs.add(new Object[]{delta, postId}));
+        jdbcTemplate.batchUpdate(
+                "update POST set like_count = like_count + ? where id = ?", batchArgs);
     }
 
     private RowMapper<Integer> idRowMapper(){
@@ -0,0 +1,131 @@
+package softeer.carbook.domain.like.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import softeer.carbook.domain.like.repository.LikeRepository;
+
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 게시글별 좋아요 수 변화량을 메모리에 모았다가 주기적으로, 혹은 일정 개수가 쌓이면 한 번에 반영한다
+// 좋아요를 누를 때마다 인기 게시글의 POST 행을 잠그지 않기 위함
+// 변화량이 0 이 된 게시글은 목록에서 빼서 좋아요가 눌린 적 있는 게시글 수만큼 커지지 않게 한다
+// 반영 중인 변화량은 커밋될 때까지 inFlightCounts 에 두어, 그 사이 조회한 좋아요 수가 모자라지 않게 한다
+@Component
+public class LikeCountBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikeCountBuffer.class);
+    private final LikeRepository likeRepository;
+    private final int flushThreshold;
+    private final Map<Integer, Integer> pendingCounts = new ConcurrentHashMap<>();
+    private volatile Map<Integer, Integer> inFlightCounts = Map.of();
+    // 변화량을 pendingCounts 와 inFlightCounts 사이에서 옮기는 동안에는 조회하지 않는다
+    private final ReadWriteLock countLock = new ReentrantReadWriteLock();
+    private final AtomicInteger pendingUpdates = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Autowired
+    public LikeCountBuffer(
+            LikeRepository likeRepository,
+            @Value("${carbook.like.flush-threshold:1000}") int flushThreshold) {
+        this.likeRepository = likeRepository;
+        this.flushThreshold = flushThreshold;
+    }
+
+    public void add(int postId, int delta) {
+        addPending(postId, delta);
+        // 이미 다른 스레드가 반영 중이면 기다리지 않는다
+        if (pendingUpdates.incrementAndGet() >= flushThreshold && flushLock.tryLock()) {
+            try {
+                flushPendingCounts();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    // 아직 POST 에 반영되지 않은 변화량, 반영 중이지만 커밋되지 않은 변화량도 더한다
+    public int getPendingCount(int postId) {
+        countLock.readLock().lock();
+        try {
+            return pendingCounts.getOrDefault(postId, 0) + inFlightCounts.getOrDefault(postId, 0);
+        } finally {
+            countLock.readLock().unlock();
+        }
+    }
+
+    // 반영되지 않은 변화량이 있는 게시글 수
+    public int size() {
+        return pendingCounts.size();
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${carbook.like.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPendingCounts();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPendingCounts() {
+        pendingUpdates.set(0);
+        Map<Integer, Integer> deltas = new HashMap<>();
+        countLock.writeLock().lock();
+        try {
+            for (Map.Entry<Integer, Integer> entry : pendingCounts.entrySet()) {
+                // 읽은 만큼만 빼서 그 사이에 들어온 변화량은 남겨 둔다
+                int delta = entry.getValue();
+                if (delta != 0) {
+                    addPending(entry.getKey(), -delta);
+                    deltas.put(entry.getKey(), delta);
+                }
+            }
+            inFlightCounts = Map.copyOf(deltas);
+        } finally {
+            countLock.writeLock().unlock();
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        boolean flushed = false;
+        try {
+            likeRepository.increaseLikeCounts(deltas);
+            flushed = true;
+        } catch (DataAccessException e) {
+            // 한 트랜잭션으로 반영하므로 실패하면 어느 게시글에도 반영되지 않았다
+            logger.warn("failed to flush like counts of {} posts", deltas.size(), e);
+        } finally {
+            completeFlush(flushed ? Map.of() : deltas);
+        }
+    }
+
+    // 반영 중인 변화량을 비우고, 반영하지 못한 변화량은 다시 쌓는다, 조회하는 쪽이 두 번 세지 않도록 한 번에 바꾼다
+    private void completeFlush(Map<Integer, Integer> failedDeltas) {
+        countLock.writeLock().lock();
+        try {
+            failedDeltas.forEach(this::addPending);
+            inFlightCounts = Map.of();
+        } finally {
+            countLock.writeLock().unlock();
+        }
+    }
+
+    // 합이 0 이 되면 항목을 지운다, merge 는 키 단위로 원자적이라 그 사이에 더한 값을 잃지 않는다
+    private void addPending(int postId, int delta) {
+        pendingCounts.merge(postId, delta, (pending, added) -> pending + added == 0 ? null : pending + added);
+    }
+}
@@ -2,34 +2,59 @@ package softeer.carbook.domain.like.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import softeer.carbook.domain.like.dto.LikeResponse;
+import softeer.carbook.domain.like.dto.LikedPostsResponse;
 import softeer.carbook.domain.like.repository.LikeRepository;
+import softeer.carbook.domain.post.service.PopularPostRanking;
+import softeer.carbook.domain.post.service.PostDetailCache;
 import softeer.carbook.domain.user.model.User;
-import softeer.carbook.global.dto.Message;
 
 import javax.servlet.http.HttpServletRequest;
-import java.util.Optional;
+import java.util.List;
 
 @Service
 public class LikeService {
     private final LikeRepository likeRepository;
+    private final PopularPostRanking popularPostRanking;
+    private final PostDetailCache postDetailCache;
+    private final LikeCountBuffer likeCountBuffer;
+    private final LikedPostFilter likedPostFilter;
+    private final int MAX_POST_IDS = 100;
 
     @Autowired
-    public LikeService(LikeRepository likeRepository){
+    public LikeService(
+            LikeRepository likeRepository,
+            PopularPostRanking popularPostRanking,
+            PostDetailCache postDetailCache,
+            LikeCountBuffer likeCountBuffer,
+            LikedPostFilter likedPostFilter){
         this.likeRepository = likeRepository;
+        this.popularPostRanking = popularPostRanking;
+        this.postDetailCache = postDetailCache;
+        this.likeCountBuffer = likeCountBuffer;
+        this.likedPostFilter = likedPostFilter;
     }
 
-    public Message modifyLikeInfo(int userId, int postId) {
-
-        Optional<Integer> likeId = likeRepository.findLikeByUserIdAndPostId(userId, postId);
-        // 좋아요 여부 판단
-        if(likeId.isPresent()){
-            // 좋아요 취소 진행
-            likeRepository.unLike(likeId.get(), postId);
-            return new Message("UnLike Success");
+    public LikeResponse modifyLikeInfo(int userId, int postId) {
+        // 좋아요/좋아요 취소를 조회 없이 한 번에 반영
+        boolean isLike = likeRepository.toggleLike(userId, postId);
+        if (isLike) {
+            likedPostFilter.markLiked(userId, postId);
         }
+        int delta = isLike ? 1 : -1;
+        likeCountBuffer.add(postId, delta);
+        popularPostRanking.markChanged();
+        postDetailCache.addLikeCount(postId, delta);
+        String message = isLike ? "Like Success" : "UnLike Success";
+        // 상세 화면과 같이 POST 의 좋아요 수에 아직 반영되지 않은 변화량을 더한다
+        int likeCount = likeRepository.findLikeCountByPostId(postId) + likeCountBuffer.getPendingCount(postId);
+        return new LikeResponse(message, isLike, likeCount);
+    }
 
-        // 팔로우 진행
-        likeRepository.addLike(userId, postId);
-        return new Message("Like Success");
+    public LikedPostsResponse findLikedPostIds(int userId, List<Integer> postIds) {
+        if (postIds.size() > MAX_POST_IDS) {
+            throw new IllegalArgumentException("ERROR: Too many post ids");
+        }
+        return new LikedPostsResponse(likeRepository.findLikedPostIds(userId, postIds));
     }
 }
@@ -0,0 +1,155 @@
+package softeer.carbook.domain.like.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import softeer.carbook.domain.like.repository.LikeRepository;
+import softeer.carbook.global.util.TransactionUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 사용자별로 좋아요한 게시글 id 의 블룸 필터
+// 필터에 없으면 좋아요하지 않은 것이 확실하므로 DB 를 조회하지 않는다
+// 좋아요 취소는 반영하지 않는다 (필터에 남아 있어도 DB 조회로 걸러진다)
+@Component
+public class LikedPostFilter {
+
+    private static final int BITS_PER_POST = 10;
+    private static final int HASH_COUNT = 7;
+    private static final int MIN_CAPACITY = 64;
+    private final LikeRepository likeRepository;
+    private final boolean enabled;
+    private final Map<Integer, BloomFilter> filters;
+
+    @Autowired
+    public LikedPostFilter(
+            LikeRepository likeRepository,
+            @Value("${carbook.like.filter.enabled:true}") boolean enabled,
+            @Value("${carbook.like.filter.max-users:10000}") int maxUsers) {
+        this.likeRepository = likeRepository;
+        this.enabled = enabled;
+        this.filters = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, BloomFilter> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    // false 면 좋아요하지 않은 것이 확실하고, true 면 DB 로 확인해야 한다
+    public boolean mightContainLike(int userId, int postId) {
+        if (!enabled) {
+            return true;
+        }
+        BloomFilter filter = get(userId);
+        if (filter == null) {
+            filter = load(userId);
+        }
+        // 아직 불러오는 중인 필터로는 판단하지 않는다
+        return !filter.isReady() || filter.mightContain(postId);
+    }
+
+    public void markLiked(int userId, int postId) {
+        if (!enabled) {
+            return;
+        }
+        TransactionUtils.runAfterCommit(() -> {
+            BloomFilter filter = get(userId);
+            if (filter != null) {
+                filter.add(postId);
+            }
+        });
+    }
+
+    // 필터를 먼저 등록해 두고 채워서, 불러오는 동안 들어온 좋아요도 빠뜨리지 않는다
+    private BloomFilter load(int userId) {
+        BloomFilter filter = new BloomFilter();
+        BloomFilter registered = putIfAbsent(userId, filter);
+        if (registered != filter) {
+            return registered;
+        }
+        try {
+            filter.fill(likeRepository.findAllLikedPostIds(userId));
+        } catch (RuntimeException e) {
+            remove(userId);
+            throw e;
+        }
+        return filter;
+    }
+
+    private synchronized BloomFilter get(int userId) {
+        return filters.get(userId);
+    }
+
+    private synchronized void remove(int userId) {
+        filters.remove(userId);
+    }
+
+    private synchronized BloomFilter putIfAbsent(int userId, BloomFilter filter) {
+        BloomFilter existing = filters.putIfAbsent(userId, filter);
+        return existing == null ? filter : existing;
+    }
+
+    private static class BloomFilter {
+        private final List<Integer> addedWhileLoading = new ArrayList<>();
+        private long[] words;
+        private int bitCount;
+
+        private synchronized boolean isReady() {
+            return words != null;
+        }
+
+        private synchronized void fill(List<Integer> likedPostIds) {
+            // 앞으로 늘어날 좋아요를 위해 여유를 둔다
+            int capacity = Math.max(MIN_CAPACITY, (likedPostIds.size() + addedWhileLoading.size()) * 2);
+            words = new long[(capacity * BITS_PER_POST + 63) / 64];
+            bitCount = words.length * 64;
+            likedPostIds.forEach(this::setBits);
+            addedWhileLoading.forEach(this::setBits);
+            addedWhileLoading.clear();
+        }
+
+        private synchronized void add(int postId) {
+            if (words == null) {
+                addedWhileLoading.add(postId);
+                return;
+            }
+            setBits(postId);
+        }
+
+        private synchronized boolean mightContain(int postId) {
+            int hash1 = mix(postId);
+            int hash2 = mix(hash1 ^ postId);
+            for (int i = 0; i < HASH_COUNT; i++) {
+                int bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                if ((words[bit >>> 6] & (1L << (bit & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void setBits(int postId) {
+            int hash1 = mix(postId);
+            int hash2 = mix(hash1 ^ postId);
+            for (int i = 0; i < HASH_COUNT; i++) {
+                int bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                words[bit >>> 6] |= 1L << (bit & 63);
+            }
+        }
+
+        // murmur3 finalizer
+        private static int mix(int value) {
+            int hash = value;
+            hash ^= hash >>> 16;
+            hash *= 0x85ebca6b;
+            hash ^= hash >>> 13;
+            hash *= 0xc2b2ae35;
+            hash ^= hash >>> 16;
+            return hash;
+        }
+    }
+}
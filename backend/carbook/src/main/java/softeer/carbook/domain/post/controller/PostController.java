@@ -102,6 +102,14 @@ public class PostController {
         return new ResponseEntity<>(otherProfileResponse, HttpStatus.OK);
     }
 
+    // 프로필 게시글 다음 페이지
+    @GetMapping("/profile/images")
+    public ResponseEntity<ProfileImagesResponse> profileImages(
+            @RequestParam String nickname,
+            @RequestParam int index){
+        return new ResponseEntity<>(postService.getProfileImages(nickname, index), HttpStatus.OK);
+    }
+
         // 닉네임 변경 ( 자신 프로필 페이지) > user 로
 
         // 비밀번호 변경 ( 자신 프로필 페이지 ) > user 로
@@ -150,6 +158,14 @@ public class PostController {
     }
 
 
+    // 이미지를 먼저 직접 올린 뒤 imageKey 로 게시글을 등록한다
+    @PostMapping("/post/image-url")
+    public ResponseEntity<ImageUploadUrlResponse> createImageUploadUrl(
+            @RequestParam String fileName, @RequestParam String contentType, HttpServletRequest httpServletRequest){
+        User loginUser = userService.findLoginedUser(httpServletRequest);
+        return new ResponseEntity<>(postService.createImageUploadUrl(loginUser, fileName, contentType), HttpStatus.OK);
+    }
+
     // 글 작성 페이지
     @PostMapping("/post")
     public ResponseEntity<Message> createPost(@ModelAttribute @Valid NewPostForm newPostForm, HttpServletRequest httpServletRequest){
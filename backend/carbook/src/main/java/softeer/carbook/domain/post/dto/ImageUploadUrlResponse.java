@@ -0,0 +1,19 @@
+package softeer.carbook.domain.post.dto;
+
+public class ImageUploadUrlResponse {
+    private final String uploadUrl;
+    private final String imageKey;
+
+    public ImageUploadUrlResponse(String uploadUrl, String imageKey) {
+        this.uploadUrl = uploadUrl;
+        this.imageKey = imageKey;
+    }
+
+    public String getUploadUrl() {
+        return uploadUrl;
+    }
+
+    public String getImageKey() {
+        return imageKey;
+    }
+}
@@ -8,6 +8,7 @@ public class LoginPostsResponse {
     private final boolean isLogin = true;
     private String nickname;
     private List<Image> images;
+    private List<Integer> likedPostIds;
 
     public boolean isLogin() {
         return isLogin;
@@ -21,14 +22,20 @@ public class LoginPostsResponse {
         return images;
     }
 
+    public List<Integer> getLikedPostIds() {
+        return likedPostIds;
+    }
+
     public LoginPostsResponse(LoginPostsResponse.LoginPostsResponseBuilder loginPostsResponseBuilder){
         this.nickname = loginPostsResponseBuilder.nickname;
         this.images = loginPostsResponseBuilder.images;
+        this.likedPostIds = loginPostsResponseBuilder.likedPostIds;
     }
 
     public static class LoginPostsResponseBuilder {
         private String nickname;
         private List<Image> images;
+        private List<Integer> likedPostIds;
 
         public LoginPostsResponseBuilder() {
         }
@@ -43,6 +50,11 @@ public class LoginPostsResponse {
             return this;
         }
 
+        public LoginPostsResponse.LoginPostsResponseBuilder likedPostIds(List<Integer> likedPostIds) {
+            this.likedPostIds = likedPostIds;
+            return this;
+        }
+
         public LoginPostsResponse build() {
             return new LoginPostsResponse(this);
         }
@@ -11,6 +11,8 @@ public class MyProfileResponse {
     private int follower;
     private int following;
     private List<Image> images;
+    private int nextIndex;
+    private boolean hasNext;
 
     public MyProfileResponse(MyProfileResponseBuilder myProfileResponseBuilder) {
         this.nickname = myProfileResponseBuilder.nickname;
@@ -18,6 +20,8 @@ public class MyProfileResponse {
         this.follower = myProfileResponseBuilder.follower;
         this.following = myProfileResponseBuilder.following;
         this.images = myProfileResponseBuilder.images;
+        this.nextIndex = myProfileResponseBuilder.nextIndex;
+        this.hasNext = myProfileResponseBuilder.hasNext;
     }
 
     public boolean isMyProfile() {
@@ -44,12 +48,22 @@ public class MyProfileResponse {
         return images;
     }
 
+    public int getNextIndex() {
+        return nextIndex;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
     public static class MyProfileResponseBuilder{
         private String nickname;
         private String email;
         private int follower;
         private int following;
         private List<Image> images;
+        private int nextIndex;
+        private boolean hasNext;
 
         public MyProfileResponseBuilder() {
         }
@@ -79,6 +93,16 @@ public class MyProfileResponse {
             return this;
         }
 
+        public MyProfileResponseBuilder nextIndex(int nextIndex) {
+            this.nextIndex = nextIndex;
+            return this;
+        }
+
+        public MyProfileResponseBuilder hasNext(boolean hasNext) {
+            this.hasNext = hasNext;
+            return this;
+        }
+
         public MyProfileResponse build(){
             return new MyProfileResponse(this);
         }
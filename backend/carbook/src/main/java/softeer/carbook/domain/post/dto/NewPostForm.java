@@ -2,15 +2,17 @@ package softeer.carbook.domain.post.dto;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.validation.constraints.AssertTrue;
 import javax.validation.constraints.NotBlank;
-import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.util.List;
 
 public class NewPostForm {
-    @NotNull(message = "사진을 등록해 주세요.")
+    // 사진은 파일로 올리거나, 미리 받은 주소로 직접 올린 뒤 imageKey 로 알려준다
     private final MultipartFile image;
 
+    private final String imageKey;
+
     @Size(max = 3)
     private final List<String> hashtag;
 
@@ -26,6 +28,15 @@ public class NewPostForm {
         return image;
     }
 
+    public String getImageKey() {
+        return imageKey;
+    }
+
+    @AssertTrue(message = "사진을 등록해 주세요.")
+    public boolean isImageAttached() {
+        return image != null || imageKey != null;
+    }
+
     public List<String> getHashtag() {
         return hashtag;
     }
@@ -38,8 +49,9 @@ public class NewPostForm {
         return content;
     }
 
-    public NewPostForm(MultipartFile image, List<String> hashtag, String type, String model, String content) {
+    public NewPostForm(MultipartFile image, String imageKey, List<String> hashtag, String type, String model, String content) {
         this.image = image;
+        this.imageKey = imageKey;
         this.hashtag = hashtag;
         this.type = type;
         this.model = model;
@@ -12,6 +12,8 @@ public class OtherProfileResponse {
     private int follower;
     private int following;
     private List<Image> images;
+    private int nextIndex;
+    private boolean hasNext;
 
     public boolean isMyProfile() {
         return isMyProfile;
@@ -41,6 +43,14 @@ public class OtherProfileResponse {
         return images;
     }
 
+    public int getNextIndex() {
+        return nextIndex;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
     public OtherProfileResponse(OtherProfileResponseBuilder otherProfileResponseBuilder) {
         this.nickname = otherProfileResponseBuilder.nickname;
         this.email = otherProfileResponseBuilder.email;
@@ -48,6 +58,8 @@ public class OtherProfileResponse {
         this.follower = otherProfileResponseBuilder.follower;
         this.following = otherProfileResponseBuilder.following;
         this.images = otherProfileResponseBuilder.images;
+        this.nextIndex = otherProfileResponseBuilder.nextIndex;
+        this.hasNext = otherProfileResponseBuilder.hasNext;
     }
 
     public static class OtherProfileResponseBuilder {
@@ -57,6 +69,8 @@ public class OtherProfileResponse {
         private int follower;
         private int following;
         private List<Image> images;
+        private int nextIndex;
+        private boolean hasNext;
 
         public OtherProfileResponseBuilder() {
         }
@@ -91,6 +105,16 @@ public class OtherProfileResponse {
             return this;
         }
 
+        public OtherProfileResponseBuilder nextIndex(int nextIndex) {
+            this.nextIndex = nextIndex;
+            return this;
+        }
+
+        public OtherProfileResponseBuilder hasNext(boolean hasNext) {
+            this.hasNext = hasNext;
+            return this;
+        }
+
         public OtherProfileResponse build(){
             return new OtherProfileResponse(this);
         }
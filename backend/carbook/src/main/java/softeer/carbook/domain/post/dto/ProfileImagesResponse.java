@@ -0,0 +1,29 @@
+package softeer.carbook.domain.post.dto;
+
+import softeer.carbook.domain.post.model.Image;
+
+import java.util.List;
+
+public class ProfileImagesResponse {
+    private final List<Image> images;
+    private final int nextIndex;
+    private final boolean hasNext;
+
+    public ProfileImagesResponse(List<Image> images, int nextIndex, boolean hasNext) {
+        this.images = images;
+        this.nextIndex = nextIndex;
+        this.hasNext = hasNext;
+    }
+
+    public List<Image> getImages() {
+        return images;
+    }
+
+    public int getNextIndex() {
+        return nextIndex;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+}
@@ -0,0 +1,7 @@
+package softeer.carbook.domain.post.exception;
+
+public class ImageUploadBusyException extends RuntimeException{
+    public ImageUploadBusyException() {
+        super("ERROR: Image upload is busy");
+    }
+}
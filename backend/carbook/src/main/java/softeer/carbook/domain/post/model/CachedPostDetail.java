@@ -0,0 +1,83 @@
+package softeer.carbook.domain.post.model;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 게시글 상세 정보 중 조회한 사용자와 무관한 부분
+public class CachedPostDetail {
+    private final int postId;
+    private final int userId;
+    private final String nickname;
+    private final String imageUrl;
+    private final String content;
+    private final String model;
+    private final String type;
+    private final List<String> hashtags;
+    private final Timestamp createDate;
+    private final Timestamp updateDate;
+    private final AtomicInteger likeCount;
+
+    public CachedPostDetail(PostDetail postDetail, List<String> hashtags, String model, String type) {
+        Post post = postDetail.getPost();
+        this.postId = post.getId();
+        this.userId = post.getUserId();
+        this.nickname = postDetail.getNickname();
+        this.imageUrl = postDetail.getImageUrl();
+        this.content = post.getContent();
+        this.model = model;
+        this.type = type;
+        this.hashtags = List.copyOf(hashtags);
+        this.createDate = post.getCreateDate();
+        this.updateDate = post.getUpdateDate();
+        this.likeCount = new AtomicInteger(post.getLikeCount());
+    }
+
+    public int getPostId() {
+        return postId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getNickname() {
+        return nickname;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public List<String> getHashtags() {
+        return hashtags;
+    }
+
+    public Timestamp getCreateDate() {
+        return createDate;
+    }
+
+    public Timestamp getUpdateDate() {
+        return updateDate;
+    }
+
+    public int getLikeCount() {
+        return likeCount.get();
+    }
+
+    public void addLikeCount(int delta) {
+        likeCount.addAndGet(delta);
+    }
+}
@@ -1,12 +1,25 @@
 package softeer.carbook.domain.post.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// 목록 조회에서는 imageUrl 에 화면에 맞는 크기의 주소를 담는다
+// thumbnailUrl, feedUrl 은 저장하거나 이전 이미지를 지울 때만 채운다
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class Image {
     private final int postId;
     private final String imageUrl;
+    private final String thumbnailUrl;
+    private final String feedUrl;
 
     public Image(int postId, String imageUrl) {
+        this(postId, imageUrl, null, null);
+    }
+
+    public Image(int postId, String imageUrl, String thumbnailUrl, String feedUrl) {
         this.postId = postId;
         this.imageUrl = imageUrl;
+        this.thumbnailUrl = thumbnailUrl;
+        this.feedUrl = feedUrl;
     }
 
     public int getPostId() {
@@ -16,4 +29,12 @@ public class Image {
     public String getImageUrl() {
         return imageUrl;
     }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public String getFeedUrl() {
+        return feedUrl;
+    }
 }
@@ -0,0 +1,36 @@
+package softeer.carbook.domain.post.model;
+
+// 내용(SHA-256)이 같은 이미지는 S3 객체 하나를 함께 쓴다
+public class ImageObject {
+    private final String digest;
+    private final String imageUrl;
+    private final String thumbnailUrl;
+    private final String feedUrl;
+
+    public ImageObject(String digest, String imageUrl, String thumbnailUrl, String feedUrl) {
+        this.digest = digest;
+        this.imageUrl = imageUrl;
+        this.thumbnailUrl = thumbnailUrl;
+        this.feedUrl = feedUrl;
+    }
+
+    public Image toImage(int postId) {
+        return new Image(postId, imageUrl, thumbnailUrl, feedUrl);
+    }
+
+    public String getDigest() {
+        return digest;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public String getFeedUrl() {
+        return feedUrl;
+    }
+}
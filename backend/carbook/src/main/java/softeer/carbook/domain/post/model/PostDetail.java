@@ -0,0 +1,31 @@
+package softeer.carbook.domain.post.model;
+
+public class PostDetail {
+    private final Post post;
+    private final String nickname;
+    private final String imageUrl;
+    private final boolean isLike;
+
+    public PostDetail(Post post, String nickname, String imageUrl, boolean isLike) {
+        this.post = post;
+        this.nickname = nickname;
+        this.imageUrl = imageUrl;
+        this.isLike = isLike;
+    }
+
+    public Post getPost() {
+        return post;
+    }
+
+    public String getNickname() {
+        return nickname;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public boolean isLike() {
+        return isLike;
+    }
+}
@@ -0,0 +1,26 @@
+package softeer.carbook.domain.post.model;
+
+// 저장소에 올라간 객체의 HEAD 정보
+public class StoredObject {
+    private final String key;
+    private final long contentLength;
+    private final String contentType;
+
+    public StoredObject(String key, long contentLength, String contentType) {
+        this.key = key;
+        this.contentLength = contentLength;
+        this.contentType = contentType;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
@@ -0,0 +1,27 @@
+package softeer.carbook.domain.post.model;
+
+import java.util.List;
+
+public class TaggedPost {
+    private final int postId;
+    private final int modelId;
+    private final List<String> hashtags;
+
+    public TaggedPost(int postId, int modelId, List<String> hashtags) {
+        this.postId = postId;
+        this.modelId = modelId;
+        this.hashtags = hashtags;
+    }
+
+    public int getPostId() {
+        return postId;
+    }
+
+    public int getModelId() {
+        return modelId;
+    }
+
+    public List<String> getHashtags() {
+        return hashtags;
+    }
+}
@@ -0,0 +1,192 @@
+package softeer.carbook.domain.post.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import softeer.carbook.domain.post.model.ImageObject;
+
+import javax.sql.DataSource;
+import java.util.*;
+
+@Repository
+public class ImageObjectRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ImageObjectRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    // 같은 내용의 이미지가 이미 올라가 있으면 참조 수를 늘리고 돌려준다
+    // 참조 수가 0 인 행은 S3DeleteWorker 가 지우는 중일 수 있으므로 참조하지 않고 add 로 다시 올린다
+    // 아직 올리는 중인 행도 먼저 올리던 쪽이 실패할 수 있으므로 참조하지 않고 add 로 함께 올린다
+    @Transactional
+    public Optional<ImageObject> acquire(String digest) {
+        int updated = jdbcTemplate.update("update IMAGE_OBJECT set ref_count = ref_count + 1 " +
+                "where digest = ? and ref_count > 0 and uploaded = true", digest);
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        return findByDigest(digest);
+    }
+
+    // 객체를 올리기 전에 참조를 잡아 두어, 그 사이 S3DeleteWorker 가 같은 키를 지우지 않게 한다
+    // 같은 내용을 동시에 올린 경우 참조 수만 늘리고, 지워지기를 기다리던 행이면 원본 주소를 새로 쓰고 다시 올려야 한다고 표시한다
+    // 추가한 쪽은 markUploaded 를 호출할 때까지 직접 올려야 한다
+    // S3DeleteWorker 가 객체를 지우는 중인 행은 되살리지 않고 false, 행이 지워진 뒤에 다시 추가해야 한다
+    public boolean add(ImageObject imageObject) {
+        try {
+            jdbcTemplate.update("insert into IMAGE_OBJECT (digest, image_url, thumbnail_url, feed_url, ref_count) " +
+                            "values (?, ?, ?, ?, 1)",
+                    imageObject.getDigest(),
+                    imageObject.getImageUrl(),
+                    imageObject.getThumbnailUrl(),
+                    imageObject.getFeedUrl());
+            return true;
+        } catch (DuplicateKeyException e) {
+            return jdbcTemplate.update("update IMAGE_OBJECT set " +
+                            "image_url = CASE WHEN ref_count = 0 THEN ? ELSE image_url END, " +
+                            "uploaded = CASE WHEN ref_count = 0 THEN false ELSE uploaded END, " +
+                            "ref_count = ref_count + 1 " +
+                            "where digest = ? and deleting = false",
+                    imageObject.getImageUrl(), imageObject.getDigest()) == 1;
+        }
+    }
+
+    // 이미 올라간 객체를 등록한다, 이미 있는 키면 참조하지 않고 false
+    public boolean addIfAbsent(ImageObject imageObject) {
+        try {
+            jdbcTemplate.update("insert into IMAGE_OBJECT (digest, image_url, thumbnail_url, feed_url, ref_count, uploaded) " +
+                            "values (?, ?, ?, ?, 1, true)",
+                    imageObject.getDigest(),
+                    imageObject.getImageUrl(),
+                    imageObject.getThumbnailUrl(),
+                    imageObject.getFeedUrl());
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    // 크기별 이미지 주소를 채우고, 이후로는 acquire 로 참조할 수 있게 한다
+    public void markUploaded(String digest, String thumbnailUrl, String feedUrl) {
+        jdbcTemplate.update("update IMAGE_OBJECT set thumbnail_url = ?, feed_url = ?, uploaded = true where digest = ?",
+                thumbnailUrl, feedUrl, digest);
+    }
+
+    // 참조 수를 줄이고, 더 이상 쓰는 곳이 없으면 true
+    // 0 이 된 행은 S3DeleteWorker 가 객체를 지울 때까지 남겨 두고, 그 사이 같은 내용이 올라오면 add 가 되살린다
+    @Transactional
+    public boolean release(String digest) {
+        int updated = jdbcTemplate.update(
+                "update IMAGE_OBJECT set ref_count = ref_count - 1 where digest = ? and ref_count > 0", digest);
+        return updated == 1 && getRefCount(digest) == 0;
+    }
+
+    public Optional<ImageObject> findByDigest(String digest) {
+        List<ImageObject> imageObjects = jdbcTemplate.query(
+                "select digest, image_url, thumbnail_url, feed_url from IMAGE_OBJECT where digest = ?",
+                imageObjectRowMapper(), digest);
+        return imageObjects.stream().findAny();
+    }
+
+    public Optional<ImageObject> findByImageUrl(String imageUrl) {
+        List<ImageObject> imageObjects = jdbcTemplate.query(
+                "select digest, image_url, thumbnail_url, feed_url from IMAGE_OBJECT where image_url = ?",
+                imageObjectRowMapper(), imageUrl);
+        return imageObjects.stream().findAny();
+    }
+
+    // urls 중 참조 수가 남아 있는 IMAGE_OBJECT 가 가리키는 주소를 돌려주고, 참조 수가 0 인 행은 지우는 중으로 표시한다
+    // 지우는 중인 행은 acquire, add 가 되살리지 않으므로, 객체를 지우는 동안 행을 잠가 둘 필요가 없다
+    @Transactional
+    public Set<String> markDeleting(List<String> urls) {
+        Set<String> referenced = new HashSet<>();
+        if (urls.isEmpty()) {
+            return referenced;
+        }
+        List<String> digests = jdbcTemplate.queryForList("select digest from IMAGE_OBJECT " +
+                        "where image_url in (" + placeholders(urls.size()) + ") " +
+                        "or thumbnail_url in (" + placeholders(urls.size()) + ") " +
+                        "or feed_url in (" + placeholders(urls.size()) + ")",
+                String.class, repeat(urls, 3).toArray());
+        if (digests.isEmpty()) {
+            return referenced;
+        }
+        // 잠근 뒤의 참조 수로 다시 판단한다
+        List<String> released = new ArrayList<>();
+        jdbcTemplate.query("select digest, image_url, thumbnail_url, feed_url, ref_count from IMAGE_OBJECT " +
+                        "where digest in (" + placeholders(digests.size()) + ") for update",
+                rs -> {
+                    if (rs.getInt("ref_count") > 0) {
+                        referenced.add(rs.getString("image_url"));
+                        referenced.add(rs.getString("thumbnail_url"));
+                        referenced.add(rs.getString("feed_url"));
+                    } else {
+                        released.add(rs.getString("digest"));
+                    }
+                }, digests.toArray());
+        if (!released.isEmpty()) {
+            jdbcTemplate.update("update IMAGE_OBJECT set deleting = true " +
+                    "where digest in (" + placeholders(released.size()) + ")", released.toArray());
+        }
+        referenced.retainAll(urls);
+        return referenced;
+    }
+
+    // 지우지 못한 객체를 가리키는 행은 표시를 풀어, 다음에 지울 때까지 add 가 되살릴 수 있게 한다
+    public void clearDeleting(List<String> urls) {
+        if (urls.isEmpty()) {
+            return;
+        }
+        String inClause = placeholders(urls.size());
+        jdbcTemplate.update("update IMAGE_OBJECT set deleting = false where deleting = true " +
+                        "and (image_url in (" + inClause + ") " +
+                        "or thumbnail_url in (" + inClause + ") " +
+                        "or feed_url in (" + inClause + "))",
+                repeat(urls, 3).toArray());
+    }
+
+    // 참조 수가 0 이고 객체를 모두 지운 행을 지운다
+    public void removeReleased(List<String> deletedUrls) {
+        if (deletedUrls.isEmpty()) {
+            return;
+        }
+        String inClause = placeholders(deletedUrls.size());
+        jdbcTemplate.update("delete from IMAGE_OBJECT where ref_count = 0 " +
+                        "and image_url in (" + inClause + ") " +
+                        "and (thumbnail_url is null or thumbnail_url in (" + inClause + ")) " +
+                        "and (feed_url is null or feed_url in (" + inClause + "))",
+                repeat(deletedUrls, 3).toArray());
+    }
+
+    public int getRefCount(String digest) {
+        List<Integer> refCounts = jdbcTemplate.queryForList(
+                "select ref_count from IMAGE_OBJECT where digest = ?", Integer.class, digest);
+        return refCounts.stream().findAny().orElse(0);
+    }
+
+    private String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private List<Object> repeat(List<String> values, int times) {
+        List<Object> repeated = new ArrayList<>();
+        for (int i = 0; i < times; i++) {
+            repeated.addAll(values);
+        }
+        return repeated;
+    }
+
+    private RowMapper<ImageObject> imageObjectRowMapper() {
+        return (rs, rowNum) -> new ImageObject(
+                rs.getString("digest"),
+                rs.getString("image_url"),
+                rs.getString("thumbnail_url"),
+                rs.getString("feed_url")
+        );
+    }
+}
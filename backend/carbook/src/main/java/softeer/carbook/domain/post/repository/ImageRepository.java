@@ -1,30 +1,54 @@
 package softeer.carbook.domain.post.repository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import softeer.carbook.domain.post.model.Image;
 
 import javax.sql.DataSource;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Repository
 public class ImageRepository {
+    // 목록 조회는 썸네일이 있으면 썸네일 주소를 image_url 로 내려준다
+    private static final String THUMBNAIL_URL = "COALESCE(img.thumbnail_url, img.image_url) AS image_url";
     private final JdbcTemplate jdbcTemplate;
 
     @Autowired
     public ImageRepository(DataSource dataSource) { this.jdbcTemplate = new JdbcTemplate(dataSource); }
 
+    // 원본과 크기별 이미지 주소를 모두 조회
     public Image getImageByPostId(int postId){
-        return jdbcTemplate.queryForObject("select img.post_id, img.image_url from IMAGE img where post_id = ?",
-                imageRowMapper(), postId);
+        return jdbcTemplate.queryForObject("select img.post_id, img.image_url, img.thumbnail_url, img.feed_url " +
+                        "from IMAGE img where post_id = ?",
+                storedImageRowMapper(), postId);
+    }
+
+    // 여러 게시글의 이미지를 한 번의 쿼리로 조회, 결과는 postIds 순서를 유지
+    public List<Image> getImagesByPostIds(List<Integer> postIds) {
+        if (postIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String inClause = String.join(", ", Collections.nCopies(postIds.size(), "?"));
+        List<Image> images = jdbcTemplate.query(
+                "select img.post_id, " + THUMBNAIL_URL + " from IMAGE img where post_id in (" + inClause + ")",
+                imageRowMapper(), postIds.toArray());
+        Map<Integer, Image> imageByPostId = images.stream()
+                .collect(Collectors.toMap(Image::getPostId, image -> image, (first, second) -> first));
+        return postIds.stream()
+                .map(imageByPostId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     public List<Image> getImagesOfRecentPosts(int size, int postId) {
-        return jdbcTemplate.query("SELECT img.post_id, img.image_url " +
+        return jdbcTemplate.query("SELECT img.post_id, " + THUMBNAIL_URL + " " +
                         "FROM POST AS p INNER JOIN IMAGE AS img ON p.id = img.post_id " +
                         "WHERE p.is_deleted = false and p.id < ? " +
                         "ORDER BY p.create_date DESC LIMIT ?",
@@ -32,7 +56,7 @@ public class ImageRepository {
     }
 
     public List<Image> getImagesOfRecentFollowingPosts(int size, int postId, int followerId, String lastWeekDay){
-        return jdbcTemplate.query("SELECT img.post_id, img.image_url " +
+        return jdbcTemplate.query("SELECT img.post_id, " + THUMBNAIL_URL + " " +
                         "FROM POST AS p, IMAGE AS img, FOLLOW AS f " +
                         "where f.is_deleted = false and p.is_deleted = false " +
                         "and p.create_date > '"+ lastWeekDay + "' " +
@@ -42,24 +66,31 @@ public class ImageRepository {
                 imageRowMapper(),  postId, followerId, size);
     }
 
-    public List<Image> findImagesByUserId(int id) {
+    // 프로필 첫 페이지, 최신 글부터 size 만큼
+    public List<Image> findImagesByUserId(int userId, int size) {
         return jdbcTemplate.query(
-                "select IMAGE.post_id, IMAGE.image_url from POST INNER JOIN IMAGE " +
+                "select IMAGE.post_id, COALESCE(IMAGE.thumbnail_url, IMAGE.image_url) AS image_url " +
+                        "from POST INNER JOIN IMAGE " +
                         "ON POST.id = IMAGE.post_id " +
                         "WHERE POST.user_id = ? " +
                         "and POST.is_deleted = false " +
-                        "ORDER BY create_date DESC",
-                imageRowMapper(), id);
+                        "ORDER BY POST.create_date DESC, POST.id DESC LIMIT ?",
+                imageRowMapper(), userId, size);
     }
 
-    public List<Image> findImagesByNickName(String profileUserNickname) {
+    // (create_date, id) 가 postId 게시글보다 앞서는 글을 최신순으로 size 만큼
+    public List<Image> findImagesByUserIdBefore(int userId, int postId, int size) {
         return jdbcTemplate.query(
-                "select IMAGE.post_id, IMAGE.image_url from `USER`, POST, IMAGE " +
-                        "WHERE `USER`.id = POST.user_id and POST.id = IMAGE.post_id " +
-                        "and `USER`.nickname = ? " +
+                "select IMAGE.post_id, COALESCE(IMAGE.thumbnail_url, IMAGE.image_url) AS image_url " +
+                        "from POST INNER JOIN IMAGE " +
+                        "ON POST.id = IMAGE.post_id " +
+                        "INNER JOIN POST cursor_post ON cursor_post.id = ? " +
+                        "WHERE POST.user_id = ? " +
                         "and POST.is_deleted = false " +
-                        "ORDER BY create_date DESC",
-                imageRowMapper(), profileUserNickname);
+                        "and (POST.create_date < cursor_post.create_date " +
+                        "or (POST.create_date = cursor_post.create_date and POST.id < cursor_post.id)) " +
+                        "ORDER BY POST.create_date DESC, POST.id DESC LIMIT ?",
+                imageRowMapper(), postId, userId, size);
     }
 
     /* deprecated
@@ -92,16 +123,55 @@ public class ImageRepository {
     }
      */
 
+    // 지운 이미지를 돌려준다, 이미지가 아직 올라가는 중이거나 이미 지웠으면 비어 있다
+    // 행을 잠그고 읽어서 이미지를 바꾸는 쪽과 같은 이미지를 함께 회수하지 않는다
+    @Transactional
+    public Optional<Image> removeImage(int postId) {
+        Optional<Image> removed = findImageByPostIdForUpdate(postId);
+        removed.ifPresent(image -> jdbcTemplate.update("delete from IMAGE where post_id = ?", postId));
+        return removed;
+    }
+
+    // 게시글마다 이미지는 하나이므로 같은 게시글로 다시 저장하면 덮어쓴다
     public void addImage(Image image) {
-        jdbcTemplate.update("insert into IMAGE(post_id, image_url) values(?, ?)",
+        jdbcTemplate.update("insert into IMAGE(post_id, image_url, thumbnail_url, feed_url) values(?, ?, ?, ?) " +
+                        "on DUPLICATE KEY update image_url = VALUES(image_url), " +
+                        "thumbnail_url = VALUES(thumbnail_url), feed_url = VALUES(feed_url)",
                 image.getPostId(),
-                decodeURL(image.getImageUrl())
+                decodeURL(image.getImageUrl()),
+                decodeURL(image.getThumbnailUrl()),
+                decodeURL(image.getFeedUrl())
         );
     }
 
-    public void updateImage(Image image){
-        jdbcTemplate.update("update IMAGE set image_url=? where post_id=?",
-                decodeURL(image.getImageUrl()), image.getPostId());
+    // 이미 이미지가 있으면 저장하지 않고 false
+    public boolean addImageIfAbsent(Image image) {
+        try {
+            jdbcTemplate.update("insert into IMAGE(post_id, image_url, thumbnail_url, feed_url) values(?, ?, ?, ?)",
+                    image.getPostId(),
+                    decodeURL(image.getImageUrl()),
+                    decodeURL(image.getThumbnailUrl()),
+                    decodeURL(image.getFeedUrl()));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    // 게시글의 이미지를 바꾸고 바뀌기 전 이미지를 돌려준다, 아직 이미지가 없으면 저장만 한다
+    // 행을 잠그고 읽어서, 동시에 바꾸는 쪽들이 같은 이전 이미지를 돌려받지 않는다
+    @Transactional
+    public Optional<Image> replaceImage(Image image) {
+        Optional<Image> replaced = findImageByPostIdForUpdate(image.getPostId());
+        addImage(image);
+        return replaced;
+    }
+
+    private Optional<Image> findImageByPostIdForUpdate(int postId) {
+        List<Image> images = jdbcTemplate.query("select img.post_id, img.image_url, img.thumbnail_url, img.feed_url " +
+                        "from IMAGE img where post_id = ? for update",
+                storedImageRowMapper(), postId);
+        return images.stream().findAny();
     }
 
     private RowMapper<Image> imageRowMapper(){
@@ -111,7 +181,19 @@ public class ImageRepository {
         );
     }
 
+    private RowMapper<Image> storedImageRowMapper(){
+        return (rs, rowNum) -> new Image(
+                rs.getInt("post_id"),
+                rs.getString("image_url"),
+                rs.getString("thumbnail_url"),
+                rs.getString("feed_url")
+        );
+    }
+
     private String decodeURL(String url){
+        if (url == null) {
+            return null;
+        }
         return URLDecoder.decode(url, StandardCharsets.UTF_8);
     }
 
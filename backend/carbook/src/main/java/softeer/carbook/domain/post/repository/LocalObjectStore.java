@@ -0,0 +1,191 @@
+package softeer.carbook.domain.post.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Repository;
+import softeer.carbook.domain.post.model.StoredObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// 클라우드 없이 한 대에서 업로드와 조회 경로를 돌려 보기 위해 이미지를 로컬 디스크에 저장한다
+// 저장한 이미지는 LocalStorageController 가 base-url 아래에서 내려준다
+@Repository
+@ConditionalOnProperty(name = "carbook.storage.type", havingValue = "local")
+public class LocalObjectStore implements ObjectStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalObjectStore.class);
+    private static final long TRANSFER_SIZE = 1 << 20;
+    private final Path root;
+    private final String baseUrl;
+
+    @Autowired
+    public LocalObjectStore(
+            @Value("${carbook.storage.local.root:${java.io.tmpdir}/carbook-storage}") String root,
+            @Value("${carbook.storage.local.base-url:http://localhost:8080/storage/}") String baseUrl) throws IOException {
+        this.root = Files.createDirectories(Paths.get(root)).toRealPath();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    // 커널 안에서 파일끼리 바로 복사한다
+    @Override
+    public String upload(File image, String contentType, String dirName, String fileName) {
+        String key = dirName + "/" + fileName;
+        Path temp = tempPath(key);
+        try (FileChannel source = FileChannel.open(image.toPath(), StandardOpenOption.READ);
+             FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long size = source.size();
+            long position = 0;
+            while (position < size) {
+                position += source.transferTo(position, size - position, target);
+            }
+        } catch (IOException e) {
+            deleteTemp(temp);
+            throw new UncheckedIOException(e);
+        }
+        return publish(temp, key);
+    }
+
+    @Override
+    public String upload(byte[] image, String contentType, String dirName, String fileName) {
+        String key = dirName + "/" + fileName;
+        Path temp = tempPath(key);
+        try (FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(image);
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+        } catch (IOException e) {
+            deleteTemp(temp);
+            throw new UncheckedIOException(e);
+        }
+        return publish(temp, key);
+    }
+
+    @Override
+    public String getUrl(String key) {
+        return baseUrl + key;
+    }
+
+    @Override
+    public String getKey(String url) {
+        return url.substring(baseUrl.length());
+    }
+
+    @Override
+    public List<String> delete(List<String> keys) {
+        List<String> failed = new ArrayList<>();
+        for (String key : keys) {
+            try {
+                Optional<Path> path = resolve(key);
+                if (path.isPresent()) {
+                    Files.deleteIfExists(path.get());
+                }
+            } catch (IOException e) {
+                logger.warn("failed to delete local object {}", key, e);
+                failed.add(key);
+            }
+        }
+        return failed;
+    }
+
+    // 서명 없이 LocalStorageController 로 PUT 하는 주소, 로컬에서 돌려 볼 때만 쓴다
+    @Override
+    public String createUploadUrl(String key, String contentType, Date expiration) {
+        return getUrl(key);
+    }
+
+    @Override
+    public Optional<StoredObject> findObject(String key) {
+        return find(key).map(path -> {
+            try {
+                return new StoredObject(key, Files.size(path),
+                        MediaTypeFactory.getMediaType(key).map(MediaType::toString).orElse(null));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // 클라이언트가 보낸 본문을 힙에 모으지 않고 파일로 바로 옮긴다
+    public String upload(ReadableByteChannel image, String key) {
+        Path temp = tempPath(key);
+        try (FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long position = 0;
+            long transferred;
+            while ((transferred = target.transferFrom(image, position, TRANSFER_SIZE)) > 0) {
+                position += transferred;
+            }
+        } catch (IOException e) {
+            deleteTemp(temp);
+            throw new UncheckedIOException(e);
+        }
+        return publish(temp, key);
+    }
+
+    // root 밖을 가리키는 키는 찾지 않는다
+    public Optional<Path> find(String key) {
+        return resolve(key).filter(Files::isRegularFile);
+    }
+
+    // 힙에 복사하지 않고 페이지 캐시를 그대로 읽는다
+    public MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private Optional<Path> resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        return path.startsWith(root) && !path.equals(root) ? Optional.of(path) : Optional.empty();
+    }
+
+    private Path tempPath(String key) {
+        Path path = resolve(key).orElseThrow(() -> new IllegalArgumentException("Image Upload Failed"));
+        try {
+            Files.createDirectories(path.getParent());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return path.resolveSibling("." + UUID.randomUUID() + ".tmp");
+    }
+
+    // 다 쓴 파일만 보이도록 옮겨서 공개한다
+    private String publish(Path temp, String key) {
+        try {
+            Files.move(temp, resolve(key).get(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteTemp(temp);
+            throw new UncheckedIOException(e);
+        }
+        return getUrl(key);
+    }
+
+    private void deleteTemp(Path temp) {
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            logger.warn("failed to delete temp object {}", temp, e);
+        }
+    }
+}
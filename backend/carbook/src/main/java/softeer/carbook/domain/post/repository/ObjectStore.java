@@ -0,0 +1,30 @@
+package softeer.carbook.domain.post.repository;
+
+import softeer.carbook.domain.post.model.StoredObject;
+
+import java.io.File;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+// 이미지 파일을 저장하는 곳, carbook.storage.type 에 따라 S3(s3) 나 로컬 디스크(local) 를 사용한다
+public interface ObjectStore {
+
+    // 저장한 객체의 주소를 돌려준다
+    String upload(File image, String contentType, String dirName, String fileName);
+
+    String upload(byte[] image, String contentType, String dirName, String fileName);
+
+    String getUrl(String key);
+
+    String getKey(String url);
+
+    // 지우지 못한 키를 돌려준다
+    List<String> delete(List<String> keys);
+
+    // 클라이언트가 서버를 거치지 않고 contentType 이미지를 key 에 PUT 할 수 있는 주소
+    String createUploadUrl(String key, String contentType, Date expiration);
+
+    // HEAD 로 조회, 없으면 비어 있다
+    Optional<StoredObject> findObject(String key);
+}
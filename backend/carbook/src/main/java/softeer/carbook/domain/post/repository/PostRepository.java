@@ -2,17 +2,24 @@ package softeer.carbook.domain.post.repository;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 import softeer.carbook.domain.post.exception.PostNotExistException;
 import softeer.carbook.domain.post.model.Post;
+import softeer.carbook.domain.post.model.PostDetail;
+import softeer.carbook.domain.post.model.TaggedPost;
 
 import javax.sql.DataSource;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public class PostRepository {
@@ -52,27 +59,105 @@ public class PostRepository {
         );
     }
 
-    public List<Post> findPopularPostsDuringWeek(String lastWeekDay) {
-        return jdbcTemplate.query("SELECT p.id, p.user_id, p.create_date, p.update_date, p.content, p.model_id, p.like_count FROM POST p " +
-                "WHERE p.is_deleted = false AND p.create_date > '" + lastWeekDay + "' " +
-                "ORDER BY p.like_count DESC, p.create_date DESC", postRowMapper());
+    // 팔로우한 사용자들의 lastWeekDay 이후 게시글을 최신순으로 size 만큼
+    // 이미지가 아직 올라가지 않은 게시글은 목록에 보이지 않으므로 IMAGE 가 있는 게시글만 센다
+    public List<Post> findRecentFollowingPosts(int followerId, String lastWeekDay, int size) {
+        return jdbcTemplate.query(
+                "SELECT p.id, p.user_id, p.create_date, p.update_date, p.content, p.model_id, p.like_count " +
+                        "FROM POST p INNER JOIN FOLLOW f ON f.following_id = p.user_id " +
+                        "INNER JOIN IMAGE img ON p.id = img.post_id " +
+                        "WHERE f.follower_id = ? AND f.is_deleted = false " +
+                        "AND p.is_deleted = false AND p.create_date > ? " +
+                        "ORDER BY p.id DESC LIMIT ?",
+                postRowMapper(), followerId, lastWeekDay, size);
     }
 
-    public List<Post> searchByType(String type) {
-        return jdbcTemplate.query("SELECT p.id, p.user_id, p.create_date, p.update_date, p.content, p.model_id, p.like_count FROM TYPE t " +
-                "INNER JOIN MODEL m ON (t.id = m.type_id AND t.tag = ?) " +
-                "INNER JOIN POST p ON m.id = p.model_id  WHERE p.is_deleted = false ORDER BY p.create_date DESC", postRowMapper(), type);
+    // 사용자의 lastWeekDay 이후 게시글을 최신순으로 size 만큼
+    public List<Post> findRecentPostsByUserId(int userId, String lastWeekDay, int size) {
+        return jdbcTemplate.query(
+                "SELECT p.id, p.user_id, p.create_date, p.update_date, p.content, p.model_id, p.like_count " +
+                        "FROM POST p INNER JOIN IMAGE img ON p.id = img.post_id " +
+                        "WHERE p.user_id = ? AND p.is_deleted = false AND p.create_date > ? " +
+                        "ORDER BY p.id DESC LIMIT ?",
+                postRowMapper(), userId, lastWeekDay, size);
     }
 
-    public List<Post> searchByModel(String model) {
-        return jdbcTemplate.query("SELECT p.id, p.user_id, p.create_date, p.update_date, p.content, p.model_id, p.like_count FROM MODEL m " +
-                "INNER JOIN POST p ON (m.id = p.model_id AND m.tag = ?) WHERE p.is_deleted = false ORDER BY p.create_date DESC", postRowMapper(), model);
+    // 게시글, 작성자 닉네임, 이미지, 조회한 사용자의 좋아요 여부를 한 번에 조회
+    // 이미지는 상세 화면 크기가 있으면 그 주소를, 아직 올라가지 않은 게시글은 없는 것으로 본다
+    public PostDetail findPostDetailById(int postId, int viewerId) {
+        List<PostDetail> postDetails = jdbcTemplate.query(
+                "SELECT p.id, p.user_id, p.create_date, p.update_date, p.content, p.model_id, p.like_count, " +
+                        "u.nickname, COALESCE(img.feed_url, img.image_url) AS image_url, " +
+                        "EXISTS (SELECT pl.id FROM POST_LIKE pl " +
+                        "WHERE pl.post_id = p.id AND pl.user_id = ? AND pl.is_deleted = false) AS is_like " +
+                        "FROM POST p " +
+                        "INNER JOIN `USER` u ON p.user_id = u.id " +
+                        "INNER JOIN IMAGE img ON p.id = img.post_id " +
+                        "WHERE p.id = ? AND p.is_deleted = false",
+                postDetailRowMapper(), viewerId, postId);
+        return postDetails.stream().findAny().orElseThrow(
+                PostNotExistException::new
+        );
+    }
+
+    public List<Integer> findPopularPostIdsDuringWeek(String lastWeekDay, int size) {
+        return jdbcTemplate.query("SELECT p.id FROM POST p " +
+                "INNER JOIN IMAGE img ON p.id = img.post_id " +
+                "WHERE p.is_deleted = false AND p.create_date > ? " +
+                "ORDER BY p.like_count DESC, p.create_date DESC LIMIT ?",
+                (rs, rowNum) -> rs.getInt("id"), lastWeekDay, size);
+    }
+
+    // 타입, 모델, 해시태그 조건을 모두 만족하는 게시글 중 postId 미만인 것을 size 만큼 조회
+    // 해시태그는 GROUP BY ... HAVING COUNT 로 모든 태그가 달린 게시글만 남긴다
+    public List<Integer> searchPostIdsByTags(String type, String model, List<String> hashtags, int postId, int size) {
+        StringBuilder query = new StringBuilder("SELECT p.id FROM POST p INNER JOIN IMAGE img ON p.id = img.post_id ");
+        List<Object> args = new ArrayList<>();
+        if (type != null || model != null) {
+            query.append("INNER JOIN MODEL m ON p.model_id = m.id ");
+        }
+        if (type != null) {
+            query.append("INNER JOIN TYPE t ON (m.type_id = t.id AND t.tag = ?) ");
+            args.add(type);
+        }
+        query.append("WHERE p.is_deleted = false AND p.id < ? ");
+        args.add(postId);
+        if (model != null) {
+            query.append("AND m.tag = ? ");
+            args.add(model);
+        }
+        if (!hashtags.isEmpty()) {
+            query.append("AND p.id IN (SELECT ph.post_id FROM POST_HASHTAG ph ")
+                    .append("INNER JOIN HASHTAG h ON ph.tag_id = h.id ")
+                    .append("WHERE h.tag IN (").append(placeholders(hashtags.size())).append(") ")
+                    .append("GROUP BY ph.post_id HAVING COUNT(DISTINCT h.id) = ?) ");
+            args.addAll(hashtags);
+            args.add(hashtags.size());
+        }
+        query.append("ORDER BY p.id DESC LIMIT ?");
+        args.add(size);
+        return jdbcTemplate.query(query.toString(), (rs, rowNum) -> rs.getInt("id"), args.toArray());
     }
 
-    public List<Post> searchByHashtag(String tagName) {
-        return jdbcTemplate.query("SELECT p.id, p.user_id, p.create_date, p.update_date, p.content, p.model_id, p.like_count FROM POST p " +
-                "INNER JOIN POST_HASHTAG ph ON p.id = ph.post_id " +
-                "INNER JOIN HASHTAG h ON ph.tag_id = h.id AND h.tag = ? WHERE p.is_deleted = false ORDER BY p.create_date DESC", postRowMapper(), tagName);
+    // 삭제되지 않고 이미지가 올라간 모든 게시글의 모델과 해시태그, 태그 인덱스 초기화에 사용
+    // 이미지가 올라가는 중인 게시글은 게시될 때 인덱스에 더해진다
+    public List<TaggedPost> findAllTaggedPosts() {
+        Map<Integer, TaggedPost> taggedPosts = new LinkedHashMap<>();
+        RowCallbackHandler postHandler = rs -> taggedPosts.put(
+                rs.getInt("id"),
+                new TaggedPost(rs.getInt("id"), rs.getInt("model_id"), new ArrayList<>()));
+        jdbcTemplate.query("SELECT p.id, p.model_id FROM POST p " +
+                "INNER JOIN IMAGE img ON p.id = img.post_id WHERE p.is_deleted = false", postHandler);
+
+        RowCallbackHandler hashtagHandler = rs -> {
+            TaggedPost taggedPost = taggedPosts.get(rs.getInt("post_id"));
+            if (taggedPost != null) {
+                taggedPost.getHashtags().add(rs.getString("tag"));
+            }
+        };
+        jdbcTemplate.query("SELECT ph.post_id, h.tag FROM POST_HASHTAG ph " +
+                "INNER JOIN HASHTAG h ON ph.tag_id = h.id", hashtagHandler);
+        return new ArrayList<>(taggedPosts.values());
     }
 
     public int addPost(Post post){
@@ -93,8 +178,34 @@ public class PostRepository {
                 post.getUpdateDate(), post.getContent(), post.getModelId(), post.getId());
     }
 
-    public void deletePostById(int postId) {
-        jdbcTemplate.update("update POST set is_deleted = true where id = ?", postId);
+    // 이미지 업로드가 끝난 뒤의 처리가 같은 게시글의 삭제와 겹치지 않도록 행을 잠근다
+    public Post findPostByIdForUpdate(int postId) {
+        List<Post> post = jdbcTemplate.query(
+                "SELECT id, user_id, create_date, update_date, content, model_id, like_count " +
+                        "FROM POST " +
+                        "WHERE id = ? AND is_deleted = false FOR UPDATE", postRowMapper(), postId);
+        return post.stream().findAny().orElseThrow(
+                PostNotExistException::new
+        );
+    }
+
+    // 이미 삭제된 게시글이면 false
+    public boolean deletePostById(int postId) {
+        return jdbcTemplate.update("update POST set is_deleted = true where id = ? and is_deleted = false", postId) > 0;
+    }
+
+    private String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private RowMapper<PostDetail> postDetailRowMapper() {
+        RowMapper<Post> postRowMapper = postRowMapper();
+        return (rs, rowNum) -> new PostDetail(
+                postRowMapper.mapRow(rs, rowNum),
+                rs.getString("nickname"),
+                rs.getString("image_url"),
+                rs.getBoolean("is_like")
+        );
     }
 
     private RowMapper<Post> postRowMapper() {
@@ -0,0 +1,42 @@
+package softeer.carbook.domain.post.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// 지울 S3 객체 키를 쌓아 두는 큐, 요청과 같은 트랜잭션에 넣어서 롤백되면 함께 취소된다
+@Repository
+public class S3DeleteQueueRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public S3DeleteQueueRepository(DataSource dataSource) { this.jdbcTemplate = new JdbcTemplate(dataSource); }
+
+    public void enqueue(List<String> keys) {
+        List<Object[]> batchArgs = new ArrayList<>();
+        keys.forEach(key -> batchArgs.add(new Object[]{key}));
+        jdbcTemplate.batchUpdate("insert into S3_DELETE_QUEUE(object_key) values(?)", batchArgs);
+    }
+
+    // before 이전에 들어온 키를 먼저 들어온 순서대로, 같은 키는 한 번만
+    public List<String> findKeys(Timestamp before, int size) {
+        return jdbcTemplate.queryForList(
+                "select object_key from S3_DELETE_QUEUE where create_date <= ? " +
+                        "group by object_key order by min(id) LIMIT ?",
+                String.class, before, size);
+    }
+
+    public void remove(List<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        String inClause = String.join(", ", Collections.nCopies(keys.size(), "?"));
+        jdbcTemplate.update("delete from S3_DELETE_QUEUE where object_key in (" + inClause + ")", keys.toArray());
+    }
+}
@@ -1,73 +1,141 @@
 package softeer.carbook.domain.post.repository;
 
-import com.amazonaws.AmazonServiceException;
-import com.amazonaws.SdkClientException;
+import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.CannedAccessControlList;
-import com.amazonaws.services.s3.model.DeleteObjectRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
-import org.springframework.web.multipart.MultipartFile;
-import softeer.carbook.domain.user.service.UserService;
+import softeer.carbook.domain.post.model.StoredObject;
 
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Repository
-public class S3Repository {
-    private static final Logger logger = LoggerFactory.getLogger(S3Repository.class);
+@ConditionalOnProperty(name = "carbook.storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3Repository implements ObjectStore {
     private final AmazonS3Client amazonS3Client;
+    private final TransferManager transferManager;
 
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
 
+    // multipart-threshold 보다 큰 이미지는 나눠서 올린다
     @Autowired
-    public S3Repository(AmazonS3 amazonS3Client) {
+    public S3Repository(
+            AmazonS3 amazonS3Client,
+            @Value("${carbook.s3.multipart-threshold:16777216}") long multipartThreshold) {
         this.amazonS3Client = (AmazonS3Client) amazonS3Client;
+        this.transferManager = TransferManagerBuilder.standard()
+                .withS3Client(amazonS3Client)
+                .withMultipartUploadThreshold(multipartThreshold)
+                .build();
     }
 
-    public String upload(MultipartFile multipartFile, String dirName, int postId) {
-        File uploadImage = makeLocalFile(multipartFile, postId).orElseThrow(() -> new IllegalArgumentException("Local File Creation Failed"));
-        return upload(uploadImage, dirName);
+    // 요청이 끝난 뒤 디스크에 옮겨 둔 이미지를 올릴 때 사용
+    @Override
+    public String upload(File image, String contentType, String dirName, String fileName) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        return uploadS3(new PutObjectRequest(bucket, dirName + "/" + fileName, image).withMetadata(metadata));
     }
 
-    private Optional<File> makeLocalFile(MultipartFile file, int postId){
-        File convertFile = new File(postId+"_"+file.getOriginalFilename());
+    // 서버에서 만든 크기별 이미지를 올릴 때 사용
+    @Override
+    public String upload(byte[] image, String contentType, String dirName, String fileName) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(image.length);
+        metadata.setContentType(contentType);
+        return uploadS3(new PutObjectRequest(
+                bucket, dirName + "/" + fileName, new ByteArrayInputStream(image), metadata));
+    }
+
+    private String uploadS3(PutObjectRequest putObjectRequest) {
         try {
-            if (convertFile.createNewFile()) {
-                FileOutputStream fos = new FileOutputStream(convertFile);
-                fos.write(file.getBytes());
-                return Optional.of(convertFile);
-            }
-            convertFile.delete();
-            return Optional.empty();
-        } catch (IOException e) {
-            convertFile.delete();
-            return Optional.empty();
+            transferManager.upload(putObjectRequest.withCannedAcl(CannedAccessControlList.PublicRead))
+                    .waitForUploadResult();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalArgumentException("Image Upload Failed");
         }
+        return amazonS3Client.getUrl(bucket, putObjectRequest.getKey()).toString();
+    }
+
+    @Override
+    public String getUrl(String key) {
+        return amazonS3Client.getUrl(bucket, key).toString();
     }
 
-    private String upload(File uploadImage, String dirName){
-        String fileName = dirName + "/" +uploadImage.getName();
-        String uploadImageUrl = uploadS3(uploadImage, fileName);
-        uploadImage.delete();
-        return uploadImageUrl;
+    @Override
+    public String getKey(String url) {
+        return url.split("amazonaws\\.com/")[1];
     }
 
-    private String uploadS3(File image, String fileName){
-        amazonS3Client.putObject(new PutObjectRequest(bucket, fileName, image).withCannedAcl(CannedAccessControlList.PublicRead));
-        return amazonS3Client.getUrl(bucket, fileName).toString();
+    // 한 번의 요청으로 여러 객체를 지우고, 지우지 못한 키를 돌려준다
+    @Override
+    public List<String> delete(List<String> keys) {
+        if (keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        DeleteObjectsRequest deleteObjectsRequest = new DeleteObjectsRequest(bucket)
+                .withKeys(keys.toArray(new String[0]))
+                .withQuiet(true);
+        try {
+            amazonS3Client.deleteObjects(deleteObjectsRequest);
+            return new ArrayList<>();
+        } catch (MultiObjectDeleteException e) {
+            return e.getErrors().stream()
+                    .map(MultiObjectDeleteException.DeleteError::getKey)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    // 다른 이미지처럼 공개로 읽히도록 ACL 도 서명에 포함한다
+    @Override
+    public String createUploadUrl(String key, String contentType, Date expiration) {
+        GeneratePresignedUrlRequest generatePresignedUrlRequest =
+                new GeneratePresignedUrlRequest(bucket, key, HttpMethod.PUT)
+                        .withExpiration(expiration)
+                        .withContentType(contentType);
+        generatePresignedUrlRequest.addRequestParameter(
+                Headers.S3_CANNED_ACL, CannedAccessControlList.PublicRead.toString());
+        return amazonS3Client.generatePresignedUrl(generatePresignedUrlRequest).toString();
+    }
+
+    @Override
+    public Optional<StoredObject> findObject(String key) {
+        try {
+            ObjectMetadata metadata = amazonS3Client.getObjectMetadata(bucket, key);
+            return Optional.of(new StoredObject(key, metadata.getContentLength(), metadata.getContentType()));
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
     }
 
-    public void deleteS3(String key){
-        amazonS3Client.deleteObject(new DeleteObjectRequest(bucket, key));
+    // S3 클라이언트는 빈으로 관리되므로 함께 종료하지 않는다
+    @PreDestroy
+    public void shutdown() {
+        transferManager.shutdownNow(false);
     }
 
 }
@@ -0,0 +1,116 @@
+package softeer.carbook.domain.post.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import softeer.carbook.domain.post.dto.ImageUploadUrlResponse;
+import softeer.carbook.domain.post.model.ImageObject;
+import softeer.carbook.domain.post.model.StoredObject;
+import softeer.carbook.domain.post.repository.ImageObjectRepository;
+import softeer.carbook.domain.post.repository.ObjectStore;
+import softeer.carbook.domain.post.repository.S3DeleteQueueRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+// 이미지를 서버를 거치지 않고 클라이언트가 저장소에 바로 올리게 한다
+// 1. createUploadUrl 로 url-expiry-ms 동안 쓸 수 있는 PUT 주소와 키를 내준다
+// 2. 게시글을 등록할 때 verify 로 HEAD 를 보내 올라간 이미지를 확인하고 주소를 돌려준다
+// 3. 게시글을 저장하는 트랜잭션 안에서 claim 으로 IMAGE_OBJECT 에 등록해, 게시글을 지울 때 PostImageUploader.release 로 회수된다
+@Component
+public class DirectImageUploader {
+
+    private static final String UPLOAD_DIR = "uploads";
+    private static final Logger logger = LoggerFactory.getLogger(DirectImageUploader.class);
+    private final ObjectStore objectStore;
+    private final S3DeleteQueueRepository s3DeleteQueueRepository;
+    private final ImageObjectRepository imageObjectRepository;
+    private final long maxImageSize;
+    private final long urlExpiryMillis;
+
+    @Autowired
+    public DirectImageUploader(
+            ObjectStore objectStore,
+            S3DeleteQueueRepository s3DeleteQueueRepository,
+            ImageObjectRepository imageObjectRepository,
+            @Value("${carbook.upload.max-size:10485760}") long maxImageSize,
+            @Value("${carbook.upload.url-expiry-ms:600000}") long urlExpiryMillis) {
+        this.objectStore = objectStore;
+        this.s3DeleteQueueRepository = s3DeleteQueueRepository;
+        this.imageObjectRepository = imageObjectRepository;
+        this.maxImageSize = maxImageSize;
+        this.urlExpiryMillis = urlExpiryMillis;
+    }
+
+    // 다른 사용자가 올린 이미지를 가져다 쓰지 못하도록 키에 사용자 id 를 넣는다
+    public ImageUploadUrlResponse createUploadUrl(int userId, String fileName, String contentType) {
+        if (!isImage(contentType)) {
+            throw new IllegalArgumentException("Invalid Image");
+        }
+        String key = userDir(userId) + UUID.randomUUID() + extension(fileName);
+        Date expiration = new Date(System.currentTimeMillis() + urlExpiryMillis);
+        return new ImageUploadUrlResponse(objectStore.createUploadUrl(key, contentType, expiration), key);
+    }
+
+    // 저장소에 요청을 보내므로 트랜잭션 밖에서 호출한다, 맞지 않는 이미지를 지우는 요청은 등록이 실패해도 남는다
+    public String verify(int userId, String imageKey) {
+        if (!imageKey.startsWith(userDir(userId)) || imageKey.contains("..")) {
+            throw new IllegalArgumentException("Invalid Image");
+        }
+        StoredObject storedObject = objectStore.findObject(imageKey)
+                .orElseThrow(() -> new IllegalArgumentException("Image Upload Failed"));
+        // PUT 주소로는 크기를 제한할 수 없으므로 올라간 뒤에 확인하고, 맞지 않으면 지운다
+        if (storedObject.getContentLength() > maxImageSize || !isImage(storedObject.getContentType())) {
+            logger.debug("rejected direct upload {} ({} bytes, {})",
+                    imageKey, storedObject.getContentLength(), storedObject.getContentType());
+            s3DeleteQueueRepository.enqueue(List.of(imageKey));
+            throw new IllegalArgumentException("Invalid Image");
+        }
+        return objectStore.getUrl(imageKey);
+    }
+
+    // 한 키를 여러 게시글이 쓰면 한 게시글을 지울 때 다른 게시글의 이미지까지 지워지므로 한 번만 쓸 수 있게 한다
+    // 내용을 내려받지 않으므로 내용 대신 키의 해시를 digest 로 쓴다
+    public void claim(String imageKey, String imageUrl) {
+        if (!imageObjectRepository.addIfAbsent(new ImageObject(keyDigest(imageKey), imageUrl, null, null))) {
+            throw new IllegalArgumentException("Invalid Image");
+        }
+    }
+
+    private String keyDigest(String imageKey) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            StringBuilder hex = new StringBuilder();
+            for (byte b : sha256.digest(imageKey.getBytes(StandardCharsets.UTF_8))) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String userDir(int userId) {
+        return UPLOAD_DIR + "/" + userId + "/";
+    }
+
+    private boolean isImage(String contentType) {
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("image/");
+    }
+
+    // 키에 쓰이므로 영문자와 숫자로 된 확장자만 남긴다
+    private String extension(String fileName) {
+        if (fileName == null || fileName.lastIndexOf('.') <= 0) {
+            return "";
+        }
+        String extension = fileName.substring(fileName.lastIndexOf('.')).toLowerCase(Locale.ROOT);
+        return extension.matches("\\.[a-z0-9]{1,5}") ? extension : "";
+    }
+}
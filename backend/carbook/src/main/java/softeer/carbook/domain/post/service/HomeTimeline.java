@@ -0,0 +1,356 @@
+package softeer.carbook.domain.post.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import softeer.carbook.domain.follow.repository.FollowRepository;
+import softeer.carbook.domain.post.model.Post;
+import softeer.carbook.domain.post.repository.PostRepository;
+import softeer.carbook.global.util.TransactionUtils;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+// 사용자별 팔로우한 사용자들의 최근 게시글 목록 (hybrid fan-out)
+// 팔로워가 fan-out-threshold 명 이하인 사용자의 글은 작성 시점에 팔로워들의 목록에 넣고,
+// 그보다 많은 사용자의 글은 작성자별 목록에 두었다가 조회 시점에 합친다
+// 다음 페이지 기준(postId)과 같도록 모든 목록은 게시글 id 내림차순으로 정렬하고 합친다
+// carbook.timeline.enabled=false 이거나 목록이 잘려 답할 수 없으면 SQL 조회를 사용한다
+// 불러오는 사이 게시, 삭제, 팔로우 변경이 반영된 목록은 빠진 글이 있을 수 있으므로 저장하지 않는다
+@Component
+public class HomeTimeline {
+
+    // 사용자 id 로 나눈 칸마다 바뀐 횟수를 센다, 같은 칸의 다른 사용자가 바뀌어도 저장하지 않을 뿐이다
+    private static final int VERSION_STRIPES = 1024;
+    private final PostRepository postRepository;
+    private final FollowRepository followRepository;
+    private final boolean enabled;
+    private final int timelineSize;
+    private final int fanOutThreshold;
+    private final long timeToLiveMillis;
+    private final Map<Integer, Timeline> homeTimelines;
+    private final Map<Integer, Timeline> authorTimelines;
+    private final long[] homeVersions = new long[VERSION_STRIPES];
+    private final long[] authorVersions = new long[VERSION_STRIPES];
+
+    @Autowired
+    public HomeTimeline(
+            PostRepository postRepository,
+            FollowRepository followRepository,
+            @Value("${carbook.timeline.enabled:false}") boolean enabled,
+            @Value("${carbook.timeline.size:200}") int timelineSize,
+            @Value("${carbook.timeline.max-users:10000}") int maxUsers,
+            @Value("${carbook.timeline.ttl-ms:600000}") long timeToLiveMillis,
+            @Value("${carbook.timeline.fan-out-threshold:10000}") int fanOutThreshold) {
+        this.postRepository = postRepository;
+        this.followRepository = followRepository;
+        this.enabled = enabled;
+        this.timelineSize = timelineSize;
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.fanOutThreshold = fanOutThreshold;
+        this.homeTimelines = boundedMap(maxUsers);
+        this.authorTimelines = boundedMap(maxUsers);
+    }
+
+    // postId 미만인 최근 일주일 게시글 id 를 최신순으로 size 만큼
+    public Optional<List<Integer>> findPostIds(int userId, int postId, int size) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        LocalDate lastWeek = LocalDate.now().minusWeeks(1);
+        long since = lastWeek.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Timeline home = get(homeTimelines, userId);
+        if (home == null || home.isExpired(timeToLiveMillis)) {
+            home = loadHome(userId, lastWeek);
+        }
+
+        List<List<Entry>> sources = new ArrayList<>();
+        Optional<List<Entry>> pushed = home.slice(postId, size, since);
+        if (pushed.isEmpty()) {
+            return Optional.empty();
+        }
+        sources.add(pushed.get());
+        for (int authorId : home.getPulledAuthorIds()) {
+            Timeline author = get(authorTimelines, authorId);
+            if (author == null || author.isExpired(timeToLiveMillis)) {
+                author = loadAuthor(authorId, lastWeek);
+            }
+            Optional<List<Entry>> pulled = author.slice(postId, size, since);
+            if (pulled.isEmpty()) {
+                return Optional.empty();
+            }
+            sources.add(pulled.get());
+        }
+        return Optional.of(merge(sources, size));
+    }
+
+    // 이미지 업로드가 끝나 게시될 때 호출되므로 작성 시간은 DB 의 create_date 를 쓴다
+    public void addPost(Post post) {
+        if (!enabled) {
+            return;
+        }
+        Entry entry = toEntry(post);
+        int authorId = post.getUserId();
+        // 팔로워가 많은 사용자의 글은 팔로워들이 조회할 때 가져간다
+        List<Integer> followerIds = isPulled(authorId)
+                ? Collections.emptyList()
+                : followRepository.getFollowerIds(authorId);
+        TransactionUtils.runAfterCommit(() -> {
+            Timeline author = change(authorTimelines, authorVersions, authorId);
+            if (author != null) {
+                author.add(entry);
+            }
+            for (int followerId : followerIds) {
+                Timeline home = change(homeTimelines, homeVersions, followerId);
+                if (home != null) {
+                    home.add(entry);
+                }
+            }
+        });
+    }
+
+    public void removePost(int postId, int authorId) {
+        if (!enabled) {
+            return;
+        }
+        List<Integer> followerIds = isPulled(authorId)
+                ? Collections.emptyList()
+                : followRepository.getFollowerIds(authorId);
+        TransactionUtils.runAfterCommit(() -> {
+            Timeline author = change(authorTimelines, authorVersions, authorId);
+            if (author != null) {
+                author.remove(postId);
+            }
+            for (int followerId : followerIds) {
+                Timeline home = change(homeTimelines, homeVersions, followerId);
+                if (home != null) {
+                    home.remove(postId);
+                }
+            }
+        });
+    }
+
+    public void unfollow(int followerId, int followingId) {
+        if (!enabled) {
+            return;
+        }
+        TransactionUtils.runAfterCommit(() -> {
+            Timeline home = change(homeTimelines, homeVersions, followerId);
+            if (home != null) {
+                home.removeAuthor(followingId);
+            }
+        });
+    }
+
+    // 새로 팔로우한 사용자의 지난 글은 다음 조회 때 다시 불러온다
+    public void follow(int followerId) {
+        if (!enabled) {
+            return;
+        }
+        TransactionUtils.runAfterCommit(() -> remove(homeTimelines, homeVersions, followerId));
+    }
+
+    private boolean isPulled(int authorId) {
+        return followRepository.getFollowerCount(authorId) > fanOutThreshold;
+    }
+
+    private Timeline loadHome(int userId, LocalDate lastWeek) {
+        long version = version(homeVersions, userId);
+        Set<Integer> pulledAuthorIds = new HashSet<>(
+                followRepository.getFollowingIdsOverFollowerCount(userId, fanOutThreshold));
+        List<Post> posts = postRepository.findRecentFollowingPosts(userId, toDay(lastWeek), timelineSize);
+        List<Entry> entries = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            if (!pulledAuthorIds.contains(post.getUserId())) {
+                entries.add(toEntry(post));
+            }
+        }
+        Timeline timeline = new Timeline(entries, posts.size() >= timelineSize, timelineSize, pulledAuthorIds);
+        putIfUnchanged(homeTimelines, homeVersions, userId, version, timeline);
+        return timeline;
+    }
+
+    private Timeline loadAuthor(int authorId, LocalDate lastWeek) {
+        long version = version(authorVersions, authorId);
+        List<Post> posts = postRepository.findRecentPostsByUserId(authorId, toDay(lastWeek), timelineSize);
+        List<Entry> entries = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            entries.add(toEntry(post));
+        }
+        Timeline timeline = new Timeline(entries, posts.size() >= timelineSize, timelineSize, new HashSet<>());
+        putIfUnchanged(authorTimelines, authorVersions, authorId, version, timeline);
+        return timeline;
+    }
+
+    // 각 목록은 게시글 id 내림차순이므로 목록별 맨 앞 게시글 중 id 가 가장 큰 것을 차례로 꺼낸다
+    private static List<Integer> merge(List<List<Entry>> sources, int size) {
+        Comparator<Source> latestFirst = Comparator.<Source>comparingInt(source -> source.current().postId)
+                .reversed();
+        PriorityQueue<Source> heads = new PriorityQueue<>(latestFirst);
+        for (List<Entry> entries : sources) {
+            if (!entries.isEmpty()) {
+                heads.add(new Source(entries));
+            }
+        }
+
+        // 팔로워 수가 기준을 넘나든 사용자의 글은 양쪽에 있을 수 있다
+        Set<Integer> merged = new LinkedHashSet<>();
+        while (!heads.isEmpty() && merged.size() < size) {
+            Source source = heads.poll();
+            merged.add(source.current().postId);
+            if (source.next()) {
+                heads.add(source);
+            }
+        }
+        return new ArrayList<>(merged);
+    }
+
+    private static Entry toEntry(Post post) {
+        return new Entry(post.getId(), post.getUserId(), post.getCreateDate().getTime());
+    }
+
+    private static String toDay(LocalDate date) {
+        return date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+    }
+
+    private static Map<Integer, Timeline> boundedMap(int maxUsers) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Timeline> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    private synchronized Timeline get(Map<Integer, Timeline> timelines, int userId) {
+        return timelines.get(userId);
+    }
+
+    private synchronized long version(long[] versions, int userId) {
+        return versions[stripe(userId)];
+    }
+
+    // version 을 읽은 뒤에 바뀌었으면 이번 조회에만 쓰고 저장하지 않는다
+    private synchronized void putIfUnchanged(
+            Map<Integer, Timeline> timelines, long[] versions, int userId, long version, Timeline timeline) {
+        if (versions[stripe(userId)] == version) {
+            timelines.put(userId, timeline);
+        }
+    }
+
+    // 바뀐 것을 기록하고 저장된 목록이 있으면 돌려준다
+    private synchronized Timeline change(Map<Integer, Timeline> timelines, long[] versions, int userId) {
+        versions[stripe(userId)]++;
+        return timelines.get(userId);
+    }
+
+    private synchronized void remove(Map<Integer, Timeline> timelines, long[] versions, int userId) {
+        versions[stripe(userId)]++;
+        timelines.remove(userId);
+    }
+
+    private static int stripe(int userId) {
+        return Math.floorMod(userId, VERSION_STRIPES);
+    }
+
+    private static class Entry {
+        private final int postId;
+        private final int authorId;
+        private final long createTime;
+
+        private Entry(int postId, int authorId, long createTime) {
+            this.postId = postId;
+            this.authorId = authorId;
+            this.createTime = createTime;
+        }
+    }
+
+    private static class Source {
+        private final List<Entry> entries;
+        private int idx = 0;
+
+        private Source(List<Entry> entries) {
+            this.entries = entries;
+        }
+
+        private Entry current() {
+            return entries.get(idx);
+        }
+
+        private boolean next() {
+            return ++idx < entries.size();
+        }
+    }
+
+    // 게시글 id 내림차순, 최대 capacity 개
+    private static class Timeline {
+        private final List<Entry> entries;
+        private final int capacity;
+        private final Set<Integer> pulledAuthorIds;
+        private final long loadedAt = System.currentTimeMillis();
+        // capacity 를 넘어 잘린 적이 있으면 목록 끝 이후는 DB 에만 있다
+        private boolean truncated;
+
+        private Timeline(List<Entry> entries, boolean truncated, int capacity, Set<Integer> pulledAuthorIds) {
+            this.entries = entries;
+            this.truncated = truncated;
+            this.capacity = capacity;
+            this.pulledAuthorIds = pulledAuthorIds;
+        }
+
+        private boolean isExpired(long timeToLiveMillis) {
+            return System.currentTimeMillis() - loadedAt > timeToLiveMillis;
+        }
+
+        private synchronized List<Integer> getPulledAuthorIds() {
+            return new ArrayList<>(pulledAuthorIds);
+        }
+
+        private synchronized Optional<List<Entry>> slice(int postId, int size, long since) {
+            List<Entry> result = new ArrayList<>();
+            for (Entry entry : entries) {
+                if (result.size() >= size) {
+                    return Optional.of(result);
+                }
+                if (entry.postId >= postId) {
+                    continue;
+                }
+                // 이후 게시글은 모두 일주일보다 오래되었다
+                if (entry.createTime <= since) {
+                    return Optional.of(result);
+                }
+                result.add(entry);
+            }
+            if (result.size() < size && truncated) {
+                return Optional.empty();
+            }
+            return Optional.of(result);
+        }
+
+        private synchronized void add(Entry entry) {
+            int idx = 0;
+            while (idx < entries.size() && entries.get(idx).postId > entry.postId) {
+                idx++;
+            }
+            if (idx < entries.size() && entries.get(idx).postId == entry.postId) {
+                return;
+            }
+            entries.add(idx, entry);
+            if (entries.size() > capacity) {
+                entries.remove(entries.size() - 1);
+                truncated = true;
+            }
+        }
+
+        private synchronized void remove(int postId) {
+            entries.removeIf(entry -> entry.postId == postId);
+        }
+
+        private synchronized void removeAuthor(int authorId) {
+            entries.removeIf(entry -> entry.authorId == authorId);
+            pulledAuthorIds.remove(authorId);
+        }
+    }
+}
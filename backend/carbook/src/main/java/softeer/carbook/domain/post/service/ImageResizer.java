@@ -0,0 +1,215 @@
+package softeer.carbook.domain.post.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Optional;
+
+// 원본 이미지로 목록용 썸네일과 상세 화면용 이미지를 만든다
+// 긴 변이 thumbnail-size, feed-size 가 되도록 줄이고 JPEG 로 다시 압축한다, 원본보다 크게 늘리지는 않는다
+// 픽셀 수가 max-pixels 를 넘는 이미지는 디코딩하지 않고, JPEG 는 EXIF 방향대로 돌린 뒤 줄인다
+// 가장 큰 결과물이 feed-size 이므로 긴 변이 feed-size 이상으로 남는 만큼만 건너뛰며 디코딩해 메모리를 줄인다
+@Component
+public class ImageResizer {
+
+    public static final String CONTENT_TYPE = "image/jpeg";
+    public static final String EXTENSION = ".jpg";
+    private static final Logger logger = LoggerFactory.getLogger(ImageResizer.class);
+    private static final int JPEG_SOI = 0xFFD8;
+    private static final int JPEG_SOS = 0xFFDA;
+    private static final int JPEG_APP1 = 0xFFE1;
+    private static final int EXIF_ORIENTATION = 0x0112;
+    private final int thumbnailSize;
+    private final int feedSize;
+    private final float quality;
+    private final long maxPixels;
+
+    @Autowired
+    public ImageResizer(
+            @Value("${carbook.image.thumbnail-size:400}") int thumbnailSize,
+            @Value("${carbook.image.feed-size:1080}") int feedSize,
+            @Value("${carbook.image.quality:0.8}") float quality,
+            @Value("${carbook.image.max-pixels:40000000}") long maxPixels) {
+        this.thumbnailSize = thumbnailSize;
+        this.feedSize = feedSize;
+        this.quality = quality;
+        this.maxPixels = maxPixels;
+    }
+
+    // 읽을 수 없는 형식이거나 너무 큰 이미지면 크기별 이미지 없이 원본만 사용한다
+    // 디코딩하면 픽셀마다 메모리를 쓰므로 헤더의 가로, 세로로 먼저 확인한다
+    public Optional<BufferedImage> read(File image) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(image)) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                return Optional.empty();
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    logger.warn("skipped resizing image {} with {} pixels", image, pixels);
+                    return Optional.empty();
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int period = subsamplingPeriod(reader.getWidth(0), reader.getHeight(0));
+                param.setSourceSubsampling(period, period, 0, 0);
+                return Optional.of(orient(reader.read(0, param), readOrientation(image)));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("failed to decode image {}", image, e);
+            return Optional.empty();
+        }
+    }
+
+    // 긴 변이 feed-size 보다 작아지지 않는 가장 큰 간격, 디코딩한 긴 변은 feed-size 의 2배보다 작다
+    private int subsamplingPeriod(int width, int height) {
+        return Math.max(1, Math.max(width, height) / feedSize);
+    }
+
+    // EXIF Orientation(1~8)대로 그린다, 5~8 은 가로와 세로가 바뀐다
+    private BufferedImage orient(BufferedImage source, int orientation) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        AffineTransform transform;
+        switch (orientation) {
+            case 2: transform = new AffineTransform(-1, 0, 0, 1, width, 0); break;
+            case 3: transform = new AffineTransform(-1, 0, 0, -1, width, height); break;
+            case 4: transform = new AffineTransform(1, 0, 0, -1, 0, height); break;
+            case 5: transform = new AffineTransform(0, 1, 1, 0, 0, 0); break;
+            case 6: transform = new AffineTransform(0, 1, -1, 0, height, 0); break;
+            case 7: transform = new AffineTransform(0, -1, -1, 0, height, width); break;
+            case 8: transform = new AffineTransform(0, -1, 1, 0, 0, width); break;
+            default: return source;
+        }
+        boolean swapped = orientation >= 5;
+        BufferedImage oriented = new BufferedImage(
+                swapped ? height : width,
+                swapped ? width : height,
+                source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = oriented.createGraphics();
+        try {
+            graphics.drawImage(source, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return oriented;
+    }
+
+    // JPEG 의 APP1(Exif) 세그먼트에서 IFD0 의 Orientation 을 찾는다, 없거나 JPEG 가 아니면 1
+    private int readOrientation(File image) {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(image)))) {
+            if (input.readUnsignedShort() != JPEG_SOI) {
+                return 1;
+            }
+            while (true) {
+                int marker = input.readUnsignedShort();
+                if ((marker & 0xFF00) != 0xFF00 || marker == JPEG_SOS) {
+                    return 1;
+                }
+                byte[] segment = new byte[input.readUnsignedShort() - 2];
+                input.readFully(segment);
+                if (marker == JPEG_APP1 && isExif(segment)) {
+                    return readOrientation(segment);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            return 1;
+        }
+    }
+
+    private boolean isExif(byte[] segment) {
+        return segment.length > 6 && new String(segment, 0, 6, StandardCharsets.ISO_8859_1).equals("Exif\0\0");
+    }
+
+    // Exif 헤더 뒤는 TIFF 구조: 바이트 순서(II/MM), 42, IFD0 위치, 그리고 12바이트씩인 항목들
+    private int readOrientation(byte[] exif) {
+        ByteBuffer tiff = ByteBuffer.wrap(exif, 6, exif.length - 6).slice();
+        tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        int ifd = tiff.getInt(4);
+        int entries = tiff.getShort(ifd) & 0xFFFF;
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if ((tiff.getShort(entry) & 0xFFFF) == EXIF_ORIENTATION) {
+                return tiff.getShort(entry + 8) & 0xFFFF;
+            }
+        }
+        return 1;
+    }
+
+    public byte[] toThumbnail(BufferedImage source) {
+        return encode(scale(source, thumbnailSize));
+    }
+
+    public byte[] toFeedSize(BufferedImage source) {
+        return encode(scale(source, feedSize));
+    }
+
+    private BufferedImage scale(BufferedImage source, int maxSize) {
+        double ratio = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        // 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 줄여 나간다
+        BufferedImage current = source;
+        do {
+            int nextWidth = Math.max(width, current.getWidth() / 2);
+            int nextHeight = Math.max(height, current.getHeight() / 2);
+            current = draw(current, nextWidth, nextHeight);
+        } while (current.getWidth() > width || current.getHeight() > height);
+        return current;
+    }
+
+    // JPEG 는 투명도가 없으므로 흰 배경 위에 그린다
+    private BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private byte[] encode(BufferedImage image) {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,125 @@
+package softeer.carbook.domain.post.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import softeer.carbook.domain.post.repository.PostRepository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 최근 일주일 인기글 상위 N개를 메모리에 유지하는 랭킹
+// 주기적으로, 혹은 좋아요/게시글 변경이 있을 때 다시 계산한다
+@Component
+public class PopularPostRanking {
+
+    private static final Logger logger = LoggerFactory.getLogger(PopularPostRanking.class);
+    private final PostRepository postRepository;
+    private final int rankingSize;
+    private final long refreshIntervalMillis;
+    private final AtomicBoolean changed = new AtomicBoolean(false);
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public PopularPostRanking(
+            PostRepository postRepository,
+            @Value("${carbook.popular.ranking-size:1000}") int rankingSize,
+            @Value("${carbook.popular.refresh-interval-ms:60000}") long refreshIntervalMillis) {
+        this.postRepository = postRepository;
+        this.rankingSize = rankingSize;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+    }
+
+    // postId 다음 순위부터 size 만큼의 게시글 id, postId가 0이면 1위부터
+    public List<Integer> findPostIdsAfter(int postId, int size) {
+        Snapshot current = currentSnapshot();
+        int start = 0;
+        if (postId != 0) {
+            int rank = current.rankOf(postId);
+            // 랭킹에 없는 커서는 더 이상 불러올 게시글이 없는 것으로 본다
+            if (rank < 0) {
+                return new ArrayList<>();
+            }
+            start = rank + 1;
+        }
+        return current.slice(start, size);
+    }
+
+    public void markChanged() {
+        changed.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${carbook.popular.check-interval-ms:5000}")
+    public void refreshIfNeeded() {
+        boolean hasChanged = changed.getAndSet(false);
+        if (hasChanged || isExpired(snapshot)) {
+            refresh();
+        }
+    }
+
+    public synchronized void refresh() {
+        String lastWeekDay = LocalDateTime.now().minusWeeks(1).format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+        List<Integer> postIds = postRepository.findPopularPostIdsDuringWeek(lastWeekDay, rankingSize);
+        snapshot = new Snapshot(postIds, System.currentTimeMillis());
+        logger.debug("popular ranking refreshed: {}", postIds.size());
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private boolean isExpired(Snapshot current) {
+        return current == null || System.currentTimeMillis() - current.createdAt >= refreshIntervalMillis;
+    }
+
+    private static class Snapshot {
+        private final int[] rankedIds;
+        // 게시글 id 오름차순 정렬 배열과 해당 id의 순위, 커서 위치를 이진 탐색으로 찾는다
+        private final int[] sortedIds;
+        private final int[] ranksOfSortedIds;
+        private final long createdAt;
+
+        private Snapshot(List<Integer> postIds, long createdAt) {
+            int size = postIds.size();
+            this.rankedIds = new int[size];
+            long[] idWithRank = new long[size];
+            for (int rank = 0; rank < size; rank++) {
+                rankedIds[rank] = postIds.get(rank);
+                idWithRank[rank] = ((long) rankedIds[rank] << 32) | rank;
+            }
+            Arrays.sort(idWithRank);
+            this.sortedIds = new int[size];
+            this.ranksOfSortedIds = new int[size];
+            for (int idx = 0; idx < size; idx++) {
+                sortedIds[idx] = (int) (idWithRank[idx] >>> 32);
+                ranksOfSortedIds[idx] = (int) idWithRank[idx];
+            }
+            this.createdAt = createdAt;
+        }
+
+        private int rankOf(int postId) {
+            int idx = Arrays.binarySearch(sortedIds, postId);
+            return idx < 0 ? -1 : ranksOfSortedIds[idx];
+        }
+
+        private List<Integer> slice(int start, int size) {
+            List<Integer> postIds = new ArrayList<>();
+            for (int rank = start; rank < start + size && rank < rankedIds.length; rank++) {
+                postIds.add(rankedIds[rank]);
+            }
+            return postIds;
+        }
+    }
+}
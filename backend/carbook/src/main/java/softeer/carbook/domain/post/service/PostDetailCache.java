@@ -0,0 +1,90 @@
+package softeer.carbook.domain.post.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import softeer.carbook.domain.post.model.CachedPostDetail;
+import softeer.carbook.global.util.TransactionUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 게시글 id -> 사용자와 무관한 상세 정보, 최근에 조회되지 않은 게시글부터 밀려나는 LRU 캐시
+// 수정/삭제, 작성자 닉네임 변경 시 제거하고, 좋아요 수는 캐시된 값을 직접 갱신한다
+// 조회하기 전에 version 을 읽어 두고 put 에 넘기면, 그 사이 제거되거나 좋아요 수가 바뀐 게시글은 저장하지 않는다
+@Component
+public class PostDetailCache {
+
+    // 게시글 id 로 나눈 칸마다 바뀐 횟수를 센다, 같은 칸의 다른 게시글이 바뀌어도 저장하지 않을 뿐이다
+    private static final int VERSION_STRIPES = 1024;
+    private final Map<Integer, CachedPostDetail> cache;
+    private final long[] versions = new long[VERSION_STRIPES];
+
+    @Autowired
+    public PostDetailCache(@Value("${carbook.post.detail-cache-size:1000}") int maxSize) {
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CachedPostDetail> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized CachedPostDetail get(int postId) {
+        return cache.get(postId);
+    }
+
+    public synchronized long version(int postId) {
+        return versions[stripe(postId)];
+    }
+
+    // version 을 읽은 뒤에 바뀐 게시글이면 읽어 온 내용이 이전 것일 수 있으므로 저장하지 않는다
+    public synchronized void put(CachedPostDetail postDetail, long version) {
+        if (versions[stripe(postDetail.getPostId())] == version) {
+            cache.put(postDetail.getPostId(), postDetail);
+        }
+    }
+
+    // 커밋된 뒤에 제거해야 트랜잭션 도중 다른 요청이 이전 내용을 다시 캐시하지 않는다
+    public void evict(int postId) {
+        TransactionUtils.runAfterCommit(() -> remove(postId));
+    }
+
+    // 캐시된 상세 정보에 작성자 닉네임이 들어 있으므로 닉네임이 바뀌면 그 사용자의 게시글을 모두 제거한다
+    public void evictByUserId(int userId) {
+        TransactionUtils.runAfterCommit(() -> removeByUserId(userId));
+    }
+
+    public void addLikeCount(int postId, int delta) {
+        TransactionUtils.runAfterCommit(() -> applyLikeCount(postId, delta));
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    private synchronized void applyLikeCount(int postId, int delta) {
+        versions[stripe(postId)]++;
+        CachedPostDetail postDetail = cache.get(postId);
+        if (postDetail != null) {
+            postDetail.addLikeCount(delta);
+        }
+    }
+
+    private synchronized void remove(int postId) {
+        versions[stripe(postId)]++;
+        cache.remove(postId);
+    }
+
+    // 사용자의 게시글 id 를 모두 알 수 없으므로 모든 칸을 바꾼다, 닉네임 변경은 드물다
+    private synchronized void removeByUserId(int userId) {
+        for (int i = 0; i < VERSION_STRIPES; i++) {
+            versions[i]++;
+        }
+        cache.values().removeIf(postDetail -> postDetail.getUserId() == userId);
+    }
+
+    private int stripe(int postId) {
+        return Math.floorMod(postId, VERSION_STRIPES);
+    }
+}
@@ -0,0 +1,342 @@
+package softeer.carbook.domain.post.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import softeer.carbook.domain.post.exception.ImageUploadBusyException;
+import softeer.carbook.domain.post.model.Image;
+import softeer.carbook.domain.post.model.ImageObject;
+import softeer.carbook.domain.post.repository.ImageObjectRepository;
+import softeer.carbook.domain.post.repository.ObjectStore;
+import softeer.carbook.domain.post.repository.S3DeleteQueueRepository;
+import softeer.carbook.global.util.TransactionUtils;
+
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+// 게시글 이미지와 크기별 이미지를 요청 스레드 밖에서 ObjectStore 에 올리고, 끝나면 onUploaded 로 이미지 주소들을 넘긴다
+// 내용이 같은 이미지는 다시 올리지 않고 이미 올라간 객체를 참조 수를 세어 함께 쓴다
+// 실패하면 backoff 를 늘려 가며 max-attempts 번까지 다시 시도하고, 끝내 실패하면 onFailed 를 호출한다
+// onUploaded 와 onFailed 는 하나의 트랜잭션에서 실행해서, 실패한 시도가 일부만 반영되지 않는다
+// 올리는 중이거나 기다리는 이미지가 threads + queue-size 개면 더 받지 않고 ImageUploadBusyException 을 던진다
+@Component
+public class PostImageUploader {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostImageUploader.class);
+    private final ObjectStore objectStore;
+    private final ImageResizer imageResizer;
+    private final ImageObjectRepository imageObjectRepository;
+    private final S3DeleteQueueRepository s3DeleteQueueRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final Path stagingDir;
+    private final Semaphore uploadSlots;
+    private final ThreadPoolExecutor uploadExecutor;
+    private final Counter rejectedUploads;
+    private final Counter retriedUploads;
+    private final Counter failedUploads;
+    private final Timer succeededAttempts;
+    private final Timer failedAttempts;
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor();
+    // 다시 시도를 기다리는 이미지 -> 다음 시도 번호, 종료할 때 버리지 않고 바로 시도한다
+    private final Map<PendingImage, Integer> waitingRetries = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PostImageUploader(
+            ObjectStore objectStore,
+            ImageResizer imageResizer,
+            ImageObjectRepository imageObjectRepository,
+            S3DeleteQueueRepository s3DeleteQueueRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${carbook.upload.threads:4}") int threads,
+            @Value("${carbook.upload.queue-size:100}") int queueSize,
+            @Value("${carbook.upload.max-attempts:5}") int maxAttempts,
+            @Value("${carbook.upload.backoff-ms:1000}") long backoffMillis) throws IOException {
+        this.objectStore = objectStore;
+        this.imageResizer = imageResizer;
+        this.imageObjectRepository = imageObjectRepository;
+        this.s3DeleteQueueRepository = s3DeleteQueueRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.stagingDir = Files.createTempDirectory("carbook-upload");
+        int capacity = threads + queueSize;
+        this.uploadSlots = new Semaphore(capacity);
+        // 슬롯을 얻은 이미지만 넣으므로 큐는 capacity 를 넘지 않는다
+        this.uploadExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>());
+
+        this.rejectedUploads = meterRegistry.counter("carbook.upload.rejected");
+        this.retriedUploads = meterRegistry.counter("carbook.upload.retried");
+        this.failedUploads = meterRegistry.counter("carbook.upload.failed");
+        this.succeededAttempts = meterRegistry.timer("carbook.upload.attempt", "result", "success");
+        this.failedAttempts = meterRegistry.timer("carbook.upload.attempt", "result", "failure");
+        Gauge.builder("carbook.upload.pending", uploadSlots, slots -> capacity - slots.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("carbook.upload.active", uploadExecutor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    // 요청이 끝나면 multipart 임시 파일이 지워지므로 먼저 옮겨 두고, 커밋된 뒤에 올린다
+    // 슬롯은 업로드가 끝나거나, 포기하거나, 트랜잭션이 롤백될 때 돌려준다
+    public void upload(MultipartFile image, int postId, Consumer<Image> onUploaded, Runnable onFailed) {
+        if (!uploadSlots.tryAcquire()) {
+            rejectedUploads.increment();
+            throw new ImageUploadBusyException();
+        }
+        Path staged = stagingDir.resolve(UUID.randomUUID().toString());
+        try {
+            image.transferTo(staged);
+        } catch (IOException e) {
+            deleteStaged(staged);
+            uploadSlots.release();
+            throw new IllegalArgumentException("Image Upload Failed");
+        }
+        PendingImage pending = new PendingImage(
+                postId, staged, image.getOriginalFilename(), image.getContentType(), onUploaded, onFailed);
+        TransactionUtils.runAfterCompletion(
+                () -> submit(pending, 1),
+                () -> finish(pending));
+    }
+
+    // 기다리던 재시도는 바로 시도하고, 그래도 실패하면 더 미루지 않고 포기한다
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        retryScheduler.shutdownNow();
+        for (PendingImage pending : waitingRetries.keySet()) {
+            Integer attempt = waitingRetries.remove(pending);
+            if (attempt != null) {
+                submit(pending, attempt);
+            }
+        }
+        uploadExecutor.shutdown();
+        if (!uploadExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("image uploads still running on shutdown: {}", uploadExecutor.getActiveCount());
+        }
+    }
+
+    private void submit(PendingImage pending, int attempt) {
+        try {
+            uploadExecutor.execute(() -> attempt(pending, attempt));
+        } catch (RejectedExecutionException e) {
+            logger.error("dropped image of post {} on shutdown", pending.postId);
+            fail(pending);
+        }
+    }
+
+    // 참조 수는 이미지마다 한 번만 늘리고, 다시 시도할 때는 이전 시도에서 얻은 객체를 그대로 쓴다
+    private void attempt(PendingImage pending, int attempt) {
+        long startTime = System.nanoTime();
+        try {
+            if (pending.imageObject == null) {
+                String digest = digest(pending.path);
+                Optional<ImageObject> acquired = imageObjectRepository.acquire(digest);
+                pending.uploaded = acquired.isPresent();
+                pending.imageObject = acquired.orElseGet(() -> reserveImageObject(pending, digest));
+            }
+            if (!pending.uploaded) {
+                pending.imageObject = uploadImageObject(pending);
+                pending.uploaded = true;
+            }
+            Image image = pending.imageObject.toImage(pending.postId);
+            transactionTemplate.executeWithoutResult(status -> pending.onUploaded.accept(image));
+            succeededAttempts.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            finish(pending);
+        } catch (RuntimeException e) {
+            failedAttempts.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            if (attempt >= maxAttempts) {
+                logger.error("gave up uploading image of post {} after {} attempts", pending.postId, attempt, e);
+                fail(pending);
+                return;
+            }
+            long delay = backoffMillis << (attempt - 1);
+            logger.warn("failed to upload image of post {}, retry in {} ms", pending.postId, delay, e);
+            scheduleRetry(pending, attempt + 1, delay);
+        }
+    }
+
+    private void scheduleRetry(PendingImage pending, int attempt, long delay) {
+        waitingRetries.put(pending, attempt);
+        retriedUploads.increment();
+        try {
+            retryScheduler.schedule(() -> {
+                if (waitingRetries.remove(pending) != null) {
+                    submit(pending, attempt);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            if (waitingRetries.remove(pending) != null) {
+                logger.error("gave up uploading image of post {} on shutdown", pending.postId);
+                fail(pending);
+            }
+        }
+    }
+
+    // 얻어 둔 객체의 참조를 돌려주고 onFailed 로 게시글을 정리한다
+    private void fail(PendingImage pending) {
+        failedUploads.increment();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (pending.imageObject != null) {
+                    releaseImageObject(pending.imageObject.getDigest());
+                }
+                pending.onFailed.run();
+            });
+        } catch (RuntimeException e) {
+            logger.error("failed to clean up image of post {}", pending.postId, e);
+        }
+        finish(pending);
+    }
+
+    // 키를 내용의 해시로 정해서 같은 키에 다른 내용이 덮어써지지 않도록 한다
+    // 올리기 전에 참조를 잡아 두어, 지워지기를 기다리던 같은 키를 S3DeleteWorker 가 올린 뒤에 지우지 않게 한다
+    // 같은 내용을 다른 쪽이 올리는 중이었으면 그 행의 원본 주소를 받는다
+    // S3DeleteWorker 가 같은 키를 지우는 중이면 다 지운 뒤에 다시 시도한다
+    private ImageObject reserveImageObject(PendingImage pending, String digest) {
+        if (!imageObjectRepository.add(new ImageObject(digest,
+                objectStore.getUrl(originalKey(pending, digest)), null, null))) {
+            throw new IllegalStateException("Image Object Being Deleted");
+        }
+        return imageObjectRepository.findByDigest(digest)
+                .orElseThrow(() -> new IllegalStateException("Image Object Not Reserved"));
+    }
+
+    // 먼저 올리던 쪽이 실패해도 게시할 수 있도록, 올리는 중이던 행이라도 같은 키에 직접 올린다
+    private ImageObject uploadImageObject(PendingImage pending) {
+        File original = pending.path.toFile();
+        String digest = pending.imageObject.getDigest();
+        String originalName = objectStore.getKey(pending.imageObject.getImageUrl()).substring("images/".length());
+        String imageUrl = objectStore.upload(original, pending.contentType, "images", originalName);
+        String resizedName = digest + ImageResizer.EXTENSION;
+        ImageObject imageObject = imageResizer.read(original)
+                .map(source -> new ImageObject(digest, imageUrl,
+                        objectStore.upload(imageResizer.toThumbnail(source), ImageResizer.CONTENT_TYPE,
+                                "images/thumbnail", resizedName),
+                        objectStore.upload(imageResizer.toFeedSize(source), ImageResizer.CONTENT_TYPE,
+                                "images/feed", resizedName)))
+                .orElseGet(() -> new ImageObject(digest, imageUrl, null, null));
+        imageObjectRepository.markUploaded(digest, imageObject.getThumbnailUrl(), imageObject.getFeedUrl());
+        return imageObject;
+    }
+
+    private String originalKey(PendingImage pending, String digest) {
+        return "images/" + digest + extension(pending.originalFilename);
+    }
+
+    // 더 이상 쓰는 게시글이 없을 때만 저장한 객체를 지우도록 큐에 넣는다, 실제 삭제는 S3DeleteWorker 가 한다
+    public void release(Image image) {
+        Optional<ImageObject> imageObject = imageObjectRepository.findByImageUrl(image.getImageUrl());
+        if (imageObject.isEmpty()) {
+            // 중복 제거 전에 올라간 이미지는 게시글 하나만 쓴다
+            enqueueDelete(image.getImageUrl(), image.getThumbnailUrl(), image.getFeedUrl());
+            return;
+        }
+        releaseImageObject(imageObject.get().getDigest());
+    }
+
+    // 크기별 이미지 주소는 올린 뒤에 채워지므로 놓는 시점의 행에서 읽는다
+    private void releaseImageObject(String digest) {
+        if (imageObjectRepository.release(digest)) {
+            imageObjectRepository.findByDigest(digest).ifPresent(imageObject ->
+                    enqueueDelete(imageObject.getImageUrl(), imageObject.getThumbnailUrl(), imageObject.getFeedUrl()));
+        }
+    }
+
+    private void enqueueDelete(String... imageUrls) {
+        List<String> keys = new ArrayList<>();
+        for (String imageUrl : imageUrls) {
+            if (imageUrl != null) {
+                keys.add(objectStore.getKey(imageUrl));
+            }
+        }
+        s3DeleteQueueRepository.enqueue(keys);
+    }
+
+    private String digest(Path image) {
+        try (InputStream inputStream = Files.newInputStream(image)) {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                sha256.update(buffer, 0, read);
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : sha256.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 원본 확장자는 소문자로 유지한다
+    private String extension(String originalFilename) {
+        if (originalFilename == null) {
+            return "";
+        }
+        int extension = originalFilename.lastIndexOf('.');
+        return extension > 0 ? originalFilename.substring(extension).toLowerCase(Locale.ROOT) : "";
+    }
+
+    private void finish(PendingImage pending) {
+        deleteStaged(pending.path);
+        uploadSlots.release();
+    }
+
+    private void deleteStaged(Path staged) {
+        try {
+            Files.deleteIfExists(staged);
+        } catch (IOException e) {
+            logger.warn("failed to delete staged image {}", staged, e);
+        }
+    }
+
+    private static class PendingImage {
+        private final int postId;
+        private final Path path;
+        private final String originalFilename;
+        private final String contentType;
+        private final Consumer<Image> onUploaded;
+        private final Runnable onFailed;
+        private ImageObject imageObject;
+        private boolean uploaded;
+
+        private PendingImage(int postId, Path path, String originalFilename, String contentType,
+                             Consumer<Image> onUploaded, Runnable onFailed) {
+            this.postId = postId;
+            this.path = path;
+            this.originalFilename = originalFilename;
+            this.contentType = contentType;
+            this.onUploaded = onUploaded;
+            this.onFailed = onFailed;
+        }
+    }
+}
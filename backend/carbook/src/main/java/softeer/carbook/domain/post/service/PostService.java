@@ -5,29 +5,37 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import softeer.carbook.domain.follow.repository.FollowRepository;
 import softeer.carbook.domain.like.repository.LikeRepository;
+import softeer.carbook.domain.like.service.LikeCountBuffer;
+import softeer.carbook.domain.like.service.LikedPostFilter;
 import softeer.carbook.domain.post.dto.*;
 import softeer.carbook.domain.post.exception.InvalidPostAccessException;
+import softeer.carbook.domain.post.exception.PostNotExistException;
+import softeer.carbook.domain.post.model.CachedPostDetail;
 import softeer.carbook.domain.post.model.Image;
 import softeer.carbook.domain.post.model.Post;
+import softeer.carbook.domain.post.model.PostDetail;
 import softeer.carbook.domain.post.repository.ImageRepository;
 import softeer.carbook.domain.post.repository.PostRepository;
-import softeer.carbook.domain.post.repository.S3Repository;
 import softeer.carbook.domain.tag.exception.HashtagNotExistException;
 import softeer.carbook.domain.tag.model.Hashtag;
 import softeer.carbook.domain.tag.model.Model;
 import softeer.carbook.domain.tag.model.Type;
 import softeer.carbook.domain.tag.repository.TagRepository;
+import softeer.carbook.domain.tag.service.TagAutocompleteIndex;
 import softeer.carbook.domain.user.model.User;
 import softeer.carbook.domain.user.repository.UserRepository;
 import softeer.carbook.global.dto.Message;
+import softeer.carbook.global.util.TransactionUtils;
 
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 public class PostService {
@@ -37,10 +45,20 @@ public class PostService {
     private final ImageRepository imageRepository;
     private final UserRepository userRepository;
     private final FollowRepository followRepository;
-    private final S3Repository s3Repository;
     private final TagRepository tagRepository;
     private final LikeRepository likeRepository;
+    private final PopularPostRanking popularPostRanking;
+    private final PostTagIndex postTagIndex;
+    private final TagAutocompleteIndex tagAutocompleteIndex;
+    private final PostDetailCache postDetailCache;
+    private final HomeTimeline homeTimeline;
+    private final LikeCountBuffer likeCountBuffer;
+    private final LikedPostFilter likedPostFilter;
+    private final PostImageUploader postImageUploader;
+    private final DirectImageUploader directImageUploader;
+    private final TransactionTemplate transactionTemplate;
     private final int POST_COUNT = 10;
+    private final int PROFILE_IMAGE_COUNT = 30;
 
     @Autowired
     public PostService(
@@ -48,16 +66,34 @@ public class PostService {
             ImageRepository imageRepository,
             UserRepository userRepository,
             FollowRepository followRepository,
-            S3Repository s3Repository,
             TagRepository tagRepository,
-            LikeRepository likeRepository) {
+            LikeRepository likeRepository,
+            PopularPostRanking popularPostRanking,
+            PostTagIndex postTagIndex,
+            TagAutocompleteIndex tagAutocompleteIndex,
+            PostDetailCache postDetailCache,
+            HomeTimeline homeTimeline,
+            LikeCountBuffer likeCountBuffer,
+            LikedPostFilter likedPostFilter,
+            PostImageUploader postImageUploader,
+            DirectImageUploader directImageUploader,
+            TransactionTemplate transactionTemplate) {
         this.postRepository = postRepository;
         this.imageRepository = imageRepository;
         this.userRepository = userRepository;
         this.followRepository = followRepository;
-        this.s3Repository = s3Repository;
         this.tagRepository = tagRepository;
         this.likeRepository = likeRepository;
+        this.popularPostRanking = popularPostRanking;
+        this.postTagIndex = postTagIndex;
+        this.tagAutocompleteIndex = tagAutocompleteIndex;
+        this.postDetailCache = postDetailCache;
+        this.homeTimeline = homeTimeline;
+        this.likeCountBuffer = likeCountBuffer;
+        this.likedPostFilter = likedPostFilter;
+        this.postImageUploader = postImageUploader;
+        this.directImageUploader = directImageUploader;
+        this.transactionTemplate = transactionTemplate;
     }
 
     public GuestPostsResponse getRecentPosts(int postId) {
@@ -70,189 +106,236 @@ public class PostService {
 
     public LoginPostsResponse getRecentFollowerPosts(int postId, User user) {
         postId = initPostId(postId);
-        LocalDateTime lastWeek = LocalDateTime.now().minusWeeks(1);
-        String lastWeekDay = lastWeek.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-        List<Image> images = imageRepository.getImagesOfRecentFollowingPosts(POST_COUNT, postId, user.getId(), lastWeekDay);
+        // 미리 만들어 둔 타임라인으로 답할 수 없을 때만 팔로우 테이블을 조인해서 조회
+        Optional<List<Integer>> timelinePostIds = homeTimeline.findPostIds(user.getId(), postId, POST_COUNT);
+        List<Image> images;
+        if (timelinePostIds.isPresent()) {
+            images = imageRepository.getImagesByPostIds(timelinePostIds.get());
+        } else {
+            LocalDateTime lastWeek = LocalDateTime.now().minusWeeks(1);
+            String lastWeekDay = lastWeek.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+            images = imageRepository.getImagesOfRecentFollowingPosts(POST_COUNT, postId, user.getId(), lastWeekDay);
+        }
         return new LoginPostsResponse.LoginPostsResponseBuilder()
                 .nickname(user.getNickname())
                 .images(images)
+                .likedPostIds(findLikedPostIds(user, images))
                 .build();
     }
 
     public LoginPostsResponse getPopularPostsDuringWeek(int postId, User user) {
-        LocalDateTime lastWeek = LocalDateTime.now().minusWeeks(1);
-        String lastWeekDay = lastWeek.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-
-        List<Post> popularPosts = postRepository.findPopularPostsDuringWeek(lastWeekDay);
+        List<Integer> popularPostIds = popularPostRanking.findPostIdsAfter(postId, POST_COUNT);
 
-        List<Image> images = findImagesOfPopularPostsFromPostId(popularPosts, postId);
+        List<Image> images = imageRepository.getImagesByPostIds(popularPostIds);
         return new LoginPostsResponse.LoginPostsResponseBuilder()
                 .nickname(user.getNickname())
                 .images(images)
+                .likedPostIds(findLikedPostIds(user, images))
                 .build();
     }
 
-    private List<Image> findImagesOfPopularPostsFromPostId(List<Post> posts, int postId) {
-        int idx, curIdx;
-
-        if (postId == 0) {
-            idx = curIdx = 0;
-        }
-        else {
-            for (idx = 0; idx < posts.size(); idx++) {
-                if (posts.get(idx).getId() == postId) {
-                    break;
-                }
-            }
-            curIdx = ++idx;
-        }
-
-        List<Image> images = new ArrayList<>();
-        for (; idx < curIdx + POST_COUNT && idx < posts.size(); idx++) {
-            Image image = imageRepository.getImageByPostId(posts.get(idx).getId());
-            images.add(image);
-        }
-
-        return images;
+    // 피드의 게시글마다 좋아요 여부를 다시 조회하지 않도록 한 번에 담아 보낸다
+    private List<Integer> findLikedPostIds(User user, List<Image> images) {
+        List<Integer> postIds = images.stream().map(Image::getPostId).collect(Collectors.toList());
+        return likeRepository.findLikedPostIds(user.getId(), postIds);
     }
 
     public PostsSearchResponse searchByTags(String hashtags, String type, String model, int postId) {
         postId = initPostId(postId);
+        List<String> tagNames = splitHashtags(hashtags);
 
-        List<Post> posts = new ArrayList<>();
-        if (type != null) {
-            posts.addAll(postRepository.searchByType(type));
+        // 검색 조건이 하나도 없으면 검색 결과도 없다
+        if (type == null && model == null && tagNames.isEmpty()) {
+            return new PostsSearchResponse(new ArrayList<>());
         }
-        logger.debug("size: {}", posts.size());
 
-        if (model != null && isNeedToSearch(type, posts.size())) {
-            findPostsOfModelTag(model, posts);
-        }
-        logger.debug("size: {}", posts.size());
-
-        if (hashtags != null && isNeedToSearch(type, model, posts.size())) {
-            findPostsOfHashTag(hashtags, posts);
-        }
-        logger.debug("size: {}", posts.size());
+        List<Integer> postIds = postTagIndex.isAvailable()
+                ? postTagIndex.search(type, model, tagNames, postId, POST_COUNT)
+                : postRepository.searchPostIdsByTags(type, model, tagNames, postId, POST_COUNT);
+        logger.debug("size: {}", postIds.size());
 
-        List<Image> images = findImagesOfPostsFromPostId(posts, postId);
+        List<Image> images = imageRepository.getImagesByPostIds(postIds);
         return new PostsSearchResponse(images);
     }
 
-    private void findPostsOfModelTag(String model, List<Post> posts) {
-        if (posts.size() == 0) {
-            posts.addAll(postRepository.searchByModel(model));
-            return;
-        }
-        posts.retainAll(postRepository.searchByModel(model));
-    }
-
-    private void findPostsOfHashTag(String hashtags, List<Post> posts) {
-        String[] tagNames = hashtags.split(" ");
-        logger.debug("tagName: {}", tagNames[0]);
-
-        if (posts.size() == 0) {
-            posts.addAll(postRepository.searchByHashtag(tagNames[0]));
-        } else {
-            posts.retainAll(postRepository.searchByHashtag(tagNames[0]));
-        }
-
-        for (int idx = 1; idx < tagNames.length; idx++) {
-            logger.debug("tagName: {}", tagNames[idx]);
-            posts.retainAll(postRepository.searchByHashtag(tagNames[idx]));
+    private List<String> splitHashtags(String hashtags) {
+        if (hashtags == null) {
+            return new ArrayList<>();
         }
-    }
-
-    // 타입 태그가 있는데 검색 결과가 0인 경우, 해당하는 게시물이 없으니 모델 태그로 검색할 필요가 없다
-    private boolean isNeedToSearch(String type, int size) {
-        return !(type != null && size == 0);
-    }
-
-    // 타입 태그나 모델 태그가 있는데 검색 결과가 0인 경우, 해당하는 게시물이 없으니 해시태그로 검색할 필요가 없다
-    private boolean isNeedToSearch(String type, String model, int size) {
-        return !((type != null || model != null) && size == 0);
-    }
-
-    private List<Image> findImagesOfPostsFromPostId(List<Post> posts, int postId) {
-        int idx = 0;
-        for (; idx < posts.size(); idx++) {
-            if (posts.get(idx).getId() < postId) {
-                break;
+        Set<String> tagNames = new LinkedHashSet<>();
+        for (String tagName : hashtags.split(" ")) {
+            if (!tagName.isBlank()) {
+                tagNames.add(tagName);
             }
         }
-        
-        List<Image> images = new ArrayList<>();
-        int curIdx = idx;
-        for (; idx < curIdx + POST_COUNT && idx < posts.size(); idx++) {
-            Image image = imageRepository.getImageByPostId(posts.get(idx).getId());
-            images.add(image);
-        }
-
-        return images;
+        logger.debug("tagNames: {}", tagNames);
+        return new ArrayList<>(tagNames);
     }
 
     public MyProfileResponse myProfile(User loginUser) {
+        ProfileImagesResponse profileImages = findProfileImages(loginUser.getId(), 0);
         return new MyProfileResponse.MyProfileResponseBuilder()
                 .nickname(loginUser.getNickname())
                 .email(loginUser.getEmail())
                 .follower(followRepository.getFollowerCount(loginUser.getId()))
                 .following(followRepository.getFollowingCount(loginUser.getId()))
-                .images(imageRepository.findImagesByUserId(loginUser.getId()))
+                .images(profileImages.getImages())
+                .nextIndex(profileImages.getNextIndex())
+                .hasNext(profileImages.isHasNext())
                 .build();
     }
 
     public OtherProfileResponse otherProfile(User loginUser, String profileUserNickname) {
         User profileUser = userRepository.findUserByNickname(profileUserNickname);
+        ProfileImagesResponse profileImages = findProfileImages(profileUser.getId(), 0);
         return new OtherProfileResponse.OtherProfileResponseBuilder()
                 .nickname(profileUserNickname)
                 .email(profileUser.getEmail())
                 .follow(followRepository.isFollow(loginUser.getId(), profileUser.getId()))
                 .follower(followRepository.getFollowerCount(profileUser.getId()))
                 .following(followRepository.getFollowingCount(profileUser.getId()))
-                .images(imageRepository.findImagesByNickName(profileUserNickname))
+                .images(profileImages.getImages())
+                .nextIndex(profileImages.getNextIndex())
+                .hasNext(profileImages.isHasNext())
                 .build();
     }
 
-    @Transactional
+    // 프로필 다음 페이지, index 는 이전 페이지 마지막 게시글 id
+    public ProfileImagesResponse getProfileImages(String nickname, int index) {
+        User profileUser = userRepository.findUserByNickname(nickname);
+        return findProfileImages(profileUser.getId(), index);
+    }
+
+    // 한 장 더 조회해서 다음 페이지가 있는지 판단
+    private ProfileImagesResponse findProfileImages(int userId, int index) {
+        List<Image> images = index == 0
+                ? imageRepository.findImagesByUserId(userId, PROFILE_IMAGE_COUNT + 1)
+                : imageRepository.findImagesByUserIdBefore(userId, index, PROFILE_IMAGE_COUNT + 1);
+        boolean hasNext = images.size() > PROFILE_IMAGE_COUNT;
+        if (hasNext) {
+            images = images.subList(0, PROFILE_IMAGE_COUNT);
+        }
+        int nextIndex = images.isEmpty() ? 0 : images.get(images.size() - 1).getPostId();
+        return new ProfileImagesResponse(images, nextIndex, hasNext);
+    }
+
+    // 클라이언트가 이미지를 저장소에 직접 올릴 주소
+    public ImageUploadUrlResponse createImageUploadUrl(User loginUser, String fileName, String contentType) {
+        return directImageUploader.createUploadUrl(loginUser.getId(), fileName, contentType);
+    }
+
+    // 이미지는 커밋된 뒤에 따로 올리고, IMAGE 가 저장되어야 목록에 보인다
+    // 직접 올린 이미지(imageKey)는 올라가 있는지만 확인하고 게시글과 함께 저장한다
+    // 확인은 저장소에 요청을 보내므로 DB 연결을 잡기 전에 트랜잭션 밖에서 한다
     public Message createPost(NewPostForm newPostForm, User loginUser) {
+        String directImageUrl = newPostForm.getImageKey() == null
+                ? null
+                : directImageUploader.verify(loginUser.getId(), newPostForm.getImageKey());
+        return transactionTemplate.execute(status -> savePost(newPostForm, loginUser, directImageUrl));
+    }
+
+    private Message savePost(NewPostForm newPostForm, User loginUser, String directImageUrl) {
+        if (directImageUrl != null) {
+            directImageUploader.claim(newPostForm.getImageKey(), directImageUrl);
+        }
         Model model = tagRepository.findModelByName(newPostForm.getModel());
         int modelId = model.getId();
         Post post = new Post(loginUser.getId(), newPostForm.getContent(), modelId);
         int postId = postRepository.addPost(post);
         addPostHashtags(newPostForm.getHashtag(), postId);
-        String imageURL = "";
-        try {
-            imageURL = s3Repository.upload(newPostForm.getImage(), "images", postId);
-        } catch (IllegalArgumentException iae) {
-            throw iae;
+        List<String> hashtags = newPostForm.getHashtag();
+        updateHashtagPopularity(List.of(), hashtags);
+        if (directImageUrl != null) {
+            imageRepository.addImage(new Image(postId, directImageUrl));
+            indexPost(postRepository.findPostById(postId), modelId, hashtags);
+            return new Message("Post create success");
         }
-        Image image = new Image(postId, imageURL);
-        imageRepository.addImage(image);
+        postImageUploader.upload(newPostForm.getImage(), postId,
+                image -> publishPost(postId, modelId, hashtags, image),
+                () -> discardPost(postId));
         return new Message("Post create success");
     }
 
+    // 이미지를 끝내 올리지 못한 게시글은 보이지 않는 채로 남지 않도록 삭제한다
+    private void discardPost(int postId) {
+        Post post;
+        try {
+            post = postRepository.findPostById(postId);
+        } catch (PostNotExistException e) {
+            return;
+        }
+        removePost(post);
+    }
+
+    private void publishPost(int postId, int modelId, List<String> hashtags, Image image) {
+        // 게시글 행을 먼저 잠가 deletePost 와 차례로 실행되게 한다
+        // 업로드 중에 삭제된 게시글은 deletePost 가 이미 이미지 행을 회수했으므로 올린 이미지만 회수한다
+        Post post;
+        try {
+            post = postRepository.findPostByIdForUpdate(postId);
+        } catch (PostNotExistException e) {
+            postImageUploader.release(image);
+            return;
+        }
+        // 업로드 중에 수정된 게시글이면 수정한 이미지가 먼저 저장되어 있으므로 그대로 둔다
+        if (!imageRepository.addImageIfAbsent(image)) {
+            postImageUploader.release(image);
+        }
+        indexPost(post, modelId, hashtags);
+    }
+
+    // 색인, 인기글, 타임라인은 커밋된 뒤에 반영되어 롤백된 게시글이 보이지 않는다
+    private void indexPost(Post post, int modelId, List<String> hashtags) {
+        postTagIndex.addPost(post.getId(), modelId, hashtags);
+        TransactionUtils.runAfterCommit(popularPostRanking::markChanged);
+        homeTimeline.addPost(post);
+    }
+
     public PostDetailResponse getPostDetails(int postId, User user) {
+        // 사용자와 무관한 내용은 캐시에서, 좋아요 여부만 요청마다 조회
+        CachedPostDetail postDetail = postDetailCache.get(postId);
+        boolean isLike;
+        if (postDetail == null) {
+            // 조회하는 사이 수정되거나 좋아요 수가 바뀌면 읽어 온 내용을 캐시하지 않는다
+            long version = postDetailCache.version(postId);
+            PostDetail loaded = postRepository.findPostDetailById(postId, user.getId());
+            postDetail = loadPostDetail(loaded);
+            postDetailCache.put(postDetail, version);
+            isLike = loaded.isLike();
+        } else {
+            // 대부분은 좋아요하지 않은 글이므로 필터에 없으면 조회하지 않는다
+            isLike = likedPostFilter.mightContainLike(user.getId(), postId)
+                    && likeRepository.checkLike(user.getId(), postId);
+        }
         // 내가 쓴 글인지 남이 쓴 글인지 판단
-        Post post = postRepository.findPostById(postId);
-        boolean isMyPost = (post.getUserId() == user.getId());
-        List<String> hashtags = tagRepository.findHashtagsByPostId(postId);
-        List<Model> models = tagRepository.findModelByModelId(post.getModelId());
-        List<Type> types = tagRepository.findTypeById(models.get(0).getTypeId());
+        boolean isMyPost = (postDetail.getUserId() == user.getId());
         return new PostDetailResponse.PostDetailResponseBuilder()
                 .isMyPost(isMyPost)
-                .nickname(userRepository.findUserById(post.getUserId()).getNickname())
-                .imageUrl(imageRepository.getImageByPostId(postId).getImageUrl())
-                .isLike(likeRepository.checkLike(user.getId(), postId))
-                .likeCount(post.getLikeCount())
-                .createDate(dateToString(post.getCreateDate()))
-                .updateDate(dateToString(post.getUpdateDate()))
-                .hashtags(hashtags)
-                .model(models.get(0).getTag())
-                .type(types.get(0).getTag())
-                .content(post.getContent())
+                .nickname(postDetail.getNickname())
+                .imageUrl(postDetail.getImageUrl())
+                .isLike(isLike)
+                .likeCount(postDetail.getLikeCount())
+                .createDate(dateToString(postDetail.getCreateDate()))
+                .updateDate(dateToString(postDetail.getUpdateDate()))
+                .hashtags(postDetail.getHashtags())
+                .model(postDetail.getModel())
+                .type(postDetail.getType())
+                .content(postDetail.getContent())
                 .build();
     }
 
+    // 게시글, 작성자, 이미지는 한 번에, 해시태그는 따로 조회
+    private CachedPostDetail loadPostDetail(PostDetail postDetail) {
+        Post post = postDetail.getPost();
+        List<String> hashtags = tagRepository.findHashtagsByPostId(post.getId());
+        List<Model> models = tagRepository.findModelByModelId(post.getModelId());
+        List<Type> types = tagRepository.findTypeById(models.get(0).getTypeId());
+        CachedPostDetail cached = new CachedPostDetail(postDetail, hashtags, models.get(0).getTag(), types.get(0).getTag());
+        // 아직 POST 에 반영되지 않은 좋아요 수를 더한다
+        cached.addLikeCount(likeCountBuffer.getPendingCount(post.getId()));
+        return cached;
+    }
+
     private String dateToString(Timestamp date) {
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
         return sdf.format(date);
@@ -272,24 +355,31 @@ public class PostService {
                 modelId
         );
         postRepository.updatePost(post);
+        List<String> oldHashtags = tagRepository.findHashtagsByPostId(postId);
         tagRepository.deletePostHashtags(postId);
         addPostHashtags(modifiedPostForm.getHashtag(), postId);
-        Image oldImage = imageRepository.getImageByPostId(postId);
-        s3Repository.deleteS3(getAWSFileName(oldImage));
-        String imageURL = "";
-        try {
-            imageURL = s3Repository.upload(modifiedPostForm.getImage(), "images", postId);
-        } catch (IllegalArgumentException iae) {
-            throw iae;
-        }
-        Image newImage = new Image(postId, imageURL);
-        imageRepository.updateImage(newImage);
+        updateHashtagPopularity(oldHashtags, modifiedPostForm.getHashtag());
+        postTagIndex.addPost(postId, modelId, modifiedPostForm.getHashtag());
+        postDetailCache.evict(postId);
+        // 새 이미지가 올라갈 때까지는 이전 이미지를 보여 주고, 끝내 올리지 못하면 그대로 둔다
+        postImageUploader.upload(modifiedPostForm.getImage(), postId,
+                this::replaceImage,
+                () -> { });
         return new Message("Post modify success");
     }
 
-    private String getAWSFileName(Image image) {
-        String imageURL = image.getImageUrl();
-        return imageURL.split("amazonaws\\.com/")[1];
+    // 이전 이미지는 수정할 때가 아니라 바꾸는 시점에 읽어서, 수정이 겹쳐도 이미지마다 한 번씩만 회수한다
+    // 처음 올린 이미지가 아직 올라가는 중이면 새 이미지를 먼저 저장하고, publishPost 는 그 이미지를 그대로 둔다
+    // 업로드 중에 삭제된 게시글이면 저장하지 않고 새 이미지를 회수한다
+    private void replaceImage(Image newImage) {
+        try {
+            postRepository.findPostByIdForUpdate(newImage.getPostId());
+        } catch (PostNotExistException e) {
+            postImageUploader.release(newImage);
+            return;
+        }
+        imageRepository.replaceImage(newImage).ifPresent(postImageUploader::release);
+        postDetailCache.evict(newImage.getPostId());
     }
 
     private void addPostHashtags(List<String> tagNames, int postId) {
@@ -299,11 +389,23 @@ public class PostService {
                 tagId = tagRepository.findHashtagByName(tagName).getId();
             } catch (HashtagNotExistException hne) {
                 tagId = tagRepository.addHashtag(new Hashtag(tagName));
+                tagAutocompleteIndex.addHashtag(new Hashtag(tagId, tagName));
             }
             tagRepository.addPostHashtag(postId, tagId);
         }
     }
 
+    // 인기도는 해시태그가 달린 게시글 수이므로 새로 달린 태그만 올리고 빠진 태그는 내린다
+    private void updateHashtagPopularity(List<String> oldTagNames, List<String> newTagNames) {
+        Set<String> added = new LinkedHashSet<>(newTagNames);
+        added.removeAll(oldTagNames);
+        Set<String> removed = new LinkedHashSet<>(oldTagNames);
+        removed.removeAll(newTagNames);
+        added.forEach(tagAutocompleteIndex::increaseHashtagPopularity);
+        removed.forEach(tagAutocompleteIndex::decreaseHashtagPopularity);
+    }
+
+    @Transactional
     public Message deletePost(int postId, User user) {
         // 사용자가 작성한 글인지 확인
         Post post = postRepository.findPostById(postId);
@@ -315,11 +417,26 @@ public class PostService {
          */
         invalidPostAccessCheck(post, user);
         // 게시글 삭제 진행
-        postRepository.deletePostById(postId);
+        removePost(post);
 
         return new Message("Post Deleted Successfully");
     }
 
+    private void removePost(Post post) {
+        int postId = post.getId();
+        // 이미 삭제된 게시글이면 인기도와 이미지를 다시 정리하지 않는다
+        if (!postRepository.deletePostById(postId)) {
+            return;
+        }
+        updateHashtagPopularity(tagRepository.findHashtagsByPostId(postId), List.of());
+        // 이미지가 아직 올라가는 중이면 업로드가 끝난 뒤 publishPost 에서 회수한다
+        imageRepository.removeImage(postId).ifPresent(postImageUploader::release);
+        popularPostRanking.markChanged();
+        postTagIndex.removePost(postId);
+        postDetailCache.evict(postId);
+        homeTimeline.removePost(postId, post.getUserId());
+    }
+
     private void invalidPostAccessCheck(Post post, User user){
         if (!(post.getUserId() == user.getId()))
             throw new InvalidPostAccessException();
@@ -0,0 +1,232 @@
+package softeer.carbook.domain.post.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import softeer.carbook.domain.post.model.TaggedPost;
+import softeer.carbook.domain.post.repository.PostRepository;
+import softeer.carbook.domain.tag.model.Model;
+import softeer.carbook.domain.tag.model.Type;
+import softeer.carbook.domain.tag.repository.TagRepository;
+import softeer.carbook.global.util.TransactionUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 타입 id, 모델 id, 해시태그 -> 게시글 id 정렬 배열 역색인
+// carbook.search.index.enabled=false 이거나 아직 만들어지지 않았으면 SQL 검색을 사용한다
+@Component
+public class PostTagIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostTagIndex.class);
+    private static final int[] EMPTY = new int[0];
+    private final PostRepository postRepository;
+    private final TagRepository tagRepository;
+    private final boolean enabled;
+    private volatile boolean built = false;
+
+    private final Map<Integer, int[]> postIdsByTypeId = new ConcurrentHashMap<>();
+    private final Map<Integer, int[]> postIdsByModelId = new ConcurrentHashMap<>();
+    private final Map<String, int[]> postIdsByHashtag = new ConcurrentHashMap<>();
+    private final Map<Integer, TaggedPost> taggedPosts = new ConcurrentHashMap<>();
+    private volatile Map<String, Integer> typeIdByName = new HashMap<>();
+    private volatile Map<String, Model> modelByName = new HashMap<>();
+    private volatile Map<Integer, Model> modelById = new HashMap<>();
+
+    @Autowired
+    public PostTagIndex(
+            PostRepository postRepository,
+            TagRepository tagRepository,
+            @Value("${carbook.search.index.enabled:false}") boolean enabled) {
+        this.postRepository = postRepository;
+        this.tagRepository = tagRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isAvailable() {
+        return enabled && built;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            build();
+        }
+    }
+
+    public synchronized void build() {
+        built = false;
+        loadModels();
+        postIdsByTypeId.clear();
+        postIdsByModelId.clear();
+        postIdsByHashtag.clear();
+        taggedPosts.clear();
+
+        Map<Integer, List<Integer>> typeEntries = new HashMap<>();
+        Map<Integer, List<Integer>> modelEntries = new HashMap<>();
+        Map<String, List<Integer>> hashtagEntries = new HashMap<>();
+        List<TaggedPost> posts = postRepository.findAllTaggedPosts();
+        for (TaggedPost post : posts) {
+            taggedPosts.put(post.getPostId(), post);
+            modelEntries.computeIfAbsent(post.getModelId(), key -> new ArrayList<>()).add(post.getPostId());
+            Model model = modelById.get(post.getModelId());
+            if (model != null) {
+                typeEntries.computeIfAbsent(model.getTypeId(), key -> new ArrayList<>()).add(post.getPostId());
+            }
+            for (String hashtag : post.getHashtags()) {
+                hashtagEntries.computeIfAbsent(hashtag, key -> new ArrayList<>()).add(post.getPostId());
+            }
+        }
+        typeEntries.forEach((key, postIds) -> postIdsByTypeId.put(key, toSortedArray(postIds)));
+        modelEntries.forEach((key, postIds) -> postIdsByModelId.put(key, toSortedArray(postIds)));
+        hashtagEntries.forEach((key, postIds) -> postIdsByHashtag.put(key, toSortedArray(postIds)));
+        built = true;
+        logger.info("post tag index built: {} posts", posts.size());
+    }
+
+    // 모든 조건을 만족하는 게시글 중 postId 미만인 것을 id 내림차순으로 size 만큼
+    public List<Integer> search(String type, String model, List<String> hashtags, int postId, int size) {
+        List<int[]> conditions = new ArrayList<>();
+        if (type != null) {
+            conditions.add(postIdsOf(postIdsByTypeId, typeIdByName.get(type)));
+        }
+        if (model != null) {
+            Model found = modelByName.get(model);
+            conditions.add(postIdsOf(postIdsByModelId, found == null ? null : found.getId()));
+        }
+        for (String hashtag : hashtags) {
+            conditions.add(postIdsOf(postIdsByHashtag, hashtag));
+        }
+        if (conditions.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // 가장 작은 집합을 기준으로 나머지 집합에 모두 포함되는지 이진 탐색
+        conditions.sort(Comparator.comparingInt(postIds -> postIds.length));
+        int[] smallest = conditions.get(0);
+        int pos = Arrays.binarySearch(smallest, postId);
+        int idx = (pos >= 0 ? pos : -pos - 1) - 1;
+
+        List<Integer> result = new ArrayList<>();
+        for (; idx >= 0 && result.size() < size; idx--) {
+            if (containsInAll(conditions, smallest[idx])) {
+                result.add(smallest[idx]);
+            }
+        }
+        return result;
+    }
+
+    public void addPost(int postId, int modelId, List<String> hashtags) {
+        if (!enabled) {
+            return;
+        }
+        TaggedPost post = new TaggedPost(postId, modelId, new ArrayList<>(hashtags));
+        // 커밋된 뒤에 반영해서 롤백된 게시글이 색인되지 않도록 한다
+        TransactionUtils.runAfterCommit(() -> index(post));
+    }
+
+    public void removePost(int postId) {
+        if (!enabled) {
+            return;
+        }
+        TransactionUtils.runAfterCommit(() -> unindex(postId));
+    }
+
+    private synchronized void index(TaggedPost post) {
+        unindex(post.getPostId());
+        taggedPosts.put(post.getPostId(), post);
+        insert(postIdsByModelId, post.getModelId(), post.getPostId());
+        Model model = modelById.get(post.getModelId());
+        if (model != null) {
+            insert(postIdsByTypeId, model.getTypeId(), post.getPostId());
+        }
+        for (String hashtag : post.getHashtags()) {
+            insert(postIdsByHashtag, hashtag, post.getPostId());
+        }
+    }
+
+    private synchronized void unindex(int postId) {
+        TaggedPost old = taggedPosts.remove(postId);
+        if (old == null) {
+            return;
+        }
+        delete(postIdsByModelId, old.getModelId(), postId);
+        Model model = modelById.get(old.getModelId());
+        if (model != null) {
+            delete(postIdsByTypeId, model.getTypeId(), postId);
+        }
+        for (String hashtag : old.getHashtags()) {
+            delete(postIdsByHashtag, hashtag, postId);
+        }
+    }
+
+    private void loadModels() {
+        Map<String, Integer> types = new HashMap<>();
+        for (Type type : tagRepository.findAllTypes()) {
+            types.put(type.getTag(), type.getId());
+        }
+        Map<String, Model> modelsByName = new HashMap<>();
+        Map<Integer, Model> modelsById = new HashMap<>();
+        for (Model model : tagRepository.findAllModels()) {
+            modelsByName.put(model.getTag(), model);
+            modelsById.put(model.getId(), model);
+        }
+        typeIdByName = types;
+        modelByName = modelsByName;
+        modelById = modelsById;
+    }
+
+    private static <K> int[] postIdsOf(Map<K, int[]> index, K key) {
+        if (key == null) {
+            return EMPTY;
+        }
+        return index.getOrDefault(key, EMPTY);
+    }
+
+    private static boolean containsInAll(List<int[]> conditions, int postId) {
+        for (int idx = 1; idx < conditions.size(); idx++) {
+            if (Arrays.binarySearch(conditions.get(idx), postId) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <K> void insert(Map<K, int[]> index, K key, int postId) {
+        int[] postIds = index.getOrDefault(key, EMPTY);
+        int pos = Arrays.binarySearch(postIds, postId);
+        if (pos >= 0) {
+            return;
+        }
+        int insertAt = -pos - 1;
+        int[] newPostIds = new int[postIds.length + 1];
+        System.arraycopy(postIds, 0, newPostIds, 0, insertAt);
+        newPostIds[insertAt] = postId;
+        System.arraycopy(postIds, insertAt, newPostIds, insertAt + 1, postIds.length - insertAt);
+        index.put(key, newPostIds);
+    }
+
+    private static <K> void delete(Map<K, int[]> index, K key, int postId) {
+        int[] postIds = index.getOrDefault(key, EMPTY);
+        int pos = Arrays.binarySearch(postIds, postId);
+        if (pos < 0) {
+            return;
+        }
+        if (postIds.length == 1) {
+            index.remove(key);
+            return;
+        }
+        int[] newPostIds = new int[postIds.length - 1];
+        System.arraycopy(postIds, 0, newPostIds, 0, pos);
+        System.arraycopy(postIds, pos + 1, newPostIds, pos, postIds.length - pos - 1);
+        index.put(key, newPostIds);
+    }
+
+    private static int[] toSortedArray(List<Integer> postIds) {
+        return postIds.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+    }
+}
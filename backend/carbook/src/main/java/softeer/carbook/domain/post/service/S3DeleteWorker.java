@@ -0,0 +1,126 @@
+package softeer.carbook.domain.post.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import softeer.carbook.domain.post.repository.ImageObjectRepository;
+import softeer.carbook.domain.post.repository.ObjectStore;
+import softeer.carbook.domain.post.repository.S3DeleteQueueRepository;
+
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// S3_DELETE_QUEUE 에 쌓인 키를 주기적으로 batch-size 개씩 한 번의 요청으로 지운다
+// 큐에 들어간 뒤 delay-ms 가 지난 키만 지워서, 그 사이 같은 내용이 다시 올라오면 지우지 않는다
+// 참조가 없는 IMAGE_OBJECT 행은 먼저 지우는 중으로 표시해, S3 에 요청하는 동안 같은 내용이 다시 올라오지 않게 한다
+// S3 요청은 트랜잭션 밖에서 보내서, 응답을 기다리는 동안 DB 연결과 행 잠금을 잡고 있지 않는다
+@Component
+public class S3DeleteWorker {
+
+    // S3 다중 객체 삭제 한 번에 보낼 수 있는 최대 키 수
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final Logger logger = LoggerFactory.getLogger(S3DeleteWorker.class);
+    private final S3DeleteQueueRepository s3DeleteQueueRepository;
+    private final ImageObjectRepository imageObjectRepository;
+    private final ObjectStore objectStore;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long delayMillis;
+
+    @Autowired
+    public S3DeleteWorker(
+            S3DeleteQueueRepository s3DeleteQueueRepository,
+            ImageObjectRepository imageObjectRepository,
+            ObjectStore objectStore,
+            TransactionTemplate transactionTemplate,
+            @Value("${carbook.s3.delete-batch-size:1000}") int batchSize,
+            @Value("${carbook.s3.delete-delay-ms:60000}") long delayMillis) {
+        this.s3DeleteQueueRepository = s3DeleteQueueRepository;
+        this.imageObjectRepository = imageObjectRepository;
+        this.objectStore = objectStore;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.min(batchSize, MAX_BATCH_SIZE);
+        this.delayMillis = delayMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${carbook.s3.delete-interval-ms:10000}")
+    public void drain() {
+        Timestamp before = new Timestamp(System.currentTimeMillis() - delayMillis);
+        List<String> keys;
+        do {
+            keys = s3DeleteQueueRepository.findKeys(before, batchSize);
+            if (!deleteBatch(keys)) {
+                return;
+            }
+        } while (keys.size() == batchSize);
+    }
+
+    // 실패한 키는 큐에 남겨 다음 주기에 다시 시도한다
+    // 큐에 들어간 뒤 다시 참조된 객체는 지우지 않고 큐에서만 뺀다
+    private boolean deleteBatch(List<String> keys) {
+        if (keys.isEmpty()) {
+            return true;
+        }
+        List<String> unreferenced;
+        List<String> failed;
+        try {
+            Set<String> referenced = imageObjectRepository.markDeleting(
+                    keys.stream().map(objectStore::getUrl).collect(Collectors.toList()));
+            unreferenced = keys.stream()
+                    .filter(key -> !referenced.contains(objectStore.getUrl(key)))
+                    .collect(Collectors.toList());
+        } catch (RuntimeException e) {
+            logger.warn("failed to delete {} s3 objects", keys.size(), e);
+            return false;
+        }
+        try {
+            failed = objectStore.delete(unreferenced);
+        } catch (RuntimeException e) {
+            logger.warn("failed to delete {} s3 objects", keys.size(), e);
+            clearDeleting(unreferenced);
+            return false;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> removeDeleted(keys, unreferenced, failed));
+        } catch (RuntimeException e) {
+            logger.warn("failed to remove {} deleted s3 objects from queue", keys.size(), e);
+            return false;
+        }
+        if (!failed.isEmpty()) {
+            logger.warn("failed to delete {} of {} s3 objects", failed.size(), unreferenced.size());
+            return false;
+        }
+        return true;
+    }
+
+    // 다 지운 IMAGE_OBJECT 행은 함께 지우고, 지우지 못했거나 다른 배치에 남은 객체가 있는 행은 표시를 푼다
+    private void removeDeleted(List<String> keys, List<String> unreferenced, List<String> failed) {
+        Set<String> failedKeys = new HashSet<>(failed);
+        imageObjectRepository.removeReleased(unreferenced.stream()
+                .filter(key -> !failedKeys.contains(key))
+                .map(objectStore::getUrl)
+                .collect(Collectors.toList()));
+        imageObjectRepository.clearDeleting(unreferenced.stream()
+                .map(objectStore::getUrl)
+                .collect(Collectors.toList()));
+        s3DeleteQueueRepository.remove(keys.stream()
+                .filter(key -> !failedKeys.contains(key))
+                .collect(Collectors.toList()));
+    }
+
+    // 표시를 풀지 못해도 키가 큐에 남아 있으므로 다음 주기에 다시 지우면서 정리된다
+    private void clearDeleting(List<String> keys) {
+        try {
+            imageObjectRepository.clearDeleting(keys.stream().map(objectStore::getUrl).collect(Collectors.toList()));
+        } catch (RuntimeException e) {
+            logger.warn("failed to clear deleting mark of {} image objects", keys.size(), e);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package softeer.carbook.domain.tag.repository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
@@ -14,18 +17,43 @@ import softeer.carbook.domain.tag.model.Type;
 import javax.sql.DataSource;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
 public class TagRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    // TYPE, MODEL 은 거의 바뀌지 않으므로 메모리에 올려두고 조회한다
+    private volatile ReferenceTags referenceTags;
 
     @Autowired
     public TagRepository(DataSource dataSource) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
     }
 
+    @EventListener(ApplicationReadyEvent.class)
+    public void preloadReferenceTags() {
+        reloadReferenceTags();
+    }
+
+    // TYPE, MODEL 테이블이 바뀐 경우 호출
+    public synchronized void reloadReferenceTags() {
+        referenceTags = new ReferenceTags(
+                jdbcTemplate.query("SELECT t.id, t.tag FROM TYPE t", typeRowMapper()),
+                jdbcTemplate.query("SELECT m.id, m.type_id, m.tag FROM MODEL m", modelRowMapper()));
+    }
+
+    private ReferenceTags referenceTags() {
+        ReferenceTags current = referenceTags;
+        if (current == null) {
+            reloadReferenceTags();
+            current = referenceTags;
+        }
+        return current;
+    }
+
     public Hashtag findHashtagById(int id) {
         List<Hashtag> hashtags = jdbcTemplate.query("SELECT h.id, h.tag FROM HASHTAG h WHERE id = ?", hashtagRowMapper(), id);
         return hashtags.stream()
@@ -41,17 +69,11 @@ public class TagRepository {
     }
 
     public List<Type> findTypeById(int id) {
-        return jdbcTemplate.query(
-                "select id, tag from TYPE where id = ?",
-                typeRowMapper(), id
-        );
+        return toList(referenceTags().typesById.get(id));
     }
 
     public List<Model> findModelByModelId(int modelId) {
-        return jdbcTemplate.query(
-                "SELECT id, type_id, tag FROM MODEL " +
-                        "WHERE id = ?",
-                modelRowMapper(), modelId);
+        return toList(referenceTags().modelsById.get(modelId));
     }
 
     public List<String> findHashtagsByPostId(int postId) {
@@ -64,34 +86,58 @@ public class TagRepository {
     }
 
     public List<Type> searchTypeByPrefix(String keyword) {
-        return jdbcTemplate.query("SELECT t.id, t.tag FROM TYPE t WHERE tag LIKE '" + convertWildCharToRealChar(keyword), typeRowMapper());
+        return filterByPrefix(referenceTags().types, Type::getTag, keyword);
     }
 
     public List<Model> searchModelByPrefix(String keyword) {
-        return jdbcTemplate.query("SELECT m.id, m.type_id, m.tag FROM MODEL m WHERE tag LIKE '" + convertWildCharToRealChar(keyword), modelRowMapper());
+        return filterByPrefix(referenceTags().models, Model::getTag, keyword);
     }
 
     public List<Hashtag> searchHashtagByPrefix(String keyword) {
-        return jdbcTemplate.query("SELECT h.id, h.tag FROM HASHTAG h WHERE tag LIKE '" + convertWildCharToRealChar(keyword), hashtagRowMapper());
+        return jdbcTemplate.query("SELECT h.id, h.tag FROM HASHTAG h WHERE tag LIKE ? ESCAPE '!'", hashtagRowMapper(), convertWildCharToRealChar(keyword));
     }
 
     public List<Type> findAllTypes() {
-        return jdbcTemplate.query("SELECT t.id, t.tag FROM TYPE t", typeRowMapper());
+        return referenceTags().types;
     }
 
     public List<Model> findAllModels() {
-        return jdbcTemplate.query("SELECT m.id, m.type_id, m.tag FROM MODEL m", modelRowMapper());
+        return referenceTags().models;
+    }
+
+    public List<Hashtag> findAllHashtags() {
+        return jdbcTemplate.query("SELECT h.id, h.tag FROM HASHTAG h", hashtagRowMapper());
+    }
+
+    public Map<Integer, Integer> countPostsByModelId() {
+        return countPosts("SELECT p.model_id AS tag_id, COUNT(*) AS post_count FROM POST p " +
+                "WHERE p.is_deleted = false GROUP BY p.model_id");
+    }
+
+    public Map<Integer, Integer> countPostsByHashtagId() {
+        return countPosts("SELECT ph.tag_id, COUNT(*) AS post_count FROM POST_HASHTAG ph " +
+                "INNER JOIN POST p ON ph.post_id = p.id " +
+                "WHERE p.is_deleted = false GROUP BY ph.tag_id");
+    }
+
+    private Map<Integer, Integer> countPosts(String query) {
+        Map<Integer, Integer> postCounts = new HashMap<>();
+        RowCallbackHandler handler = rs -> postCounts.put(rs.getInt("tag_id"), rs.getInt("post_count"));
+        jdbcTemplate.query(query, handler);
+        return postCounts;
     }
 
     public Model findModelByName(String tag){
-        return jdbcTemplate.query("SELECT m.id, m.type_id, m.tag FROM MODEL m WHERE m.tag = ?", modelRowMapper(), tag).get(0);
+        return Optional.ofNullable(referenceTags().modelsByName.get(tag))
+                .orElseThrow(() -> new IllegalArgumentException("ERROR: Model not exist"));
     }
 
+    // LIKE 접두어 검색 패턴, 와일드카드 문자와 escape 문자는 일반 문자로 취급
     public String convertWildCharToRealChar(String oldStr) {
-        String newStr = oldStr.replaceAll("%", "!%");
-        newStr = newStr.replaceAll("_", "!_");
-        newStr += "%' ESCAPE '!'";
-        return newStr;
+        String newStr = oldStr.replace("!", "!!");
+        newStr = newStr.replace("%", "!%");
+        newStr = newStr.replace("_", "!_");
+        return newStr + "%";
     }
 
     public int addHashtag(Hashtag hashtag){
@@ -115,6 +161,19 @@ public class TagRepository {
         jdbcTemplate.update("delete from POST_HASHTAG where post_id=?",postId);
     }
 
+    private <T> List<T> toList(T tag) {
+        return tag == null ? List.of() : List.of(tag);
+    }
+
+    // DB 의 LIKE 'keyword%' 와 같이 대소문자를 구분하지 않는 접두어 검색
+    private <T> List<T> filterByPrefix(List<T> tags, Function<T, String> tagOf, String keyword) {
+        String prefix = keyword.toLowerCase(Locale.ROOT);
+        return tags.stream()
+                .filter(tag -> tagOf.apply(tag) != null)
+                .filter(tag -> tagOf.apply(tag).toLowerCase(Locale.ROOT).startsWith(prefix))
+                .collect(Collectors.toList());
+    }
+
     private RowMapper<Type> typeRowMapper() {
         return (rs, rowNum) -> new Type(
                 rs.getInt("id"),
@@ -141,4 +200,26 @@ public class TagRepository {
         return ((rs, rowNum) -> rs.getString("tag"));
     }
 
+    private static class ReferenceTags {
+        private final List<Type> types;
+        private final List<Model> models;
+        private final Map<Integer, Type> typesById;
+        private final Map<Integer, Model> modelsById;
+        // DB 의 = 비교처럼 대소문자를 구분하지 않는다
+        private final Map<String, Model> modelsByName;
+
+        private ReferenceTags(List<Type> types, List<Model> models) {
+            this.types = List.copyOf(types);
+            this.models = List.copyOf(models);
+            this.typesById = types.stream()
+                    .collect(Collectors.toUnmodifiableMap(Type::getId, type -> type));
+            this.modelsById = models.stream()
+                    .collect(Collectors.toUnmodifiableMap(Model::getId, model -> model));
+            this.modelsByName = Collections.unmodifiableMap(models.stream()
+                    .filter(model -> model.getTag() != null)
+                    .collect(Collectors.toMap(Model::getTag, model -> model, (first, second) -> first,
+                            () -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER))));
+        }
+    }
+
 }
@@ -0,0 +1,81 @@
+package softeer.carbook.domain.tag.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import softeer.carbook.domain.tag.model.Hashtag;
+import softeer.carbook.domain.tag.model.Model;
+import softeer.carbook.domain.tag.model.Type;
+import softeer.carbook.domain.tag.repository.TagRepository;
+import softeer.carbook.global.util.TransactionUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 자동완성용 타입, 모델, 해시태그 접두어 인덱스
+// 애플리케이션 시작 시 한 번 불러오고, 새 해시태그는 커밋된 뒤에 추가한다
+@Component
+public class TagAutocompleteIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagAutocompleteIndex.class);
+    private final TagRepository tagRepository;
+    private final TagPrefixIndex<Type> types = new TagPrefixIndex<>(Type::getTag);
+    private final TagPrefixIndex<Model> models = new TagPrefixIndex<>(Model::getTag);
+    private final TagPrefixIndex<Hashtag> hashtags = new TagPrefixIndex<>(Hashtag::getTag);
+    private volatile boolean loaded = false;
+
+    @Autowired
+    public TagAutocompleteIndex(TagRepository tagRepository) {
+        this.tagRepository = tagRepository;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Model> allModels = tagRepository.findAllModels();
+        Map<Integer, Integer> postCountByModelId = tagRepository.countPostsByModelId();
+        Map<Integer, Integer> postCountByTypeId = new HashMap<>();
+        for (Model model : allModels) {
+            postCountByTypeId.merge(model.getTypeId(), postCountByModelId.getOrDefault(model.getId(), 0), Integer::sum);
+        }
+        Map<Integer, Integer> postCountByHashtagId = tagRepository.countPostsByHashtagId();
+
+        types.load(tagRepository.findAllTypes(), type -> postCountByTypeId.getOrDefault(type.getId(), 0));
+        models.load(allModels, model -> postCountByModelId.getOrDefault(model.getId(), 0));
+        List<Hashtag> allHashtags = tagRepository.findAllHashtags();
+        hashtags.load(allHashtags, hashtag -> postCountByHashtagId.getOrDefault(hashtag.getId(), 0));
+        loaded = true;
+        logger.info("tag autocomplete index loaded: {} hashtags", allHashtags.size());
+    }
+
+    public List<Type> searchTypes(String prefix, int limit) {
+        return types.search(prefix, limit);
+    }
+
+    public List<Model> searchModels(String prefix, int limit) {
+        return models.search(prefix, limit);
+    }
+
+    public List<Hashtag> searchHashtags(String prefix, int limit) {
+        return hashtags.search(prefix, limit);
+    }
+
+    public void addHashtag(Hashtag hashtag) {
+        TransactionUtils.runAfterCommit(() -> hashtags.add(hashtag, 0));
+    }
+
+    public void increaseHashtagPopularity(String tag) {
+        TransactionUtils.runAfterCommit(() -> hashtags.increasePopularity(tag));
+    }
+
+    public void decreaseHashtagPopularity(String tag) {
+        TransactionUtils.runAfterCommit(() -> hashtags.decreasePopularity(tag));
+    }
+}
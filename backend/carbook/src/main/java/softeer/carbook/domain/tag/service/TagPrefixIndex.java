@@ -0,0 +1,128 @@
+package softeer.carbook.domain.tag.service;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// 태그 이름(소문자) 오름차순 정렬 배열, 접두어의 시작 위치를 이진 탐색으로 찾는다
+// 검색 결과는 인기도(태그가 달린 게시글 수) 내림차순, 같으면 이름 오름차순
+public class TagPrefixIndex<T> {
+
+    private final Function<T, String> tagOf;
+    private volatile List<Entry<T>> entries = new ArrayList<>();
+
+    public TagPrefixIndex(Function<T, String> tagOf) {
+        this.tagOf = tagOf;
+    }
+
+    public synchronized void load(List<T> tags, Function<T, Integer> popularityOf) {
+        List<Entry<T>> loaded = new ArrayList<>();
+        for (T tag : tags) {
+            loaded.add(new Entry<>(tag, normalize(tagOf.apply(tag)), popularityOf.apply(tag)));
+        }
+        loaded.sort(Comparator.comparing(entry -> entry.key));
+        entries = loaded;
+    }
+
+    public synchronized void add(T tag, int popularity) {
+        String key = normalize(tagOf.apply(tag));
+        List<Entry<T>> current = entries;
+        int idx = lowerBound(current, key);
+        if (idx < current.size() && current.get(idx).key.equals(key)) {
+            return;
+        }
+        List<Entry<T>> added = new ArrayList<>(current.size() + 1);
+        added.addAll(current.subList(0, idx));
+        added.add(new Entry<>(tag, key, popularity));
+        added.addAll(current.subList(idx, current.size()));
+        entries = added;
+    }
+
+    public void increasePopularity(String tag) {
+        findEntry(tag).ifPresent(entry -> entry.popularity.incrementAndGet());
+    }
+
+    // 게시글에서 태그가 빠지면 호출, 0 아래로는 내려가지 않는다
+    public void decreasePopularity(String tag) {
+        findEntry(tag).ifPresent(entry -> entry.popularity.updateAndGet(popularity -> Math.max(popularity - 1, 0)));
+    }
+
+    private Optional<Entry<T>> findEntry(String tag) {
+        String key = normalize(tag);
+        List<Entry<T>> current = entries;
+        int idx = lowerBound(current, key);
+        if (idx < current.size() && current.get(idx).key.equals(key)) {
+            return Optional.of(current.get(idx));
+        }
+        return Optional.empty();
+    }
+
+    public List<T> search(String prefix, int limit) {
+        String key = normalize(prefix);
+        List<Entry<T>> current = entries;
+
+        // 인기도가 가장 낮은 후보가 head 에 오는 크기 limit 의 힙
+        Comparator<Candidate<T>> ranking = Comparator.<Candidate<T>>comparingInt(candidate -> candidate.popularity)
+                .reversed()
+                .thenComparing(candidate -> candidate.key);
+        PriorityQueue<Candidate<T>> top = new PriorityQueue<>(ranking.reversed());
+        for (int idx = lowerBound(current, key); idx < current.size() && current.get(idx).key.startsWith(key); idx++) {
+            Entry<T> entry = current.get(idx);
+            top.add(new Candidate<>(entry.tag, entry.key, entry.popularity.get()));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Candidate<T>> candidates = new ArrayList<>(top);
+        candidates.sort(ranking);
+        List<T> result = new ArrayList<>();
+        for (Candidate<T> candidate : candidates) {
+            result.add(candidate.tag);
+        }
+        return result;
+    }
+
+    private int lowerBound(List<Entry<T>> current, String key) {
+        int low = 0;
+        int high = current.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (current.get(mid).key.compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // MySQL 기본 collation 처럼 대소문자를 구분하지 않는다
+    private String normalize(String tag) {
+        return tag.toLowerCase(Locale.ROOT);
+    }
+
+    private static class Entry<T> {
+        private final T tag;
+        private final String key;
+        private final AtomicInteger popularity;
+
+        private Entry(T tag, String key, int popularity) {
+            this.tag = tag;
+            this.key = key;
+            this.popularity = new AtomicInteger(popularity);
+        }
+    }
+
+    private static class Candidate<T> {
+        private final T tag;
+        private final String key;
+        private final int popularity;
+
+        private Candidate(T tag, String key, int popularity) {
+            this.tag = tag;
+            this.key = key;
+            this.popularity = popularity;
+        }
+    }
+}
@@ -19,17 +19,20 @@ public class TagService {
     private static final Logger logger = LoggerFactory.getLogger(TagService.class);
 
     private final TagRepository tagRepository;
+    private final TagAutocompleteIndex tagAutocompleteIndex;
+    private final int SEARCH_LIMIT = 10;
 
     @Autowired
-    public TagService(TagRepository tagRepository) {
+    public TagService(TagRepository tagRepository, TagAutocompleteIndex tagAutocompleteIndex) {
         this.tagRepository = tagRepository;
+        this.tagAutocompleteIndex = tagAutocompleteIndex;
     }
 
     public TagSearchResopnse searchAllTags(String keyword) {
         logger.debug("keyword: {}",keyword);
-        List<Type> types = tagRepository.searchTypeByPrefix(keyword);
-        List<Model> models = tagRepository.searchModelByPrefix(keyword);
-        List<Hashtag> hashtags = tagRepository.searchHashtagByPrefix(keyword);
+        List<Type> types = searchTypes(keyword);
+        List<Model> models = searchModels(keyword);
+        List<Hashtag> hashtags = searchHashtags(keyword);
 
         List<TagSearchResult> results = types.stream()
                 .map(TagSearchResult::of)
@@ -46,11 +49,39 @@ public class TagService {
 
     public HashtagSearchResponse searchHashTag(String keyword) {
         logger.debug("keyword: {}",keyword);
-        List<Hashtag> hashtags = tagRepository.searchHashtagByPrefix(keyword);
+        List<Hashtag> hashtags = searchHashtags(keyword);
 
         return new HashtagSearchResponse(hashtags);
     }
 
+    // 자동완성 인덱스가 아직 준비되지 않았으면 DB 에서 검색
+    private List<Type> searchTypes(String keyword) {
+        if (tagAutocompleteIndex.isLoaded()) {
+            return tagAutocompleteIndex.searchTypes(keyword, SEARCH_LIMIT);
+        }
+        return limit(tagRepository.searchTypeByPrefix(keyword));
+    }
+
+    private List<Model> searchModels(String keyword) {
+        if (tagAutocompleteIndex.isLoaded()) {
+            return tagAutocompleteIndex.searchModels(keyword, SEARCH_LIMIT);
+        }
+        return limit(tagRepository.searchModelByPrefix(keyword));
+    }
+
+    private List<Hashtag> searchHashtags(String keyword) {
+        if (tagAutocompleteIndex.isLoaded()) {
+            return tagAutocompleteIndex.searchHashtags(keyword, SEARCH_LIMIT);
+        }
+        return limit(tagRepository.searchHashtagByPrefix(keyword));
+    }
+
+    private <T> List<T> limit(List<T> tags) {
+        return tags.stream()
+                .limit(SEARCH_LIMIT)
+                .collect(Collectors.toList());
+    }
+
     public TypesResponse findAllTypes() {
         return new TypesResponse(tagRepository.findAllTypes());
     }
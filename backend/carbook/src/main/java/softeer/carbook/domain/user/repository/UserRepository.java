@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import softeer.carbook.domain.follow.model.FollowNickname;
 import softeer.carbook.domain.user.dto.SignupForm;
 import softeer.carbook.domain.user.exception.IdNotExistException;
 import softeer.carbook.domain.user.exception.LoginEmailNotExistException;
@@ -75,18 +76,45 @@ public class UserRepository {
         );
     }
 
-    public List<String> getFollowingNicknames(String nickname){
+    public List<String> getFollowingNicknames(String nickname, int size){
         return jdbcTemplate.queryForList("select u2.nickname from FOLLOW f " +
                 "INNER JOIN `USER` u1 ON f.follower_id = u1.id " +
                 "INNER JOIN `USER` u2 ON f.following_id = u2.id " +
-                "where u1.nickname = ? and f.is_deleted = false" , String.class, nickname);
+                "where u1.nickname = ? and f.is_deleted = false " +
+                "LIMIT ?", String.class, nickname, size);
     }
 
-    public List<String> getFollowerNicknames(String nickname){
+    public List<String> getFollowerNicknames(String nickname, int size){
         return jdbcTemplate.queryForList("select u2.nickname from FOLLOW f " +
                 "INNER JOIN `USER` u1 ON f.following_id = u1.id " +
                 "INNER JOIN `USER` u2 ON f.follower_id = u2.id " +
-                "where u1.nickname = ? and f.is_deleted = false" , String.class, nickname);
+                "where u1.nickname = ? and f.is_deleted = false " +
+                "LIMIT ?", String.class, nickname, size);
+    }
+
+    // FOLLOW.id 가 followId 미만인 팔로잉을 최신순으로 size 만큼
+    public List<FollowNickname> getFollowingNicknamesBefore(String nickname, int followId, int size){
+        return jdbcTemplate.query("select f.id, u2.nickname from FOLLOW f " +
+                "INNER JOIN `USER` u1 ON f.follower_id = u1.id " +
+                "INNER JOIN `USER` u2 ON f.following_id = u2.id " +
+                "where u1.nickname = ? and f.is_deleted = false and f.id < ? " +
+                "ORDER BY f.id DESC LIMIT ?", followNicknameRowMapper(), nickname, followId, size);
+    }
+
+    // FOLLOW.id 가 followId 미만인 팔로워를 최신순으로 size 만큼
+    public List<FollowNickname> getFollowerNicknamesBefore(String nickname, int followId, int size){
+        return jdbcTemplate.query("select f.id, u2.nickname from FOLLOW f " +
+                "INNER JOIN `USER` u1 ON f.following_id = u1.id " +
+                "INNER JOIN `USER` u2 ON f.follower_id = u2.id " +
+                "where u1.nickname = ? and f.is_deleted = false and f.id < ? " +
+                "ORDER BY f.id DESC LIMIT ?", followNicknameRowMapper(), nickname, followId, size);
+    }
+
+    private RowMapper<FollowNickname> followNicknameRowMapper(){
+        return (rs, rowNum) -> new FollowNickname(
+                rs.getInt("id"),
+                rs.getString("nickname")
+        );
     }
 
     private RowMapper<User> userRowMapper(){
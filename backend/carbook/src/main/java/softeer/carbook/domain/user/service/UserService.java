@@ -5,6 +5,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import softeer.carbook.domain.post.service.PostDetailCache;
 import softeer.carbook.domain.user.dto.IsLoginForm;
 import softeer.carbook.global.dto.Message;
 import softeer.carbook.domain.user.dto.LoginForm;
@@ -20,11 +21,13 @@ import javax.servlet.http.HttpSession;
 @Service
 public class UserService {
     private final UserRepository userRepository;
+    private final PostDetailCache postDetailCache;
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
     @Autowired
-    public UserService(UserRepository userRepository){
+    public UserService(UserRepository userRepository, PostDetailCache postDetailCache){
         this.userRepository = userRepository;
+        this.postDetailCache = postDetailCache;
     }
 
     public Message signup(SignupForm signupForm){
@@ -83,6 +86,8 @@ public class UserService {
 
         // 새로운 닉네임 반영
         userRepository.modifyNickname(nickname, newNickname);
+        // 캐시된 게시글 상세 정보의 작성자 닉네임도 바뀌도록 제거
+        postDetailCache.evictByUserId(userRepository.findUserByNickname(newNickname).getId());
 
         return new Message("Nickname modified successfully");
     }
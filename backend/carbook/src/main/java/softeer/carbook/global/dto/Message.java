@@ -31,6 +31,13 @@ public class Message {
         );
     }
 
+    public static ResponseEntity<Message> make503Response(String msg){
+        return new ResponseEntity<>(
+                new Message(msg),
+                HttpStatus.SERVICE_UNAVAILABLE
+        );
+    }
+
     public String getMessage() {
         return message;
     }
@@ -8,6 +8,7 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import softeer.carbook.domain.follow.exception.FollowIdNotExistException;
+import softeer.carbook.domain.post.exception.ImageUploadBusyException;
 import softeer.carbook.domain.post.exception.InvalidPostAccessException;
 import softeer.carbook.domain.post.exception.PostNotExistException;
 import softeer.carbook.global.dto.Message;
@@ -89,6 +90,13 @@ public class ExceptionController {
         return Message.make400Response(followIdNEE.getMessage());
     }
 
+    // 이미지 업로드가 밀려 있어 더 받을 수 없는 경우
+    @ExceptionHandler(ImageUploadBusyException.class)
+    public ResponseEntity<Message> imageUploadBusyException(ImageUploadBusyException imageUploadBE){
+        logger.warn(imageUploadBE.getMessage());
+        return Message.make503Response(imageUploadBE.getMessage());
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Message> IllegalArgumentException(IllegalArgumentException illegalArgumentException){
         logger.debug(illegalArgumentException.getMessage());
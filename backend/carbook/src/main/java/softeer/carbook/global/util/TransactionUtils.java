@@ -0,0 +1,44 @@
+package softeer.carbook.global.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionUtils {
+
+    private TransactionUtils() {
+    }
+
+    // 트랜잭션 안에서 호출되면 커밋된 뒤에 실행, 롤백되면 실행하지 않는다
+    // 트랜잭션 밖이면 바로 실행
+    public static void runAfterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+            return;
+        }
+        task.run();
+    }
+
+    // 커밋되면 onCommit, 롤백되면 onRollback 실행
+    // 트랜잭션 밖이면 onCommit 을 바로 실행
+    public static void runAfterCompletion(Runnable onCommit, Runnable onRollback) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        onCommit.run();
+                        return;
+                    }
+                    onRollback.run();
+                }
+            });
+            return;
+        }
+        onCommit.run();
+    }
+}
@@ -1,32 +1,49 @@
 package softeer.carbook.infra.aws;
 
-import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
-import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@ConditionalOnProperty(name = "carbook.storage.type", havingValue = "s3", matchIfMissing = true)
 public class S3Config {
-    @Value("${cloud.aws.credentials.accessKey}")
+    @Value("${cloud.aws.credentials.accessKey:}")
     private String accessKey;
 
-    @Value("${cloud.aws.credentials.secretKey}")
+    @Value("${cloud.aws.credentials.secretKey:}")
     private String secretKey;
 
     @Value("${cloud.aws.region.static}")
     private String region;
 
+    // S3 요청 하나가 이보다 오래 걸리면 실패로 보고 업로드를 다시 시도한다
+    @Value("${carbook.s3.request-timeout-ms:30000}")
+    private int requestTimeout;
+
     @Bean
     public AmazonS3Client amazonS3Client() {
-        BasicAWSCredentials awsCreds = new BasicAWSCredentials(accessKey, secretKey);
         return (AmazonS3Client) AmazonS3ClientBuilder.standard()
                 .withRegion(region)
-                .withCredentials(new AWSStaticCredentialsProvider(awsCreds))
+                .withCredentials(credentialsProvider())
+                .withClientConfiguration(new ClientConfiguration()
+                        .withRequestTimeout(requestTimeout)
+                        .withClientExecutionTimeout(requestTimeout))
                 .build();
     }
+
+    // 키를 설정하지 않으면 환경 변수, 인스턴스 프로필 등에서 찾는다
+    private AWSCredentialsProvider credentialsProvider() {
+        if (accessKey.isEmpty() || secretKey.isEmpty()) {
+            return DefaultAWSCredentialsProviderChain.getInstance();
+        }
+        return new AWSStaticCredentialsProvider(new BasicAWSCredentials(accessKey, secretKey));
+    }
 }
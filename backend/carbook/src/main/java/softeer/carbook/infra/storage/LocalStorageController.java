@@ -0,0 +1,81 @@
+package softeer.carbook.infra.storage;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UrlPathHelper;
+import softeer.carbook.domain.post.repository.LocalObjectStore;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+// LocalObjectStore 에 저장한 이미지를 내려준다, carbook.storage.local.base-url 은 /storage/ 로 끝나야 한다
+// Tomcat 이 sendfile 을 지원하면 파일을 커널에서 바로 소켓으로 보내고, 아니면 mmap 한 버퍼를 그대로 쓴다
+@RestController
+@ConditionalOnProperty(name = "carbook.storage.type", havingValue = "local")
+public class LocalStorageController {
+
+    private static final String PATH_PREFIX = "/storage/";
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private final LocalObjectStore localObjectStore;
+
+    @Autowired
+    public LocalStorageController(LocalObjectStore localObjectStore) {
+        this.localObjectStore = localObjectStore;
+    }
+
+    // createUploadUrl 로 내준 주소, 클라이언트가 직접 올리는 uploads/ 아래에만 쓸 수 있다
+    @PutMapping(PATH_PREFIX + "uploads/**")
+    public void putObject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String key = UrlPathHelper.defaultInstance.getPathWithinApplication(request).substring(PATH_PREFIX.length());
+        if (!Paths.get(key).normalize().startsWith("uploads")) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        localObjectStore.upload(Channels.newChannel(request.getInputStream()), key);
+        response.setStatus(HttpServletResponse.SC_OK);
+    }
+
+    @GetMapping(PATH_PREFIX + "**")
+    public void getObject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String key = UrlPathHelper.defaultInstance.getPathWithinApplication(request).substring(PATH_PREFIX.length());
+        Optional<Path> path = localObjectStore.find(key);
+        if (path.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        long size = Files.size(path.get());
+        response.setContentType(MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(size);
+        // 키가 내용의 해시라서 같은 주소의 내용은 바뀌지 않는다
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable");
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.get().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        MappedByteBuffer buffer = localObjectStore.map(path.get());
+        WritableByteChannel channel = Channels.newChannel(response.getOutputStream());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import softeer.carbook.domain.follow.dto.FollowListResponse;
+import softeer.carbook.domain.follow.dto.FollowPageResponse;
 import softeer.carbook.domain.follow.exception.FollowIdNotExistException;
 import softeer.carbook.domain.follow.service.FollowService;
 import softeer.carbook.domain.like.controller.LikeController;
@@ -94,6 +95,31 @@ class FollowControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @DisplayName("팔로워 리스트 페이지 응답 테스트")
+    void getFollowersPage() throws Exception {
+        // given
+        FollowPageResponse followPageResponse = new FollowPageResponse(new ArrayList<>(), 0, false);
+        given(followService.getFollowersPage(anyString(), anyInt())).willReturn(followPageResponse);
+
+        // when & then
+        mockMvc.perform(get("/profile/followers/page?nickname=test123&index=10"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"hasNext\":false")));
+    }
+
+    @Test
+    @DisplayName("팔로잉 리스트 페이지 응답 테스트")
+    void getFollowingsPage() throws Exception {
+        // given
+        FollowPageResponse followPageResponse = new FollowPageResponse(new ArrayList<>(), 0, false);
+        given(followService.getFollowingsPage(anyString(), anyInt())).willReturn(followPageResponse);
+
+        // when & then
+        mockMvc.perform(get("/profile/followings/page?nickname=test123"))
+                .andExpect(status().isOk());
+    }
+
     @Test
     @DisplayName("팔로워 삭제 테스트 - 성공")
     void deleteFollowerSuccess() throws Exception {
@@ -26,12 +26,14 @@ import static org.junit.jupiter.api.Assertions.*;
 @Sql("classpath:create_data.sql")
 class FollowRepositoryTest {
     private FollowRepository followRepository;
+    private JdbcTemplate jdbcTemplate;
     @Autowired
     private DataSource dataSource;
 
     @BeforeEach
     void setUp(){
         followRepository = new FollowRepository(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
     }
 
     @Test
@@ -56,6 +58,16 @@ class FollowRepositoryTest {
         assertThat(followingIds.get(1)).isEqualTo(3);
     }
 
+    @Test
+    @DisplayName("팔로워가 일정 수보다 많은 팔로잉 id 조회 테스트")
+    void getFollowingIdsOverFollowerCount() {
+        // when
+        List<Integer> followingIds = followRepository.getFollowingIdsOverFollowerCount(1, 1);
+
+        // then
+        assertThat(followingIds).isEqualTo(List.of(3));
+    }
+
     @Test
     @DisplayName("팔로워수 조회 테스트")
     void getFollowerCount() {
@@ -109,6 +121,20 @@ class FollowRepositoryTest {
 
         // then
         assertThat(isFollow).isFalse();
+        assertThat(followRepository.getFollowingCount(1)).isEqualTo(1);
+        assertThat(followRepository.getFollowerCount(2)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("이미 취소한 팔로우를 다시 취소해도 팔로워수가 줄지 않는다")
+    void unFollowTwice() {
+        // when
+        followRepository.unFollow(1);
+        followRepository.unFollow(1);
+
+        // then
+        assertThat(followRepository.getFollowingCount(1)).isEqualTo(1);
+        assertThat(followRepository.getFollowerCount(2)).isEqualTo(0);
     }
 
     @Test
@@ -120,5 +146,36 @@ class FollowRepositoryTest {
 
         // then
         assertThat(id).isEqualTo(7);
+        assertThat(followRepository.getFollowingCount(3)).isEqualTo(1);
+        assertThat(followRepository.getFollowerCount(4)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("이미 팔로우 중이면 팔로워수가 늘지 않고, 취소했던 팔로우는 다시 늘어난다")
+    void addFollowTwice() {
+        // when
+        followRepository.addFollow(1, 2);
+        followRepository.addFollow(1, 4); // isDeleted = 1
+
+        // then
+        assertThat(followRepository.getFollowerCount(2)).isEqualTo(1);
+        assertThat(followRepository.getFollowingCount(1)).isEqualTo(3);
+        assertThat(followRepository.getFollowerCount(4)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("팔로워수 카운터 재계산 테스트")
+    void reconcileFollowCounts() {
+        // given
+        jdbcTemplate.update("update FOLLOW_COUNT set follower_count = 100 where user_id = 3");
+        jdbcTemplate.update("delete from FOLLOW_COUNT where user_id = 4");
+
+        // when
+        followRepository.reconcileFollowCounts();
+
+        // then
+        assertThat(followRepository.getFollowerCount(3)).isEqualTo(2);
+        assertThat(followRepository.getFollowerCount(4)).isEqualTo(1);
+        assertThat(followRepository.getFollowingCount(4)).isEqualTo(1);
     }
 }
\ No newline at end of file
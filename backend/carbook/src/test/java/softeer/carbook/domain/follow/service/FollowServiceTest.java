@@ -7,9 +7,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import softeer.carbook.domain.follow.dto.FollowListResponse;
+import softeer.carbook.domain.follow.dto.FollowPageResponse;
 import softeer.carbook.domain.follow.exception.FollowIdNotExistException;
+import softeer.carbook.domain.follow.model.FollowNickname;
 import softeer.carbook.domain.follow.repository.FollowRepository;
 import softeer.carbook.domain.post.exception.InvalidPostAccessException;
+import softeer.carbook.domain.post.service.HomeTimeline;
 import softeer.carbook.domain.user.model.User;
 import softeer.carbook.domain.user.repository.UserRepository;
 import softeer.carbook.global.dto.Message;
@@ -31,6 +34,7 @@ class FollowServiceTest {
 
     @Mock private FollowRepository followRepository;
     @Mock private UserRepository userRepository;
+    @Mock private HomeTimeline homeTimeline;
 
     private final User user = new User(15, "user15@exam.com", "15번유저", "pw15");
     private final List<String> nicknames = new ArrayList<>(){{
@@ -76,28 +80,67 @@ class FollowServiceTest {
     @DisplayName("팔로잉 리스트 테스트")
     void getFollowings() {
         // given
-        given(userRepository.getFollowingNicknames(anyString())).willReturn(nicknames);
+        given(userRepository.getFollowingNicknames(anyString(), anyInt())).willReturn(nicknames);
 
         // when
         FollowListResponse followListResponse = followService.getFollowings("nickname");
 
         // then
         assertThat(followListResponse.getNicknames()).isEqualTo(nicknames);
-        verify(userRepository).getFollowingNicknames(anyString());
+        verify(userRepository).getFollowingNicknames(anyString(), anyInt());
     }
 
     @Test
     @DisplayName("팔로워 리스트 테스트")
     void getFollowers() {
         // given
-        given(userRepository.getFollowerNicknames(anyString())).willReturn(nicknames);
+        given(userRepository.getFollowerNicknames(anyString(), anyInt())).willReturn(nicknames);
 
         // when
         FollowListResponse followListResponse = followService.getFollowers("nickname");
 
         // then
         assertThat(followListResponse.getNicknames()).isEqualTo(nicknames);
-        verify(userRepository).getFollowerNicknames(anyString());
+        verify(userRepository).getFollowerNicknames(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("팔로잉 리스트 페이지 테스트 - 다음 페이지 있음")
+    void getFollowingsPageHasNext() {
+        // given
+        List<FollowNickname> follows = new ArrayList<>();
+        for (int followId = 30; followId > 9; followId--) {
+            follows.add(new FollowNickname(followId, "nickname" + followId));
+        }
+        given(userRepository.getFollowingNicknamesBefore(anyString(), anyInt(), anyInt())).willReturn(follows);
+
+        // when
+        FollowPageResponse followPageResponse = followService.getFollowingsPage("nickname", 0);
+
+        // then
+        assertThat(followPageResponse.getNicknames().size()).isEqualTo(20);
+        assertThat(followPageResponse.getNextIndex()).isEqualTo(11);
+        assertThat(followPageResponse.isHasNext()).isTrue();
+        verify(userRepository).getFollowingNicknamesBefore("nickname", Integer.MAX_VALUE, 21);
+    }
+
+    @Test
+    @DisplayName("팔로워 리스트 페이지 테스트 - 마지막 페이지")
+    void getFollowersPageLast() {
+        // given
+        List<FollowNickname> follows = List.of(
+                new FollowNickname(5, "nickname1"),
+                new FollowNickname(2, "nickname2"));
+        given(userRepository.getFollowerNicknamesBefore(anyString(), anyInt(), anyInt())).willReturn(follows);
+
+        // when
+        FollowPageResponse followPageResponse = followService.getFollowersPage("nickname", 8);
+
+        // then
+        assertThat(followPageResponse.getNicknames()).isEqualTo(nicknames);
+        assertThat(followPageResponse.getNextIndex()).isEqualTo(2);
+        assertThat(followPageResponse.isHasNext()).isFalse();
+        verify(userRepository).getFollowerNicknamesBefore("nickname", 8, 21);
     }
 
     @Test
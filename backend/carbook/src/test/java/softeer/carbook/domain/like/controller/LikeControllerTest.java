@@ -9,17 +9,21 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.web.servlet.MockMvc;
+import softeer.carbook.domain.like.dto.LikeResponse;
+import softeer.carbook.domain.like.dto.LikedPostsResponse;
 import softeer.carbook.domain.like.service.LikeService;
 import softeer.carbook.domain.post.service.PostService;
 import softeer.carbook.domain.user.model.User;
 import softeer.carbook.domain.user.service.UserService;
-import softeer.carbook.global.dto.Message;
 import softeer.carbook.global.interceptor.LoginInterceptor;
 
+import java.util.List;
+
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -42,7 +46,7 @@ class LikeControllerTest {
         User user = new User("test@gmail.com", "nickname",
                 BCrypt.hashpw("password", BCrypt.gensalt()));
         given(userService.findLoginedUser(any())).willReturn(user);
-        given(likeService.modifyLikeInfo(anyInt(), anyInt())).willReturn(new Message("Like Success"));
+        given(likeService.modifyLikeInfo(anyInt(), anyInt())).willReturn(new LikeResponse("Like Success", true, 4));
         given(loginInterceptor.preHandle(any(), any(), any())).willReturn(true);
 
         // when & then
@@ -50,7 +54,8 @@ class LikeControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"postId\": 10}"))
                 .andExpect(status().isOk())
-                .andExpect(content().string(containsString("Like Success")));
+                .andExpect(content().string(containsString("Like Success")))
+                .andExpect(content().string(containsString("\"likeCount\":4")));
     }
 
     @Test
@@ -60,7 +65,7 @@ class LikeControllerTest {
         User user = new User("test@gmail.com", "nickname",
                 BCrypt.hashpw("password", BCrypt.gensalt()));
         given(userService.findLoginedUser(any())).willReturn(user);
-        given(likeService.modifyLikeInfo(anyInt(), anyInt())).willReturn(new Message("UnLike Success"));
+        given(likeService.modifyLikeInfo(anyInt(), anyInt())).willReturn(new LikeResponse("UnLike Success", false, 3));
         given(loginInterceptor.preHandle(any(), any(), any())).willReturn(true);
 
         // when & then
@@ -70,4 +75,19 @@ class LikeControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string(containsString("UnLike Success")));
     }
+
+    @Test
+    @DisplayName("좋아요한 게시글 id 일괄 조회 테스트")
+    void getLikedPostIds() throws Exception {
+        // given
+        User user = new User(1, "test@gmail.com", "nickname", "password");
+        given(userService.findLoginedUser(any())).willReturn(user);
+        given(likeService.findLikedPostIds(1, List.of(1, 2, 3))).willReturn(new LikedPostsResponse(List.of(1, 3)));
+        given(loginInterceptor.preHandle(any(), any(), any())).willReturn(true);
+
+        // when & then
+        mockMvc.perform(get("/post/likes").param("postIds", "1,2,3"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"likedPostIds\":[1,3]")));
+    }
 }
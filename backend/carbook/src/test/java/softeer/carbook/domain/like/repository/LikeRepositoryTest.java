@@ -7,11 +7,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
 import org.springframework.test.context.jdbc.Sql;
 import softeer.carbook.domain.follow.repository.FollowRepository;
+import softeer.carbook.domain.post.repository.PostRepository;
 
 import javax.sql.DataSource;
 import javax.xml.crypto.Data;
+import java.util.List;
+import java.util.Map;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 @JdbcTest
@@ -27,7 +30,7 @@ class LikeRepositoryTest {
     }
 
     @Test
-    @DisplayName("Post Id를 통한 좋아요 수 조회 테스트")
+    @DisplayName("Post Id를 통한 좋아요 수 조회 테스트 - POST 의 like_count")
     void findLikeCountByPostId() {
         // when
         int likeCount = likeRepository.findLikeCountByPostId(1);
@@ -63,27 +66,57 @@ class LikeRepositoryTest {
     }
 
     @Test
-    @DisplayName("좋아요 취소 테스트")
-    void unLike() {
+    @DisplayName("게시글별 좋아요 수 변화량 일괄 반영 테스트")
+    void increaseLikeCounts() {
+        // given
+        PostRepository postRepository = new PostRepository(dataSource);
+
+        // when
+        likeRepository.increaseLikeCounts(Map.of(1, 2, 4, -1));
+
+        // then
+        assertThat(postRepository.findPostById(1).getLikeCount()).isEqualTo(5);
+        assertThat(postRepository.findPostById(4).getLikeCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("좋아요 토글 테스트 - 누를 때마다 상태가 바뀐다")
+    void toggleLike() {
+        // when
+        boolean first = likeRepository.toggleLike(1, 4);
+        boolean second = likeRepository.toggleLike(1, 4);
+        boolean cancelled = likeRepository.toggleLike(1, 1);
+        boolean restored = likeRepository.toggleLike(3, 4); // isDeleted = 1
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(cancelled).isFalse();
+        assertThat(restored).isTrue();
+        assertThat(likeRepository.checkLike(1, 4)).isFalse();
+        assertThat(likeRepository.checkLike(3, 4)).isTrue();
+        assertThat(likeRepository.checkLike(1, 1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("여러 게시글 중 좋아요한 게시글 id 조회 테스트")
+    void findLikedPostIds() {
         // when
-        likeRepository.unLike(1, 1);
-        boolean isUnLike = likeRepository.findLikeByUserIdAndPostId(1, 1).isEmpty();
+        List<Integer> likedPostIds = likeRepository.findLikedPostIds(3, List.of(1, 2, 4)); // 4번 게시글은 isDeleted = 1
+        List<Integer> empty = likeRepository.findLikedPostIds(3, List.of());
 
         // then
-        assertThat(isUnLike).isTrue();
+        assertThat(likedPostIds).containsExactly(1);
+        assertThat(empty).isEmpty();
     }
 
     @Test
-    @DisplayName("좋아요 추가 테스트")
-    void addLike() {
+    @DisplayName("사용자가 좋아요한 게시글 id 전체 조회 테스트")
+    void findAllLikedPostIds() {
         // when
-        likeRepository.addLike(1, 4);
-        boolean existLike = likeRepository.findLikeByUserIdAndPostId(1, 4).isPresent();
-        likeRepository.addLike(3, 4); // isDeleted = 1
-        boolean existLikeWhenIsDeleted = likeRepository.findLikeByUserIdAndPostId(3, 4).isPresent();
+        List<Integer> likedPostIds = likeRepository.findAllLikedPostIds(1);
 
         // then
-        assertThat(existLike).isTrue();
-        assertThat(existLikeWhenIsDeleted).isTrue();
+        assertThat(likedPostIds).containsExactlyInAnyOrder(1, 3);
     }
-}
\ No newline at end of file
+}
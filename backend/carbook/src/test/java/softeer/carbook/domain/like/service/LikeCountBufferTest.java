@@ -0,0 +1,128 @@
+package softeer.carbook.domain.like.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import softeer.carbook.domain.like.repository.LikeRepository;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class LikeCountBufferTest {
+    @Mock
+    private LikeRepository likeRepository;
+
+    private LikeCountBuffer likeCountBuffer;
+
+    @BeforeEach
+    void setUp() {
+        likeCountBuffer = new LikeCountBuffer(likeRepository, 100);
+    }
+
+    @Test
+    @DisplayName("좋아요 수 변화량을 게시글별로 합쳐서 한 번에 반영")
+    void flush() {
+        // given
+        likeCountBuffer.add(1, 1);
+        likeCountBuffer.add(1, 1);
+        likeCountBuffer.add(2, 1);
+        likeCountBuffer.add(2, -1);
+
+        // when
+        likeCountBuffer.flush();
+
+        // then
+        verify(likeRepository).increaseLikeCounts(Map.of(1, 2));
+        assertThat(likeCountBuffer.getPendingCount(1)).isZero();
+    }
+
+    @Test
+    @DisplayName("반영한 뒤 변화량이 0 인 게시글은 목록에서 지운다")
+    void removeFlushedPosts() {
+        // given
+        likeCountBuffer.add(1, 1);
+        likeCountBuffer.add(2, 1);
+        likeCountBuffer.add(2, -1);
+
+        // when
+        likeCountBuffer.flush();
+        likeCountBuffer.flush();
+
+        // then
+        assertThat(likeCountBuffer.size()).isZero();
+        verify(likeRepository).increaseLikeCounts(Map.of(1, 1));
+    }
+
+    @Test
+    @DisplayName("반영 전 변화량 조회 테스트")
+    void getPendingCount() {
+        // when
+        likeCountBuffer.add(1, 1);
+        likeCountBuffer.add(1, 1);
+
+        // then
+        assertThat(likeCountBuffer.getPendingCount(1)).isEqualTo(2);
+        assertThat(likeCountBuffer.getPendingCount(2)).isZero();
+        verify(likeRepository, never()).increaseLikeCounts(any());
+    }
+
+    @Test
+    @DisplayName("반영 중인 변화량도 커밋될 때까지 조회된다")
+    void getPendingCountWhileFlushing() {
+        // given
+        likeCountBuffer.add(1, 2);
+        int[] countWhileFlushing = new int[1];
+        willAnswer(invocation -> {
+            likeCountBuffer.add(1, 1);
+            countWhileFlushing[0] = likeCountBuffer.getPendingCount(1);
+            return null;
+        }).given(likeRepository).increaseLikeCounts(any());
+
+        // when
+        likeCountBuffer.flush();
+
+        // then
+        assertThat(countWhileFlushing[0]).isEqualTo(3);
+        assertThat(likeCountBuffer.getPendingCount(1)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("변화량이 일정 개수 쌓이면 바로 반영")
+    void flushOnThreshold() {
+        // given
+        LikeCountBuffer buffer = new LikeCountBuffer(likeRepository, 2);
+
+        // when
+        buffer.add(1, 1);
+        buffer.add(3, 1);
+
+        // then
+        verify(likeRepository).increaseLikeCounts(Map.of(1, 1, 3, 1));
+    }
+
+    @Test
+    @DisplayName("반영에 실패하면 변화량을 다시 쌓아 둔다")
+    void flushFailure() {
+        // given
+        likeCountBuffer.add(1, 1);
+        willThrow(new DataAccessResourceFailureException("db down"))
+                .given(likeRepository).increaseLikeCounts(any());
+
+        // when
+        likeCountBuffer.flush();
+
+        // then
+        assertThat(likeCountBuffer.getPendingCount(1)).isEqualTo(1);
+    }
+}
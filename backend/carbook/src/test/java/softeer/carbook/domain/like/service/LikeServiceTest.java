@@ -6,16 +6,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import softeer.carbook.domain.like.dto.LikeResponse;
+import softeer.carbook.domain.like.dto.LikedPostsResponse;
 import softeer.carbook.domain.like.repository.LikeRepository;
+import softeer.carbook.domain.post.service.PopularPostRanking;
+import softeer.carbook.domain.post.service.PostDetailCache;
 import softeer.carbook.domain.user.repository.UserRepository;
-import softeer.carbook.global.dto.Message;
 
-import java.util.Optional;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,37 +30,77 @@ class LikeServiceTest {
     private LikeService likeService;
     @Mock
     private LikeRepository likeRepository;
+    @Mock
+    private PopularPostRanking popularPostRanking;
+    @Mock
+    private PostDetailCache postDetailCache;
+    @Mock
+    private LikeCountBuffer likeCountBuffer;
+    @Mock
+    private LikedPostFilter likedPostFilter;
 
     @Test
     @DisplayName("좋아요 서비스 테스트")
     void like() {
         // given
-        given(likeRepository.findLikeByUserIdAndPostId(anyInt(), anyInt()))
-                .willReturn(Optional.empty());
+        given(likeRepository.toggleLike(1, 4)).willReturn(true);
+        given(likeRepository.findLikeCountByPostId(4)).willReturn(3);
+        given(likeCountBuffer.getPendingCount(4)).willReturn(1);
 
         // when
-        Message result = likeService.modifyLikeInfo(anyInt(), anyInt());
+        LikeResponse result = likeService.modifyLikeInfo(1, 4);
 
         // then
         assertThat(result.getMessage()).isEqualTo("Like Success");
-        verify(likeRepository).findLikeByUserIdAndPostId(anyInt(), anyInt());
-        verify(likeRepository).addLike(anyInt(), anyInt());
+        assertThat(result.isLike()).isTrue();
+        assertThat(result.getLikeCount()).isEqualTo(4);
+        verify(likeCountBuffer).add(4, 1);
+        verify(likedPostFilter).markLiked(1, 4);
+        verify(postDetailCache).addLikeCount(4, 1);
     }
 
     @Test
     @DisplayName("좋아요 취소 서비스 테스트")
     void unLike() {
         // given
-        given(likeRepository.findLikeByUserIdAndPostId(anyInt(), anyInt()))
-                .willReturn(Optional.of(1));
+        given(likeRepository.toggleLike(1, 1)).willReturn(false);
+        given(likeRepository.findLikeCountByPostId(1)).willReturn(2);
 
         // when
-        Message result = likeService.modifyLikeInfo(anyInt(), anyInt());
+        LikeResponse result = likeService.modifyLikeInfo(1, 1);
 
         // then
         assertThat(result.getMessage()).isEqualTo("UnLike Success");
-        verify(likeRepository).findLikeByUserIdAndPostId(anyInt(), anyInt());
-        verify(likeRepository).unLike(anyInt(), anyInt());
+        assertThat(result.isLike()).isFalse();
+        assertThat(result.getLikeCount()).isEqualTo(2);
+        verify(likeCountBuffer).add(1, -1);
+        verify(likedPostFilter, never()).markLiked(anyInt(), anyInt());
+        verify(postDetailCache).addLikeCount(1, -1);
     }
 
+    @Test
+    @DisplayName("좋아요한 게시글 id 일괄 조회 서비스 테스트")
+    void findLikedPostIds() {
+        // given
+        given(likeRepository.findLikedPostIds(1, List.of(1, 2, 3))).willReturn(List.of(1, 3));
+
+        // when
+        LikedPostsResponse result = likeService.findLikedPostIds(1, List.of(1, 2, 3));
+
+        // then
+        assertThat(result.getLikedPostIds()).isEqualTo(List.of(1, 3));
+    }
+
+    @Test
+    @DisplayName("좋아요한 게시글 id 일괄 조회 서비스 테스트 - 실패: 너무 많은 게시글 id")
+    void findTooManyLikedPostIds() {
+        // given
+        List<Integer> postIds = IntStream.rangeClosed(1, 101).boxed().collect(Collectors.toList());
+
+        // when
+        Throwable exception = assertThrows(IllegalArgumentException.class, () -> likeService.findLikedPostIds(1, postIds));
+
+        // then
+        assertThat(exception.getMessage()).isEqualTo("ERROR: Too many post ids");
+    }
 }
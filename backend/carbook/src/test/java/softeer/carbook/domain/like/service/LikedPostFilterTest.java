@@ -0,0 +1,86 @@
+package softeer.carbook.domain.like.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import softeer.carbook.domain.like.repository.LikeRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class LikedPostFilterTest {
+    @Mock
+    private LikeRepository likeRepository;
+
+    private LikedPostFilter likedPostFilter;
+
+    @BeforeEach
+    void setUp() {
+        likedPostFilter = new LikedPostFilter(likeRepository, true, 100);
+    }
+
+    @Test
+    @DisplayName("좋아요한 게시글은 항상 필터에 있다")
+    void likedPostsAreAlwaysContained() {
+        // given
+        given(likeRepository.findAllLikedPostIds(1)).willReturn(List.of(1, 3, 500, 12345));
+
+        // when, then
+        assertThat(likedPostFilter.mightContainLike(1, 1)).isTrue();
+        assertThat(likedPostFilter.mightContainLike(1, 3)).isTrue();
+        assertThat(likedPostFilter.mightContainLike(1, 500)).isTrue();
+        assertThat(likedPostFilter.mightContainLike(1, 12345)).isTrue();
+        verify(likeRepository, times(1)).findAllLikedPostIds(1);
+    }
+
+    @Test
+    @DisplayName("좋아요하지 않은 게시글은 대부분 필터에서 걸러진다")
+    void notLikedPostsAreMostlyFiltered() {
+        // given
+        given(likeRepository.findAllLikedPostIds(1)).willReturn(List.of(1, 2, 3, 4, 5));
+
+        // when
+        int falsePositives = 0;
+        for (int postId = 1000; postId < 2000; postId++) {
+            if (likedPostFilter.mightContainLike(1, postId)) {
+                falsePositives++;
+            }
+        }
+
+        // then
+        assertThat(falsePositives).isLessThan(50);
+    }
+
+    @Test
+    @DisplayName("새로 좋아요한 게시글은 필터에 추가된다")
+    void markLiked() {
+        // given
+        given(likeRepository.findAllLikedPostIds(1)).willReturn(List.of());
+        likedPostFilter.mightContainLike(1, 7);
+
+        // when
+        likedPostFilter.markLiked(1, 7);
+
+        // then
+        assertThat(likedPostFilter.mightContainLike(1, 7)).isTrue();
+    }
+
+    @Test
+    @DisplayName("비활성화 상태에서는 항상 DB 로 확인한다")
+    void disabled() {
+        LikedPostFilter disabled = new LikedPostFilter(likeRepository, false, 100);
+
+        assertThat(disabled.mightContainLike(1, 7)).isTrue();
+        verify(likeRepository, never()).findAllLikedPostIds(anyInt());
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import softeer.carbook.domain.post.dto.*;
+import softeer.carbook.domain.post.exception.ImageUploadBusyException;
 import softeer.carbook.domain.post.model.Image;
 import softeer.carbook.domain.post.service.PostService;
 import softeer.carbook.domain.user.controller.UserController;
@@ -181,6 +182,22 @@ class PostControllerTest {
                 .andExpect(jsonPath("$.myProfile").value(false));
     }
 
+    @Test
+    @DisplayName("프로필 다음 페이지 조회")
+    void profileImages() throws Exception {
+        // given
+        ProfileImagesResponse profileImagesResponse = new ProfileImagesResponse(
+                List.of(new Image(1, "/first/image.jpg")), 1, false);
+        given(postService.getProfileImages(anyString(), anyInt())).willReturn(profileImagesResponse);
+        given(loginInterceptor.preHandle(any(), any(), any())).willReturn(true);
+
+        // when & then
+        mockMvc.perform(get("/profile/images?nickname=nickname&index=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextIndex").value(1))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
     @Test
     @DisplayName("글 상세 페이지 글 불러오기 테스트 - 로그인 확인 실패")
     void getPostDetailsNotLogin() throws Exception {
@@ -305,4 +322,39 @@ class PostControllerTest {
                 .andExpect(content().string(containsString("Post modify success")));
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("이미지 업로드가 밀려 있으면 503 을 응답한다")
+    void createPostWhenUploadBusyTest() throws Exception {
+        given(userService.findLoginedUser(any(HttpServletRequest.class))).willReturn(new User("test@gmail.com", "nickname", "password"));
+        given(postService.createPost(any(), any())).willThrow(new ImageUploadBusyException());
+        given(loginInterceptor.preHandle(any(), any(), any())).willReturn(true);
+
+        MockMultipartFile image = new MockMultipartFile("image", "testImage.jpeg", "jpeg", new byte[]{1, 2, 3});
+
+        mockMvc.perform(multipart(HttpMethod.POST, "/post")
+                .file(image)
+                .param("hashtag", new String[]{"hash"})
+                .param("type", "승용")
+                .param("model", "쏘나타")
+                .param("content", "테스트 글 내용입니다"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().string(containsString("ERROR: Image upload is busy")));
+    }
+
+    @Test
+    @DisplayName("이미지 직접 업로드 주소 발급 테스트")
+    void createImageUploadUrlTest() throws Exception {
+        given(userService.findLoginedUser(any(HttpServletRequest.class))).willReturn(new User("test@gmail.com", "nickname", "password"));
+        given(postService.createImageUploadUrl(any(), eq("사진.jpeg"), eq("image/jpeg")))
+                .willReturn(new ImageUploadUrlResponse("presignedURL", "uploads/1/abc.jpeg"));
+        given(loginInterceptor.preHandle(any(), any(), any())).willReturn(true);
+
+        mockMvc.perform(post("/post/image-url")
+                .param("fileName", "사진.jpeg")
+                .param("contentType", "image/jpeg"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.uploadUrl").value("presignedURL"))
+                .andExpect(jsonPath("$.imageKey").value("uploads/1/abc.jpeg"));
+    }
+
+}
@@ -0,0 +1,191 @@
+package softeer.carbook.domain.post.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.test.context.jdbc.Sql;
+import softeer.carbook.domain.post.model.ImageObject;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@Sql("classpath:create_table.sql")
+class ImageObjectRepositoryTest {
+    private ImageObjectRepository imageObjectRepository;
+    @Autowired
+    private DataSource dataSource;
+
+    private final String digest = "039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81";
+    private final ImageObject imageObject = new ImageObject(digest,
+            "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/" + digest + ".jpeg",
+            "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/thumbnail/" + digest + ".jpg",
+            "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/feed/" + digest + ".jpg");
+
+    @BeforeEach
+    void setUp() {
+        imageObjectRepository = new ImageObjectRepository(dataSource);
+    }
+
+    @Test
+    @DisplayName("없는 이미지는 참조할 수 없다")
+    void acquireMissingTest() {
+        assertThat(imageObjectRepository.acquire(digest)).isEmpty();
+        assertThat(imageObjectRepository.getRefCount(digest)).isZero();
+    }
+
+    @Test
+    @DisplayName("이미 있는 이미지를 참조하면 참조 수가 늘어난다")
+    void acquireTest() {
+        imageObjectRepository.add(imageObject);
+        imageObjectRepository.markUploaded(digest, imageObject.getThumbnailUrl(), imageObject.getFeedUrl());
+
+        ImageObject result = imageObjectRepository.acquire(digest).get();
+
+        assertThat(result).usingRecursiveComparison().isEqualTo(imageObject);
+        assertThat(imageObjectRepository.getRefCount(digest)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("올리는 중인 이미지는 참조하지 않고, 함께 올리던 쪽이 실패해도 나머지 쪽이 올리면 참조할 수 있다")
+    void acquireUploadingTest() {
+        imageObjectRepository.add(imageObject);
+        assertThat(imageObjectRepository.acquire(digest)).isEmpty();
+        imageObjectRepository.add(new ImageObject(digest, imageObject.getImageUrl().replace(".jpeg", ".png"), null, null));
+
+        assertThat(imageObjectRepository.release(digest)).isFalse();
+        assertThat(imageObjectRepository.findByDigest(digest).get().getImageUrl()).isEqualTo(imageObject.getImageUrl());
+        imageObjectRepository.markUploaded(digest, imageObject.getThumbnailUrl(), imageObject.getFeedUrl());
+
+        assertThat(imageObjectRepository.acquire(digest).get()).usingRecursiveComparison().isEqualTo(imageObject);
+        assertThat(imageObjectRepository.getRefCount(digest)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("같은 내용을 동시에 추가하면 참조 수만 늘어난다")
+    void addDuplicateTest() {
+        imageObjectRepository.add(imageObject);
+        imageObjectRepository.add(imageObject);
+
+        assertThat(imageObjectRepository.getRefCount(digest)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("없을 때만 추가하기 테스트")
+    void addIfAbsentTest() {
+        assertThat(imageObjectRepository.addIfAbsent(imageObject)).isTrue();
+        assertThat(imageObjectRepository.addIfAbsent(imageObject)).isFalse();
+        assertThat(imageObjectRepository.getRefCount(digest)).isEqualTo(1);
+        assertThat(imageObjectRepository.acquire(digest)).isPresent();
+    }
+
+    @Test
+    @DisplayName("이미지 주소로 조회하기 테스트")
+    void findByImageUrlTest() {
+        imageObjectRepository.add(imageObject);
+
+        assertThat(imageObjectRepository.findByImageUrl(imageObject.getImageUrl()).get())
+                .usingRecursiveComparison().isEqualTo(imageObject);
+        assertThat(imageObjectRepository.findByImageUrl("https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/1_이미지.jpeg"))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("마지막 참조를 놓아도 객체를 지울 때까지 행은 남는다")
+    void releaseTest() {
+        imageObjectRepository.add(imageObject);
+        imageObjectRepository.acquire(digest);
+
+        assertThat(imageObjectRepository.release(digest)).isFalse();
+        assertThat(imageObjectRepository.getRefCount(digest)).isEqualTo(1);
+        assertThat(imageObjectRepository.release(digest)).isTrue();
+        assertThat(imageObjectRepository.getRefCount(digest)).isZero();
+        assertThat(imageObjectRepository.findByDigest(digest)).isPresent();
+        assertThat(imageObjectRepository.release(digest)).isFalse();
+    }
+
+    @Test
+    @DisplayName("참조 수가 0 인 이미지는 참조할 수 없고 다시 추가하면 되살아난다")
+    void reviveReleasedTest() {
+        imageObjectRepository.add(imageObject);
+        imageObjectRepository.markUploaded(digest, imageObject.getThumbnailUrl(), imageObject.getFeedUrl());
+        imageObjectRepository.release(digest);
+
+        assertThat(imageObjectRepository.acquire(digest)).isEmpty();
+        imageObjectRepository.add(imageObject);
+        assertThat(imageObjectRepository.getRefCount(digest)).isEqualTo(1);
+        // 되살린 쪽이 다시 올릴 때까지는 참조할 수 없다
+        assertThat(imageObjectRepository.acquire(digest)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("크기별 이미지 주소는 다 올린 뒤에 채운다")
+    void markUploadedTest() {
+        imageObjectRepository.add(new ImageObject(digest, imageObject.getImageUrl(), null, null));
+
+        imageObjectRepository.markUploaded(digest, imageObject.getThumbnailUrl(), imageObject.getFeedUrl());
+
+        assertThat(imageObjectRepository.findByDigest(digest).get())
+                .usingRecursiveComparison().isEqualTo(imageObject);
+        assertThat(imageObjectRepository.acquire(digest)).isPresent();
+    }
+
+    @Test
+    @DisplayName("아직 참조되고 있는 주소만 조회")
+    void markDeletingTest() {
+        imageObjectRepository.add(imageObject);
+        String otherURL = "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/1_이미지.jpeg";
+
+        assertThat(imageObjectRepository.markDeleting(
+                List.of(imageObject.getImageUrl(), imageObject.getFeedUrl(), otherURL)))
+                .containsExactlyInAnyOrder(imageObject.getImageUrl(), imageObject.getFeedUrl());
+        imageObjectRepository.release(digest);
+        assertThat(imageObjectRepository.markDeleting(List.of(imageObject.getImageUrl()))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("지우는 중인 이미지는 되살리지 않고, 표시를 풀면 다시 추가할 수 있다")
+    void addDeletingTest() {
+        imageObjectRepository.add(imageObject);
+        imageObjectRepository.release(digest);
+        imageObjectRepository.markDeleting(List.of(imageObject.getImageUrl()));
+
+        assertThat(imageObjectRepository.add(imageObject)).isFalse();
+        assertThat(imageObjectRepository.getRefCount(digest)).isZero();
+
+        imageObjectRepository.clearDeleting(List.of(imageObject.getImageUrl()));
+        assertThat(imageObjectRepository.add(imageObject)).isTrue();
+        assertThat(imageObjectRepository.getRefCount(digest)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("지우는 중인 이미지를 다 지우면 행이 지워지고 다시 추가할 수 있다")
+    void addAfterDeletedTest() {
+        imageObjectRepository.add(imageObject);
+        imageObjectRepository.release(digest);
+        List<String> urls = List.of(imageObject.getImageUrl(), imageObject.getThumbnailUrl(), imageObject.getFeedUrl());
+        imageObjectRepository.markDeleting(urls);
+
+        imageObjectRepository.removeReleased(urls);
+
+        assertThat(imageObjectRepository.add(imageObject)).isTrue();
+        assertThat(imageObjectRepository.getRefCount(digest)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("참조 수가 0 이고 객체를 모두 지운 행만 지운다")
+    void removeReleasedTest() {
+        imageObjectRepository.add(imageObject);
+        imageObjectRepository.release(digest);
+
+        imageObjectRepository.removeReleased(List.of(imageObject.getImageUrl(), imageObject.getThumbnailUrl()));
+        assertThat(imageObjectRepository.findByDigest(digest)).isPresent();
+        imageObjectRepository.removeReleased(
+                List.of(imageObject.getImageUrl(), imageObject.getThumbnailUrl(), imageObject.getFeedUrl()));
+        assertThat(imageObjectRepository.findByDigest(digest)).isEmpty();
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
 import softeer.carbook.domain.post.model.Image;
 import softeer.carbook.domain.post.model.Post;
@@ -39,6 +40,24 @@ class ImageRepositoryTest {
         assertThat(resultImage).usingRecursiveComparison().isEqualTo(expectedImage);
     }
 
+    @Test
+    @DisplayName("PostId 목록으로 Image 한 번에 조회하기 테스트 - 요청 순서 유지")
+    void getImagesByPostIdsTest() {
+        List<Image> expectedImages = new ArrayList<>();
+        expectedImages.add(new Image(4, "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/4_이미지.jpeg"));
+        expectedImages.add(new Image(1, "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/1_이미지.jpeg"));
+        expectedImages.add(new Image(7, "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/7_이미지.jpeg"));
+        List<Image> resultImages = imageRepository.getImagesByPostIds(List.of(4, 1, 7));
+        assertThat(resultImages).usingRecursiveComparison().isEqualTo(expectedImages);
+    }
+
+    @Test
+    @DisplayName("PostId 목록이 비어있는 경우 Image 조회 테스트")
+    void getImagesByEmptyPostIdsTest() {
+        List<Image> resultImages = imageRepository.getImagesByPostIds(new ArrayList<>());
+        assertThat(resultImages).isEmpty();
+    }
+
     @Test
     @DisplayName("postId 이하에서 size 만큼 게시글 가져오기 테스트")
     void getImagesOfRecentPostsTest() {
@@ -71,7 +90,7 @@ class ImageRepositoryTest {
     @DisplayName("User Id로 이미지 조회 테스트")
     void findImagesByUserId() {
         int userId = 1;
-        List<Image> resultImages = imageRepository.findImagesByUserId(userId);
+        List<Image> resultImages = imageRepository.findImagesByUserId(userId, 10);
         List<Image> expectedImages = new ArrayList<>();
         expectedImages.add(new Image(1,"https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/1_이미지.jpeg"));
         expectedImages.add(new Image(2,"https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/2_이미지.jpeg"));
@@ -79,16 +98,39 @@ class ImageRepositoryTest {
     }
 
     @Test
-    @DisplayName("닉네임으로 이미지 조회 테스트")
-    void findImagesByNickNameTest() {
-        String nickname = "testname1";
-        List<Image> resultImages = imageRepository.findImagesByNickName(nickname);
+    @DisplayName("User Id로 이미지 조회 테스트 - 개수 제한")
+    void findImagesByUserIdWithLimit() {
+        int userId = 1;
+        List<Image> resultImages = imageRepository.findImagesByUserId(userId, 1);
         List<Image> expectedImages = new ArrayList<>();
         expectedImages.add(new Image(1,"https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/1_이미지.jpeg"));
+        assertThat(resultImages).usingRecursiveComparison().isEqualTo(expectedImages);
+    }
+
+    @Test
+    @DisplayName("User Id로 다음 페이지 이미지 조회 테스트")
+    void findImagesByUserIdBefore() {
+        int userId = 1;
+        List<Image> resultImages = imageRepository.findImagesByUserIdBefore(userId, 1, 10);
+        List<Image> expectedImages = new ArrayList<>();
         expectedImages.add(new Image(2,"https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/2_이미지.jpeg"));
         assertThat(resultImages).usingRecursiveComparison().isEqualTo(expectedImages);
     }
 
+    @Test
+    @DisplayName("User Id로 다음 페이지 이미지 조회 테스트 - 작성 시간이 같으면 id 내림차순")
+    void findImagesByUserIdBeforeSameCreateDate() {
+        int userId = 4;
+        int postId = postRepository.addPost(new Post(userId, userId + "의 새 글", 10));
+        imageRepository.addImage(new Image(postId, "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/새로운_이미지.jpeg"));
+        new JdbcTemplate(dataSource).update("update POST set create_date = (select create_date from POST where id = 7) where id = ?", postId);
+
+        List<Image> resultImages = imageRepository.findImagesByUserIdBefore(userId, postId, 10);
+        List<Image> expectedImages = new ArrayList<>();
+        expectedImages.add(new Image(7,"https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/7_이미지.jpeg"));
+        assertThat(resultImages).usingRecursiveComparison().isEqualTo(expectedImages);
+    }
+
     @Test
     @DisplayName("Image 저장하기 테스트")
     void addImage() {
@@ -101,12 +143,60 @@ class ImageRepositoryTest {
     }
 
     @Test
-    @DisplayName("Image 수정하기 테스트")
-    void updateImage() {
+    @DisplayName("Image 저장하기 테스트 - 같은 게시글로 다시 저장하면 덮어쓴다")
+    void addImageTwice() {
+        int userId = 1;
+        int postId = postRepository.addPost(new Post(userId,userId+"의 새 글",10));
+        Image expectedImage = new Image(postId, "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/새로운_이미지.jpeg",
+                "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/thumbnail/새로운_이미지.jpg", null);
+        imageRepository.addImage(new Image(postId, "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/이전_이미지.jpeg"));
+        imageRepository.addImage(expectedImage);
+        Image resultImage = imageRepository.getImageByPostId(postId);
+        assertThat(resultImage).usingRecursiveComparison().isEqualTo(expectedImage);
+    }
+
+    @Test
+    @DisplayName("Image 가 없을 때만 저장하기 테스트")
+    void addImageIfAbsent() {
+        int userId = 1;
+        int postId = postRepository.addPost(new Post(userId,userId+"의 새 글",10));
+        Image expectedImage = new Image(postId, "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/새로운_이미지.jpeg");
+        assertThat(imageRepository.addImageIfAbsent(expectedImage)).isTrue();
+        assertThat(imageRepository.addImageIfAbsent(
+                new Image(postId, "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/다른_이미지.jpeg"))).isFalse();
+        Image resultImage = imageRepository.getImageByPostId(postId);
+        assertThat(resultImage).usingRecursiveComparison().isEqualTo(expectedImage);
+    }
+
+    @Test
+    @DisplayName("Image 바꾸기 테스트 - 바뀌기 전 이미지를 돌려준다")
+    void replaceImage() {
         int postId = 1;
+        Image oldImage = imageRepository.getImageByPostId(postId);
         Image expectedImage = new Image(postId, "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/수정_이미지.jpeg");
-        imageRepository.updateImage(expectedImage);
+        assertThat(imageRepository.replaceImage(expectedImage).get()).usingRecursiveComparison().isEqualTo(oldImage);
         Image resultImage = imageRepository.getImageByPostId(postId);
         assertThat(resultImage).usingRecursiveComparison().isEqualTo(expectedImage);
     }
+
+    @Test
+    @DisplayName("Image 바꾸기 테스트 - 이미지가 아직 없으면 저장한다")
+    void replaceMissingImage() {
+        int userId = 1;
+        int postId = postRepository.addPost(new Post(userId,userId+"의 새 글",10));
+        Image expectedImage = new Image(postId, "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/수정_이미지.jpeg");
+        assertThat(imageRepository.replaceImage(expectedImage)).isEmpty();
+        Image resultImage = imageRepository.getImageByPostId(postId);
+        assertThat(resultImage).usingRecursiveComparison().isEqualTo(expectedImage);
+    }
+
+    @Test
+    @DisplayName("Image 삭제하기 테스트 - 한 번만 지워진다")
+    void removeImage() {
+        int postId = 1;
+        Image image = imageRepository.getImageByPostId(postId);
+
+        assertThat(imageRepository.removeImage(postId).get()).usingRecursiveComparison().isEqualTo(image);
+        assertThat(imageRepository.removeImage(postId)).isEmpty();
+    }
 }
@@ -0,0 +1,96 @@
+package softeer.carbook.domain.post.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import softeer.carbook.domain.post.model.StoredObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalObjectStoreTest {
+    @TempDir
+    Path tempDir;
+
+    private LocalObjectStore localObjectStore;
+    private final String baseUrl = "http://localhost:8080/storage/";
+
+    @BeforeEach
+    void setUp() throws IOException {
+        localObjectStore = new LocalObjectStore(tempDir.resolve("storage").toString(), baseUrl);
+    }
+
+    @Test
+    @DisplayName("파일을 저장하면 base-url 아래 주소를 돌려준다")
+    void uploadFile() throws IOException {
+        Path image = Files.write(tempDir.resolve("image.jpeg"), new byte[]{1, 2, 3});
+
+        String url = localObjectStore.upload(image.toFile(), "image/jpeg", "images", "abc.jpeg");
+
+        assertThat(url).isEqualTo(baseUrl + "images/abc.jpeg");
+        assertThat(localObjectStore.getKey(url)).isEqualTo("images/abc.jpeg");
+        assertThat(Files.readAllBytes(localObjectStore.find("images/abc.jpeg").get())).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("바이트 배열을 저장하고 mmap 으로 읽는다")
+    void uploadBytes() throws IOException {
+        localObjectStore.upload(new byte[]{4, 5}, "image/jpeg", "images/thumbnail", "abc.jpg");
+
+        MappedByteBuffer buffer = localObjectStore.map(localObjectStore.find("images/thumbnail/abc.jpg").get());
+
+        assertThat(buffer.remaining()).isEqualTo(2);
+        assertThat(buffer.get()).isEqualTo((byte) 4);
+        assertThat(buffer.get()).isEqualTo((byte) 5);
+    }
+
+    @Test
+    @DisplayName("같은 키로 다시 저장하면 새 내용으로 바뀐다")
+    void uploadOverwrite() throws IOException {
+        localObjectStore.upload(new byte[]{1}, "image/jpeg", "images", "abc.jpg");
+        localObjectStore.upload(new byte[]{2}, "image/jpeg", "images", "abc.jpg");
+
+        assertThat(Files.readAllBytes(localObjectStore.find("images/abc.jpg").get())).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("저장소 밖을 가리키는 키는 찾지 않는다")
+    void findOutsideRoot() throws IOException {
+        Files.write(tempDir.resolve("secret"), new byte[]{1});
+
+        assertThat(localObjectStore.find("../secret")).isEmpty();
+        assertThat(localObjectStore.find("images/none.jpg")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("객체 삭제 테스트 - 없는 키도 실패하지 않는다")
+    void delete() {
+        localObjectStore.upload(new byte[]{1}, "image/jpeg", "images", "abc.jpg");
+
+        List<String> failed = localObjectStore.delete(List.of("images/abc.jpg", "images/none.jpg"));
+
+        assertThat(failed).isEmpty();
+        assertThat(localObjectStore.find("images/abc.jpg")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("클라이언트가 보낸 본문을 저장하고 HEAD 로 확인한다")
+    void uploadChannel() {
+        String key = "uploads/17/abc.jpeg";
+
+        localObjectStore.upload(Channels.newChannel(new ByteArrayInputStream(new byte[]{1, 2, 3})), key);
+        StoredObject storedObject = localObjectStore.findObject(key).get();
+
+        assertThat(storedObject.getContentLength()).isEqualTo(3);
+        assertThat(storedObject.getContentType()).isEqualTo("image/jpeg");
+        assertThat(localObjectStore.findObject("uploads/17/none.jpeg")).isEmpty();
+    }
+}
@@ -5,14 +5,18 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
 import softeer.carbook.domain.post.exception.PostNotExistException;
 import softeer.carbook.domain.post.model.Post;
+import softeer.carbook.domain.post.model.PostDetail;
+import softeer.carbook.domain.post.model.TaggedPost;
 
 import javax.sql.DataSource;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -54,53 +58,150 @@ class PostRepositoryTest {
     }
 
     @Test
-    @DisplayName("인기글 조회 테스트")
-    void getImagesOfPopularPostsDuringWeek() {
+    @DisplayName("팔로우한 사용자들의 최근 게시글 조회 테스트 - 삭제된 게시글 제외")
+    void findRecentFollowingPosts() {
         LocalDateTime lastWeek = LocalDateTime.now().minusWeeks(1);
         String lastWeekDay = lastWeek.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
 
-        List<Post> result = postRepository.findPopularPostsDuringWeek(lastWeekDay);
+        List<Post> result = postRepository.findRecentFollowingPosts(1, lastWeekDay, 10);
 
-        assertThat(result.size()).isEqualTo(6);
+        assertThat(result).extracting(Post::getId).containsExactly(5, 4);
+        assertThat(result).extracting(Post::getUserId).containsExactly(3, 2);
     }
 
     @Test
-    @DisplayName("차량 종류 이름으로 게시글 검색 테스트")
-    void searchByType() {
-        // given
-        String type = "수소 / 전기차";
+    @DisplayName("사용자의 최근 게시글 조회 테스트 - 삭제된 게시글 제외")
+    void findRecentPostsByUserId() {
+        LocalDateTime lastWeek = LocalDateTime.now().minusWeeks(1);
+        String lastWeekDay = lastWeek.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+
+        List<Post> result = postRepository.findRecentPostsByUserId(2, lastWeekDay, 10);
+
+        assertThat(result).extracting(Post::getId).containsExactly(4);
+    }
 
+    @Test
+    @DisplayName("게시글 상세 정보 조회 테스트 - 작성자, 이미지, 좋아요 여부")
+    void findPostDetailById() {
         // when
-        List<Post> result = postRepository.searchByType(type);
+        PostDetail liked = postRepository.findPostDetailById(1, 2);
+        PostDetail notLiked = postRepository.findPostDetailById(1, 4);
 
         // then
-        assertThat(result.size()).isEqualTo(4);
+        assertThat(liked.getPost().getId()).isEqualTo(1);
+        assertThat(liked.getImageUrl()).isEqualTo("https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/1_이미지.jpeg");
+        assertThat(liked.isLike()).isTrue();
+        assertThat(notLiked.isLike()).isFalse();
     }
 
     @Test
-    @DisplayName("차량 모델 이름으로 게시글 검색 테스트")
-    void searchByModel() {
+    @DisplayName("게시글 상세 정보 조회 테스트 - 취소한 좋아요, 삭제된 게시글")
+    void findPostDetailByIdOfDeletedLikeAndPost() {
+        // when
+        PostDetail result = postRepository.findPostDetailById(4, 3);
+
+        // then
+        assertThat(result.isLike()).isFalse();
+        assertThrows(PostNotExistException.class, () -> postRepository.findPostDetailById(3, 1));
+    }
+
+    @Test
+    @DisplayName("게시글 상세 정보 조회 테스트 - 이미지가 아직 올라가지 않은 게시글")
+    void findPostDetailByIdOfPendingPost() {
         // given
-        String model = "아이오닉 6";
+        int postId = postRepository.addPost(new Post(1, "이미지 업로드 중인 글", 1));
+
+        // when & then
+        assertThrows(PostNotExistException.class, () -> postRepository.findPostDetailById(postId, 1));
+    }
+
+    @Test
+    @DisplayName("인기글 id 조회 테스트 - 좋아요 순, 개수 제한")
+    void findPopularPostIdsDuringWeek() {
+        LocalDateTime lastWeek = LocalDateTime.now().minusWeeks(1);
+        String lastWeekDay = lastWeek.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+
+        List<Integer> result = postRepository.findPopularPostIdsDuringWeek(lastWeekDay, 2);
+
+        assertThat(result).containsExactly(1, 4);
+    }
+
+    @Test
+    @DisplayName("타입, 해시태그 조건을 모두 만족하는 게시글 검색 테스트")
+    void searchPostIdsByTypeAndHashtags() {
+        // when
+        List<Integer> result = postRepository.searchPostIdsByTags(
+                "수소 / 전기차", null, List.of("테스트태그1", "테스트태그2"), Integer.MAX_VALUE, 10);
+
+        // then
+        assertThat(result).containsExactly(1);
+    }
 
+    @Test
+    @DisplayName("모델, 해시태그 조건을 모두 만족하는 게시글 검색 테스트")
+    void searchPostIdsByModelAndHashtag() {
         // when
-        List<Post> result = postRepository.searchByModel(model);
+        List<Integer> result = postRepository.searchPostIdsByTags(
+                null, "아이오닉 6", List.of("테스트태그3"), Integer.MAX_VALUE, 10);
 
         // then
-        assertThat(result.size()).isEqualTo(1);
+        assertThat(result).containsExactly(1);
     }
 
     @Test
-    @DisplayName("해시태그 이름으로 게시글 검색 테스트")
-    void searchByHashtag() {
+    @DisplayName("해시태그로만 게시글 검색 테스트 - 삭제된 게시글 제외")
+    void searchPostIdsByHashtag() {
+        // when
+        List<Integer> result = postRepository.searchPostIdsByTags(
+                null, null, List.of("테스트태그2"), Integer.MAX_VALUE, 10);
+
+        // then
+        assertThat(result).containsExactly(7, 2, 1);
+    }
+
+    @Test
+    @DisplayName("postId 미만에서 size 만큼 게시글 검색 테스트")
+    void searchPostIdsByTagsWithCursor() {
+        // when
+        List<Integer> result = postRepository.searchPostIdsByTags(
+                "수소 / 전기차", null, new ArrayList<>(), 5, 2);
+
+        // then
+        assertThat(result).containsExactly(4, 2);
+    }
+
+    @Test
+    @DisplayName("이미지가 아직 올라가지 않은 게시글은 id 조회에서 제외")
+    void excludePendingPosts() {
         // given
-        String hashtag = "테스트태그1";
+        LocalDateTime lastWeek = LocalDateTime.now().minusWeeks(1);
+        String lastWeekDay = lastWeek.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+        int pendingPostId = postRepository.addPost(new Post(2, "이미지 올라가는 중", 1));
+        new JdbcTemplate(dataSource).update("update POST set like_count = 100 where id = ?", pendingPostId);
+
+        // when & then
+        assertThat(postRepository.findRecentFollowingPosts(1, lastWeekDay, 10)).extracting(Post::getId)
+                .containsExactly(5, 4);
+        assertThat(postRepository.findRecentPostsByUserId(2, lastWeekDay, 10)).extracting(Post::getId)
+                .containsExactly(4);
+        assertThat(postRepository.findPopularPostIdsDuringWeek(lastWeekDay, 2)).containsExactly(1, 4);
+        assertThat(postRepository.searchPostIdsByTags(null, "아이오닉 6", new ArrayList<>(), Integer.MAX_VALUE, 10))
+                .containsExactly(1);
+        assertThat(postRepository.findAllTaggedPosts()).extracting(TaggedPost::getPostId)
+                .doesNotContain(pendingPostId);
+    }
 
+    @Test
+    @DisplayName("삭제되지 않은 게시글의 모델, 해시태그 전체 조회 테스트")
+    void findAllTaggedPosts() {
         // when
-        List<Post> result = postRepository.searchByHashtag(hashtag);
+        List<TaggedPost> result = postRepository.findAllTaggedPosts();
 
         // then
-        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.size()).isEqualTo(6);
+        TaggedPost first = result.stream().filter(post -> post.getPostId() == 1).findAny().get();
+        assertThat(first.getModelId()).isEqualTo(1);
+        assertThat(first.getHashtags()).containsExactlyInAnyOrder("테스트태그1", "테스트태그2", "테스트태그3");
     }
 
     @Test
@@ -131,10 +232,20 @@ class PostRepositoryTest {
         int postId = 1;
 
         // when
-        postRepository.deletePostById(postId);
+        boolean deleted = postRepository.deletePostById(postId);
 
         // then
+        assertThat(deleted).isTrue();
+        assertThat(postRepository.deletePostById(postId)).isFalse();
         Throwable exception = assertThrows(PostNotExistException.class, () -> postRepository.findPostById(postId));
         assertThat(exception.getMessage()).isEqualTo("ERROR: Post not exist");
+        assertThrows(PostNotExistException.class, () -> postRepository.findPostByIdForUpdate(postId));
+    }
+
+    @Test
+    @DisplayName("게시글 잠그며 조회 테스트")
+    void findPostByIdForUpdate() {
+        Post result = postRepository.findPostByIdForUpdate(1);
+        assertThat(result.getId()).isEqualTo(1);
     }
 }
\ No newline at end of file
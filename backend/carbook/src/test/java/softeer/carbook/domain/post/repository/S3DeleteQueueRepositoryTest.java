@@ -0,0 +1,59 @@
+package softeer.carbook.domain.post.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.test.context.jdbc.Sql;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@Sql("classpath:create_table.sql")
+class S3DeleteQueueRepositoryTest {
+    private S3DeleteQueueRepository s3DeleteQueueRepository;
+    @Autowired
+    private DataSource dataSource;
+
+    private final Timestamp now = new Timestamp(System.currentTimeMillis() + 1000);
+
+    @BeforeEach
+    void setUp() {
+        s3DeleteQueueRepository = new S3DeleteQueueRepository(dataSource);
+    }
+
+    @Test
+    @DisplayName("먼저 들어온 키부터 같은 키는 한 번만 조회")
+    void findKeysTest() {
+        s3DeleteQueueRepository.enqueue(List.of("images/a.jpeg", "images/b.jpeg"));
+        s3DeleteQueueRepository.enqueue(List.of("images/a.jpeg", "images/c.jpeg"));
+
+        assertThat(s3DeleteQueueRepository.findKeys(now, 10))
+                .containsExactly("images/a.jpeg", "images/b.jpeg", "images/c.jpeg");
+        assertThat(s3DeleteQueueRepository.findKeys(now, 2))
+                .containsExactly("images/a.jpeg", "images/b.jpeg");
+    }
+
+    @Test
+    @DisplayName("before 이후에 들어온 키는 아직 조회하지 않는다")
+    void findKeysBeforeTest() {
+        s3DeleteQueueRepository.enqueue(List.of("images/a.jpeg"));
+
+        assertThat(s3DeleteQueueRepository.findKeys(new Timestamp(0), 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("지운 키는 중복된 것까지 큐에서 빠진다")
+    void removeTest() {
+        s3DeleteQueueRepository.enqueue(List.of("images/a.jpeg", "images/b.jpeg", "images/a.jpeg"));
+
+        s3DeleteQueueRepository.remove(List.of("images/a.jpeg"));
+
+        assertThat(s3DeleteQueueRepository.findKeys(now, 10)).containsExactly("images/b.jpeg");
+    }
+}
@@ -0,0 +1,122 @@
+package softeer.carbook.domain.post.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import softeer.carbook.domain.post.dto.ImageUploadUrlResponse;
+import softeer.carbook.domain.post.model.StoredObject;
+import softeer.carbook.domain.post.repository.ImageObjectRepository;
+import softeer.carbook.domain.post.repository.ObjectStore;
+import softeer.carbook.domain.post.repository.S3DeleteQueueRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DirectImageUploaderTest {
+    @Mock
+    private ObjectStore objectStore;
+    @Mock
+    private S3DeleteQueueRepository s3DeleteQueueRepository;
+    @Mock
+    private ImageObjectRepository imageObjectRepository;
+
+    private DirectImageUploader directImageUploader;
+    private final String imageKey = "uploads/17/direct.jpeg";
+    private final String imageURL = "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/" + imageKey;
+
+    @BeforeEach
+    void setUp() {
+        directImageUploader = new DirectImageUploader(objectStore, s3DeleteQueueRepository, imageObjectRepository, 100, 60000);
+    }
+
+    @Test
+    @DisplayName("사용자별 uploads 디렉토리 아래 키로 PUT 주소를 만든다")
+    void createUploadUrl() {
+        // given
+        given(objectStore.createUploadUrl(startsWith("uploads/17/"), eq("image/jpeg"), any())).willReturn("presignedURL");
+
+        // when
+        ImageUploadUrlResponse result = directImageUploader.createUploadUrl(17, "사진.JPEG", "image/jpeg");
+
+        // then
+        assertThat(result.getUploadUrl()).isEqualTo("presignedURL");
+        assertThat(result.getImageKey()).startsWith("uploads/17/").endsWith(".jpeg");
+    }
+
+    @Test
+    @DisplayName("이미지가 아니면 PUT 주소를 만들지 않는다")
+    void createUploadUrlForNonImage() {
+        assertThrows(IllegalArgumentException.class,
+                () -> directImageUploader.createUploadUrl(17, "script.js", "text/javascript"));
+        verify(objectStore, never()).createUploadUrl(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("올라간 이미지를 확인하면 주소를 돌려준다")
+    void verifyUploadedImage() {
+        // given
+        given(objectStore.findObject(imageKey)).willReturn(Optional.of(new StoredObject(imageKey, 100, "image/jpeg")));
+        given(objectStore.getUrl(imageKey)).willReturn(imageURL);
+
+        // when & then
+        assertThat(directImageUploader.verify(17, imageKey)).isEqualTo(imageURL);
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 키는 쓸 수 없다")
+    void verifyOtherUsersKey() {
+        assertThrows(IllegalArgumentException.class, () -> directImageUploader.verify(18, imageKey));
+        assertThrows(IllegalArgumentException.class, () -> directImageUploader.verify(17, "uploads/17/../18/direct.jpeg"));
+        verify(objectStore, never()).findObject(anyString());
+    }
+
+    @Test
+    @DisplayName("아직 올라가지 않았으면 실패한다")
+    void verifyMissingObject() {
+        // given
+        given(objectStore.findObject(imageKey)).willReturn(Optional.empty());
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> directImageUploader.verify(17, imageKey));
+    }
+
+    @Test
+    @DisplayName("max-size 보다 크면 지우고 실패한다")
+    void verifyTooLargeObject() {
+        // given
+        given(objectStore.findObject(imageKey)).willReturn(Optional.of(new StoredObject(imageKey, 101, "image/jpeg")));
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> directImageUploader.verify(17, imageKey));
+        verify(s3DeleteQueueRepository).enqueue(List.of(imageKey));
+    }
+
+    @Test
+    @DisplayName("확인한 이미지는 키마다 한 번만 등록할 수 있다")
+    void claimImageKeyOnce() {
+        // given
+        given(imageObjectRepository.addIfAbsent(any())).willReturn(true).willReturn(false);
+
+        // when & then
+        directImageUploader.claim(imageKey, imageURL);
+        assertThrows(IllegalArgumentException.class, () -> directImageUploader.claim(imageKey, imageURL));
+        verify(imageObjectRepository, times(2)).addIfAbsent(argThat(imageObject ->
+                imageObject.getDigest().length() == 64 && imageObject.getImageUrl().equals(imageURL)));
+    }
+}
@@ -0,0 +1,172 @@
+package softeer.carbook.domain.post.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import softeer.carbook.domain.follow.repository.FollowRepository;
+import softeer.carbook.domain.post.model.Post;
+import softeer.carbook.domain.post.repository.PostRepository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class HomeTimelineTest {
+    @Mock
+    private PostRepository postRepository;
+    @Mock
+    private FollowRepository followRepository;
+
+    private HomeTimeline homeTimeline;
+
+    @BeforeEach
+    void setUp() {
+        homeTimeline = new HomeTimeline(postRepository, followRepository, true, 3, 100, 600000, 1);
+    }
+
+    @Test
+    @DisplayName("처음 조회할 때 DB 에서 불러오고 이후에는 메모리에서 조회")
+    void loadOnce() {
+        // given
+        given(postRepository.findRecentFollowingPosts(eq(1), anyString(), anyInt()))
+                .willReturn(List.of(post(5, 3), post(4, 2)));
+
+        // when
+        Optional<List<Integer>> first = homeTimeline.findPostIds(1, Integer.MAX_VALUE, 10);
+        Optional<List<Integer>> second = homeTimeline.findPostIds(1, 5, 10);
+
+        // then
+        assertThat(first).contains(List.of(5, 4));
+        assertThat(second).contains(List.of(4));
+        verify(postRepository, times(1)).findRecentFollowingPosts(eq(1), anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("새 글은 팔로워의 타임라인 앞에, 삭제한 글과 언팔로우한 사용자의 글은 제거")
+    void fanOutOnWrite() {
+        // given
+        given(postRepository.findRecentFollowingPosts(eq(1), anyString(), anyInt()))
+                .willReturn(List.of(post(5, 3), post(4, 2)));
+        given(followRepository.getFollowerIds(2)).willReturn(List.of(1));
+        homeTimeline.findPostIds(1, Integer.MAX_VALUE, 10);
+
+        // when, then
+        homeTimeline.addPost(post(9, 2));
+        assertThat(homeTimeline.findPostIds(1, Integer.MAX_VALUE, 10)).contains(List.of(9, 5, 4));
+
+        homeTimeline.removePost(9, 2);
+        assertThat(homeTimeline.findPostIds(1, Integer.MAX_VALUE, 10)).contains(List.of(5, 4));
+
+        homeTimeline.unfollow(1, 3);
+        assertThat(homeTimeline.findPostIds(1, Integer.MAX_VALUE, 10)).contains(List.of(4));
+    }
+
+    @Test
+    @DisplayName("불러오는 사이 게시된 글이 있으면 불러온 타임라인을 저장하지 않는다")
+    void dropTimelineRacedWithPublish() {
+        // given
+        given(followRepository.getFollowerIds(2)).willReturn(List.of(1));
+        given(postRepository.findRecentFollowingPosts(eq(1), anyString(), anyInt()))
+                .willAnswer(invocation -> {
+                    // 불러온 뒤, 저장하기 전에 게시가 커밋된 경우
+                    homeTimeline.addPost(post(9, 2));
+                    return List.of(post(5, 3), post(4, 2));
+                })
+                .willReturn(List.of(post(9, 2), post(5, 3), post(4, 2)));
+
+        // when
+        homeTimeline.findPostIds(1, Integer.MAX_VALUE, 10);
+        Optional<List<Integer>> result = homeTimeline.findPostIds(1, Integer.MAX_VALUE, 10);
+
+        // then
+        assertThat(result).contains(List.of(9, 5, 4));
+        verify(postRepository, times(2)).findRecentFollowingPosts(eq(1), anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("팔로워가 많은 사용자의 글은 조회 시점에 게시글 id 순으로 합친다")
+    void mergePulledAuthors() {
+        // given
+        given(followRepository.getFollowingIdsOverFollowerCount(1, 1)).willReturn(List.of(3));
+        given(postRepository.findRecentFollowingPosts(eq(1), anyString(), anyInt()))
+                .willReturn(List.of(post(6, 3), post(5, 2), post(4, 2)));
+        given(postRepository.findRecentPostsByUserId(eq(3), anyString(), anyInt()))
+                .willReturn(List.of(post(6, 3)));
+        given(followRepository.getFollowerCount(3)).willReturn(2);
+
+        // when
+        homeTimeline.findPostIds(1, Integer.MAX_VALUE, 10);
+        homeTimeline.addPost(post(8, 3));
+        Optional<List<Integer>> result = homeTimeline.findPostIds(1, Integer.MAX_VALUE, 10);
+
+        // then
+        assertThat(result).contains(List.of(8, 6, 5, 4));
+        verify(followRepository, never()).getFollowerIds(3);
+    }
+
+    @Test
+    @DisplayName("작성 시간이 id 순서와 달라도 다음 페이지에서 빠지는 게시글이 없다")
+    void mergeByPostIdForCursor() {
+        // given
+        given(followRepository.getFollowingIdsOverFollowerCount(1, 1)).willReturn(List.of(3));
+        given(postRepository.findRecentFollowingPosts(eq(1), anyString(), anyInt()))
+                .willReturn(List.of(post(5, 2, 2000), post(4, 2, 3000)));
+        given(postRepository.findRecentPostsByUserId(eq(3), anyString(), anyInt()))
+                .willReturn(List.of(post(6, 3, 1000)));
+
+        // when
+        Optional<List<Integer>> firstPage = homeTimeline.findPostIds(1, Integer.MAX_VALUE, 2);
+        Optional<List<Integer>> nextPage = homeTimeline.findPostIds(1, 5, 2);
+
+        // then
+        assertThat(firstPage).contains(List.of(6, 5));
+        assertThat(nextPage).contains(List.of(4));
+    }
+
+    @Test
+    @DisplayName("잘린 타임라인 끝을 넘어서는 조회는 SQL 로 넘긴다")
+    void truncatedTimeline() {
+        // given
+        given(postRepository.findRecentFollowingPosts(eq(1), anyString(), anyInt()))
+                .willReturn(List.of(post(7, 2), post(5, 3), post(4, 2)));
+
+        // when
+        Optional<List<Integer>> firstPage = homeTimeline.findPostIds(1, Integer.MAX_VALUE, 2);
+        Optional<List<Integer>> lastPage = homeTimeline.findPostIds(1, 5, 2);
+
+        // then
+        assertThat(firstPage).contains(List.of(7, 5));
+        assertThat(lastPage).isEmpty();
+    }
+
+    @Test
+    @DisplayName("비활성화 상태에서는 타임라인을 사용하지 않음")
+    void disabled() {
+        HomeTimeline disabled = new HomeTimeline(postRepository, followRepository, false, 3, 100, 600000, 1);
+
+        assertThat(disabled.findPostIds(1, Integer.MAX_VALUE, 10)).isEmpty();
+    }
+
+    private Post post(int postId, int userId) {
+        return post(postId, userId, postId);
+    }
+
+    // 작성 시간은 지금으로부터 agoMillis 전
+    private Post post(int postId, int userId, long agoMillis) {
+        return new Post(postId, userId, new Timestamp(System.currentTimeMillis() - agoMillis),
+                new Timestamp(System.currentTimeMillis()), "content", 1, 0);
+    }
+}
@@ -0,0 +1,129 @@
+package softeer.carbook.domain.post.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageResizerTest {
+    private final ImageResizer imageResizer = new ImageResizer(40, 100, 0.8f, 40000000);
+
+    @Test
+    @DisplayName("긴 변 기준으로 비율을 유지하며 줄인다")
+    void resize() throws IOException {
+        // given
+        BufferedImage source = new BufferedImage(400, 200, BufferedImage.TYPE_INT_ARGB);
+
+        // when
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(imageResizer.toThumbnail(source)));
+        BufferedImage feed = ImageIO.read(new ByteArrayInputStream(imageResizer.toFeedSize(source)));
+
+        // then
+        assertThat(thumbnail.getWidth()).isEqualTo(40);
+        assertThat(thumbnail.getHeight()).isEqualTo(20);
+        assertThat(feed.getWidth()).isEqualTo(100);
+        assertThat(feed.getHeight()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("원본보다 크게 늘리지 않는다")
+    void doNotEnlarge() throws IOException {
+        // given
+        BufferedImage source = new BufferedImage(30, 60, BufferedImage.TYPE_INT_RGB);
+
+        // when
+        BufferedImage feed = ImageIO.read(new ByteArrayInputStream(imageResizer.toFeedSize(source)));
+
+        // then
+        assertThat(feed.getWidth()).isEqualTo(30);
+        assertThat(feed.getHeight()).isEqualTo(60);
+    }
+
+    @Test
+    @DisplayName("이미지 파일 읽기 테스트")
+    void read() throws IOException {
+        Path notImage = Files.createTempFile("carbook", ".txt");
+        Files.writeString(notImage, "not an image");
+
+        assertThat(imageResizer.read(new File("src/test/resources/testImage.jpeg"))).isPresent();
+        assertThat(imageResizer.read(notImage.toFile())).isEmpty();
+        Files.delete(notImage);
+    }
+
+    @Test
+    @DisplayName("픽셀 수가 max-pixels 를 넘으면 디코딩하지 않는다")
+    void skipTooLargeImage() throws IOException {
+        // given
+        Path image = writeJpeg(new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB), null);
+        ImageResizer smallResizer = new ImageResizer(40, 100, 0.8f, 19999);
+        ImageResizer exactResizer = new ImageResizer(40, 100, 0.8f, 20000);
+
+        // when & then
+        assertThat(smallResizer.read(image.toFile())).isEmpty();
+        assertThat(exactResizer.read(image.toFile())).isPresent();
+        Files.delete(image);
+    }
+
+    @Test
+    @DisplayName("feed-size 보다 충분히 크면 건너뛰며 디코딩한다")
+    void readWithSubsampling() throws IOException {
+        // given
+        Path image = writeJpeg(new BufferedImage(450, 100, BufferedImage.TYPE_INT_RGB), null);
+
+        // when
+        BufferedImage decoded = imageResizer.read(image.toFile()).orElseThrow();
+        BufferedImage feed = ImageIO.read(new ByteArrayInputStream(imageResizer.toFeedSize(decoded)));
+
+        // then
+        assertThat(decoded.getWidth()).isEqualTo(113);
+        assertThat(decoded.getHeight()).isEqualTo(25);
+        assertThat(feed.getWidth()).isEqualTo(100);
+        Files.delete(image);
+    }
+
+    @Test
+    @DisplayName("EXIF 방향대로 돌려서 읽는다")
+    void readWithExifOrientation() throws IOException {
+        // given
+        // Orientation 6: 시계 방향으로 90도 돌려서 보여 줘야 하는 이미지
+        byte[] exif = {
+                (byte) 0xFF, (byte) 0xE1, 0, 34, 'E', 'x', 'i', 'f', 0, 0,
+                'M', 'M', 0, 42, 0, 0, 0, 8,
+                0, 1, 0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, 6, 0, 0,
+                0, 0, 0, 0};
+        Path image = writeJpeg(new BufferedImage(40, 20, BufferedImage.TYPE_INT_RGB), exif);
+
+        // when
+        BufferedImage oriented = imageResizer.read(image.toFile()).orElseThrow();
+
+        // then
+        assertThat(oriented.getWidth()).isEqualTo(20);
+        assertThat(oriented.getHeight()).isEqualTo(40);
+        Files.delete(image);
+    }
+
+    // SOI 바로 뒤에 APP1 세그먼트를 끼워 넣는다
+    private Path writeJpeg(BufferedImage source, byte[] app1) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageIO.write(source, "jpeg", encoded);
+        byte[] jpeg = encoded.toByteArray();
+        ByteArrayOutputStream image = new ByteArrayOutputStream();
+        image.write(jpeg, 0, 2);
+        if (app1 != null) {
+            image.write(app1);
+        }
+        image.write(jpeg, 2, jpeg.length - 2);
+        Path path = Files.createTempFile("carbook", ".jpg");
+        Files.write(path, image.toByteArray());
+        return path;
+    }
+}
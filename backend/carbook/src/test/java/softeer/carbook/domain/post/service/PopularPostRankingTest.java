@@ -0,0 +1,68 @@
+package softeer.carbook.domain.post.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import softeer.carbook.domain.post.repository.PostRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PopularPostRankingTest {
+    @Mock
+    private PostRepository postRepository;
+
+    private PopularPostRanking popularPostRanking;
+
+    @BeforeEach
+    void setUp() {
+        popularPostRanking = new PopularPostRanking(postRepository, 100, 60000);
+        given(postRepository.findPopularPostIdsDuringWeek(anyString(), anyInt()))
+                .willReturn(List.of(12, 3, 40, 7, 25));
+    }
+
+    @Test
+    @DisplayName("첫 페이지 인기글 id 조회 테스트")
+    void findFirstPage() {
+        List<Integer> result = popularPostRanking.findPostIdsAfter(0, 2);
+
+        assertThat(result).containsExactly(12, 3);
+    }
+
+    @Test
+    @DisplayName("커서 다음 순위부터 인기글 id 조회 테스트")
+    void findPostIdsAfterCursor() {
+        List<Integer> result = popularPostRanking.findPostIdsAfter(40, 10);
+
+        assertThat(result).containsExactly(7, 25);
+    }
+
+    @Test
+    @DisplayName("랭킹에 없는 커서로 조회하는 경우 테스트")
+    void findPostIdsAfterUnknownCursor() {
+        List<Integer> result = popularPostRanking.findPostIdsAfter(99, 10);
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    @DisplayName("변경이 있을 때만 랭킹을 다시 계산하는 테스트")
+    void refreshOnlyWhenChanged() {
+        popularPostRanking.findPostIdsAfter(0, 2);
+        popularPostRanking.refreshIfNeeded();
+        popularPostRanking.markChanged();
+        popularPostRanking.refreshIfNeeded();
+
+        verify(postRepository, times(2)).findPopularPostIdsDuringWeek(anyString(), anyInt());
+    }
+}
@@ -0,0 +1,132 @@
+package softeer.carbook.domain.post.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import softeer.carbook.domain.post.model.CachedPostDetail;
+import softeer.carbook.domain.post.model.Post;
+import softeer.carbook.domain.post.model.PostDetail;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostDetailCacheTest {
+
+    private PostDetailCache postDetailCache;
+
+    @BeforeEach
+    void setUp() {
+        postDetailCache = new PostDetailCache(2);
+    }
+
+    @Test
+    @DisplayName("최근에 조회되지 않은 게시글부터 제거되는지 테스트")
+    void evictLeastRecentlyUsed() {
+        // given
+        put(postDetail(1));
+        put(postDetail(2));
+        postDetailCache.get(1);
+
+        // when
+        put(postDetail(3));
+
+        // then
+        assertThat(postDetailCache.size()).isEqualTo(2);
+        assertThat(postDetailCache.get(1)).isNotNull();
+        assertThat(postDetailCache.get(2)).isNull();
+        assertThat(postDetailCache.get(3)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("게시글 수정/삭제 시 캐시 제거 테스트")
+    void evict() {
+        // given
+        put(postDetail(1));
+
+        // when
+        postDetailCache.evict(1);
+
+        // then
+        assertThat(postDetailCache.get(1)).isNull();
+    }
+
+    @Test
+    @DisplayName("작성자 닉네임 변경 시 그 사용자의 게시글만 제거 테스트")
+    void evictByUserId() {
+        // given
+        put(postDetail(1, 1));
+        put(postDetail(2, 2));
+
+        // when
+        postDetailCache.evictByUserId(1);
+
+        // then
+        assertThat(postDetailCache.get(1)).isNull();
+        assertThat(postDetailCache.get(2)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("좋아요 변경 시 캐시된 좋아요 수 갱신 테스트")
+    void addLikeCount() {
+        // given
+        put(postDetail(1));
+
+        // when
+        postDetailCache.addLikeCount(1, 1);
+        postDetailCache.addLikeCount(1, 1);
+        postDetailCache.addLikeCount(1, -1);
+        postDetailCache.addLikeCount(2, 1);
+
+        // then
+        assertThat(postDetailCache.get(1).getLikeCount()).isEqualTo(4);
+        assertThat(postDetailCache.get(2)).isNull();
+    }
+
+    @Test
+    @DisplayName("조회하는 사이 제거된 게시글은 캐시하지 않는다")
+    void rejectStaleFill() {
+        // given
+        long version = postDetailCache.version(1);
+
+        // when
+        postDetailCache.evict(1);
+        postDetailCache.put(postDetail(1), version);
+
+        // then
+        assertThat(postDetailCache.get(1)).isNull();
+    }
+
+    @Test
+    @DisplayName("조회하는 사이 좋아요 수가 바뀐 게시글은 캐시하지 않는다")
+    void rejectFillAfterLikeChange() {
+        // given
+        long version = postDetailCache.version(1);
+        long otherVersion = postDetailCache.version(2);
+
+        // when
+        postDetailCache.addLikeCount(1, 1);
+        postDetailCache.put(postDetail(1), version);
+        postDetailCache.put(postDetail(2), otherVersion);
+
+        // then
+        assertThat(postDetailCache.get(1)).isNull();
+        assertThat(postDetailCache.get(2)).isNotNull();
+    }
+
+    private void put(CachedPostDetail postDetail) {
+        postDetailCache.put(postDetail, postDetailCache.version(postDetail.getPostId()));
+    }
+
+    private CachedPostDetail postDetail(int postId) {
+        return postDetail(postId, 1);
+    }
+
+    private CachedPostDetail postDetail(int postId, int userId) {
+        Post post = new Post(postId, userId, new Timestamp(12341241), new Timestamp(1231235), "asdf", 1, 3);
+        return new CachedPostDetail(
+                new PostDetail(post, "사용자1", "https://image.url/" + postId, false),
+                List.of("맑음"), "쏘나타", "승용");
+    }
+}
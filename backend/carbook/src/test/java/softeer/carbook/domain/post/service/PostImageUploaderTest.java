@@ -0,0 +1,367 @@
+package softeer.carbook.domain.post.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import softeer.carbook.domain.post.exception.ImageUploadBusyException;
+import softeer.carbook.domain.post.model.Image;
+import softeer.carbook.domain.post.model.ImageObject;
+import softeer.carbook.domain.post.repository.ImageObjectRepository;
+import softeer.carbook.domain.post.repository.ObjectStore;
+import softeer.carbook.domain.post.repository.S3DeleteQueueRepository;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostImageUploaderTest {
+    @Mock
+    private ObjectStore objectStore;
+    @Mock
+    private ImageResizer imageResizer;
+    @Mock
+    private ImageObjectRepository imageObjectRepository;
+    @Mock
+    private S3DeleteQueueRepository s3DeleteQueueRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private Consumer<Image> onUploaded;
+    @Mock
+    private Runnable onFailed;
+
+    private PostImageUploader postImageUploader;
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockMultipartFile image = new MockMultipartFile(
+            "image", "testImage.jpeg", "image/jpeg", new byte[]{1, 2, 3});
+    private final String digest = "039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81";
+    private final String imageURL = "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/" + digest + ".jpeg";
+
+    @BeforeEach
+    void setUp() throws IOException {
+        postImageUploader = new PostImageUploader(objectStore, imageResizer, imageObjectRepository,
+                s3DeleteQueueRepository, new TransactionTemplate(transactionManager), meterRegistry, 1, 10, 3, 1);
+    }
+
+    // 같은 내용을 올리는 중인 다른 게시글이 없으면 추가한 그대로 잡힌다
+    private void givenReserved(String reservedURL) {
+        given(imageObjectRepository.add(any())).willReturn(true);
+        given(imageObjectRepository.findByDigest(digest))
+                .willReturn(Optional.of(new ImageObject(digest, reservedURL, null, null)));
+        given(objectStore.getKey(reservedURL)).willReturn(reservedURL.substring(reservedURL.indexOf("images/")));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        postImageUploader.shutdown();
+    }
+
+    @Test
+    @DisplayName("업로드가 끝나면 이미지 주소를 넘긴다")
+    void upload() {
+        // given
+        given(objectStore.getUrl("images/" + digest + ".jpeg")).willReturn(imageURL);
+        givenReserved(imageURL);
+        given(objectStore.upload(any(File.class), eq("image/jpeg"), eq("images"), eq(digest + ".jpeg")))
+                .willReturn(imageURL);
+
+        // when
+        postImageUploader.upload(image, 9, onUploaded, onFailed);
+
+        // then
+        verify(onUploaded, timeout(1000)).accept(argThat(uploaded ->
+                uploaded.getImageUrl().equals(imageURL) && uploaded.getThumbnailUrl() == null));
+        verify(imageObjectRepository).add(argThat(imageObject ->
+                imageObject.getDigest().equals(digest) && imageObject.getImageUrl().equals(imageURL)));
+        verify(imageObjectRepository).markUploaded(digest, null, null);
+    }
+
+    @Test
+    @DisplayName("썸네일과 상세 화면 크기 이미지도 함께 올린다")
+    void uploadResizedImages() {
+        // given
+        BufferedImage source = new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB);
+        byte[] thumbnail = {1};
+        byte[] feed = {2};
+        givenReserved(imageURL);
+        given(objectStore.upload(any(File.class), anyString(), anyString(), anyString())).willReturn(imageURL);
+        given(imageResizer.read(any(File.class))).willReturn(Optional.of(source));
+        given(imageResizer.toThumbnail(source)).willReturn(thumbnail);
+        given(imageResizer.toFeedSize(source)).willReturn(feed);
+        given(objectStore.upload(thumbnail, "image/jpeg", "images/thumbnail", digest + ".jpg")).willReturn("thumbnailURL");
+        given(objectStore.upload(feed, "image/jpeg", "images/feed", digest + ".jpg")).willReturn("feedURL");
+
+        // when
+        postImageUploader.upload(image, 9, onUploaded, onFailed);
+
+        // then
+        verify(onUploaded, timeout(1000)).accept(argThat(uploaded ->
+                uploaded.getImageUrl().equals(imageURL)
+                        && uploaded.getThumbnailUrl().equals("thumbnailURL")
+                        && uploaded.getFeedUrl().equals("feedURL")));
+        verify(imageObjectRepository).markUploaded(digest, "thumbnailURL", "feedURL");
+    }
+
+    @Test
+    @DisplayName("업로드에 실패하면 다시 시도한다")
+    void retry() {
+        // given
+        givenReserved(imageURL);
+        given(objectStore.upload(any(File.class), any(), anyString(), anyString()))
+                .willThrow(new IllegalArgumentException("Image Upload Failed"))
+                .willReturn(imageURL);
+
+        // when
+        postImageUploader.upload(image, 9, onUploaded, onFailed);
+
+        // then
+        verify(onUploaded, timeout(1000)).accept(any());
+        verify(objectStore, times(2)).upload(any(File.class), any(), anyString(), anyString());
+        verify(imageObjectRepository).add(any());
+    }
+
+    @Test
+    @DisplayName("max-attempts 번 실패하면 포기한다")
+    void giveUp() {
+        // given
+        givenReserved(imageURL);
+        given(objectStore.upload(any(File.class), any(), anyString(), anyString()))
+                .willThrow(new IllegalArgumentException("Image Upload Failed"));
+
+        // when
+        postImageUploader.upload(image, 9, onUploaded, onFailed);
+
+        // then
+        verify(objectStore, timeout(1000).times(3)).upload(any(File.class), any(), anyString(), anyString());
+        verify(onFailed, timeout(1000)).run();
+        verify(onUploaded, never()).accept(any());
+        verify(imageObjectRepository).add(any());
+        verify(imageObjectRepository).release(digest);
+    }
+
+    @Test
+    @DisplayName("onUploaded 가 실패해 다시 시도해도 참조 수는 한 번만 늘린다")
+    void retryCallbackWithoutAcquiringAgain() {
+        // given
+        given(imageObjectRepository.acquire(digest))
+                .willReturn(Optional.of(new ImageObject(digest, imageURL, null, null)));
+        doThrow(new IllegalStateException()).doNothing().when(onUploaded).accept(any());
+
+        // when
+        postImageUploader.upload(image, 9, onUploaded, onFailed);
+
+        // then
+        verify(onUploaded, timeout(1000).times(2)).accept(any());
+        verify(imageObjectRepository).acquire(digest);
+        verify(onFailed, never()).run();
+    }
+
+    @Test
+    @DisplayName("끝내 실패하면 얻어 둔 참조를 돌려주고 onFailed 를 호출한다")
+    void releaseAcquiredImageWhenGivingUp() {
+        // given
+        given(imageObjectRepository.acquire(digest))
+                .willReturn(Optional.of(new ImageObject(digest, imageURL, null, null)));
+        doThrow(new IllegalStateException()).when(onUploaded).accept(any());
+
+        // when
+        postImageUploader.upload(image, 9, onUploaded, onFailed);
+
+        // then
+        verify(onFailed, timeout(1000)).run();
+        verify(onUploaded, times(3)).accept(any());
+        verify(imageObjectRepository).acquire(digest);
+        verify(imageObjectRepository).release(digest);
+    }
+
+    @Test
+    @DisplayName("종료할 때 기다리던 재시도를 버리지 않고 바로 시도한다")
+    void retryWaitingImagesOnShutdown() throws IOException, InterruptedException {
+        // given
+        MeterRegistry slowRetryRegistry = new SimpleMeterRegistry();
+        PostImageUploader slowRetryUploader = new PostImageUploader(objectStore, imageResizer, imageObjectRepository,
+                s3DeleteQueueRepository, new TransactionTemplate(transactionManager), slowRetryRegistry, 1, 10, 3, 60000);
+        givenReserved(imageURL);
+        given(objectStore.upload(any(File.class), any(), anyString(), anyString()))
+                .willThrow(new IllegalArgumentException("Image Upload Failed"))
+                .willReturn(imageURL);
+        slowRetryUploader.upload(image, 9, onUploaded, onFailed);
+        for (int i = 0; i < 100 && slowRetryRegistry.get("carbook.upload.retried").counter().count() == 0; i++) {
+            Thread.sleep(10);
+        }
+
+        // when
+        slowRetryUploader.shutdown();
+
+        // then
+        verify(onUploaded).accept(any());
+        verify(onFailed, never()).run();
+    }
+
+    @Test
+    @DisplayName("이미지를 옮겨 두지 못하면 바로 실패한다")
+    void uploadFailsWhenStagingFails() throws IOException {
+        // given
+        MockMultipartFile brokenImage = spy(image);
+        doThrow(new IOException()).when(brokenImage).transferTo(any(Path.class));
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> postImageUploader.upload(brokenImage, 9, onUploaded));
+        verify(objectStore, never()).upload(any(File.class), any(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("올리는 중이거나 기다리는 이미지가 가득 차면 더 받지 않는다")
+    void rejectWhenBusy() throws IOException, InterruptedException {
+        // given
+        MeterRegistry busyRegistry = new SimpleMeterRegistry();
+        PostImageUploader busyUploader = new PostImageUploader(objectStore, imageResizer, imageObjectRepository,
+                s3DeleteQueueRepository, new TransactionTemplate(transactionManager), busyRegistry, 1, 0, 3, 1);
+        CountDownLatch uploading = new CountDownLatch(1);
+        given(imageObjectRepository.acquire(digest)).willAnswer(invocation -> {
+            uploading.await();
+            return Optional.of(new ImageObject(digest, imageURL, null, null));
+        });
+
+        try {
+            // when
+            busyUploader.upload(image, 9, onUploaded, onFailed);
+
+            // then
+            assertThrows(ImageUploadBusyException.class, () -> busyUploader.upload(image, 10, onUploaded));
+            assertThat(busyRegistry.get("carbook.upload.rejected").counter().count()).isEqualTo(1);
+            assertThat(busyRegistry.get("carbook.upload.pending").gauge().value()).isEqualTo(1);
+        } finally {
+            uploading.countDown();
+            busyUploader.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("같은 내용의 이미지가 이미 있으면 다시 올리지 않는다")
+    void reuseImageObject() {
+        // given
+        given(imageObjectRepository.acquire(digest))
+                .willReturn(Optional.of(new ImageObject(digest, imageURL, "thumbnailURL", "feedURL")));
+
+        // when
+        postImageUploader.upload(image, 9, onUploaded, onFailed);
+
+        // then
+        verify(onUploaded, timeout(1000)).accept(argThat(uploaded ->
+                uploaded.getPostId() == 9 && uploaded.getImageUrl().equals(imageURL)));
+        verify(objectStore, never()).upload(any(File.class), any(), anyString(), anyString());
+        verify(imageObjectRepository, never()).add(any());
+    }
+
+    @Test
+    @DisplayName("같은 내용을 다른 게시글이 올리는 중이면 그 키에 직접 올려, 먼저 올리던 쪽이 실패해도 게시한다")
+    void uploadWhileOtherPostIsUploading() {
+        // given
+        String uploadingURL = "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/" + digest + ".jpg";
+        givenReserved(uploadingURL);
+        given(objectStore.upload(any(File.class), eq("image/jpeg"), eq("images"), eq(digest + ".jpg")))
+                .willReturn(uploadingURL);
+
+        // when
+        postImageUploader.upload(image, 10, onUploaded, onFailed);
+
+        // then
+        verify(onUploaded, timeout(1000)).accept(argThat(uploaded ->
+                uploaded.getPostId() == 10 && uploaded.getImageUrl().equals(uploadingURL)));
+        verify(imageObjectRepository).acquire(digest);
+        verify(imageObjectRepository).add(any());
+        verify(imageObjectRepository).markUploaded(digest, null, null);
+    }
+
+    @Test
+    @DisplayName("같은 내용의 이미지를 지우는 중이면 다 지운 뒤에 다시 올린다")
+    void retryWhileImageObjectIsDeleted() {
+        // given
+        given(imageObjectRepository.add(any())).willReturn(false).willReturn(true);
+        given(imageObjectRepository.findByDigest(digest))
+                .willReturn(Optional.of(new ImageObject(digest, imageURL, null, null)));
+        given(objectStore.getKey(imageURL)).willReturn("images/" + digest + ".jpeg");
+        given(objectStore.upload(any(File.class), any(), anyString(), anyString())).willReturn(imageURL);
+
+        // when
+        postImageUploader.upload(image, 9, onUploaded, onFailed);
+
+        // then
+        verify(onUploaded, timeout(1000)).accept(any());
+        verify(imageObjectRepository, times(2)).acquire(digest);
+        verify(imageObjectRepository, times(2)).add(any());
+        verify(objectStore, times(1)).upload(any(File.class), any(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("다른 게시글이 쓰고 있는 이미지는 지우지 않는다")
+    void releaseSharedImage() {
+        // given
+        given(imageObjectRepository.findByImageUrl(imageURL))
+                .willReturn(Optional.of(new ImageObject(digest, imageURL, null, null)));
+        given(imageObjectRepository.release(digest)).willReturn(false);
+
+        // when
+        postImageUploader.release(new Image(9, imageURL));
+
+        // then
+        verify(s3DeleteQueueRepository, never()).enqueue(any());
+    }
+
+    @Test
+    @DisplayName("마지막으로 쓰던 게시글이 놓으면 크기별 이미지까지 삭제 큐에 넣는다")
+    void releaseLastReference() {
+        // given
+        String thumbnailURL = "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/thumbnail/" + digest + ".jpg";
+        given(imageObjectRepository.findByImageUrl(imageURL))
+                .willReturn(Optional.of(new ImageObject(digest, imageURL, thumbnailURL, null)));
+        given(imageObjectRepository.release(digest)).willReturn(true);
+        given(imageObjectRepository.findByDigest(digest))
+                .willReturn(Optional.of(new ImageObject(digest, imageURL, thumbnailURL, null)));
+        given(objectStore.getKey(imageURL)).willReturn("images/" + digest + ".jpeg");
+        given(objectStore.getKey(thumbnailURL)).willReturn("images/thumbnail/" + digest + ".jpg");
+
+        // when
+        postImageUploader.release(new Image(9, imageURL, thumbnailURL, null));
+
+        // then
+        verify(s3DeleteQueueRepository).enqueue(List.of("images/" + digest + ".jpeg", "images/thumbnail/" + digest + ".jpg"));
+    }
+
+    @Test
+    @DisplayName("중복 제거 전에 올라간 이미지는 바로 삭제 큐에 넣는다")
+    void releaseLegacyImage() {
+        // given
+        String legacyURL = "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/9_testImage.jpeg";
+        given(objectStore.getKey(legacyURL)).willReturn("images/9_testImage.jpeg");
+
+        // when
+        postImageUploader.release(new Image(9, legacyURL));
+
+        // then
+        verify(s3DeleteQueueRepository).enqueue(List.of("images/9_testImage.jpeg"));
+        verify(imageObjectRepository, never()).release(anyString());
+    }
+}
@@ -4,25 +4,33 @@ import org.assertj.core.api.AssertionsForClassTypes;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import softeer.carbook.domain.follow.repository.FollowRepository;
 import softeer.carbook.domain.like.repository.LikeRepository;
+import softeer.carbook.domain.like.service.LikeCountBuffer;
+import softeer.carbook.domain.like.service.LikedPostFilter;
 import softeer.carbook.domain.post.dto.*;
 import softeer.carbook.domain.post.exception.InvalidPostAccessException;
+import softeer.carbook.domain.post.exception.PostNotExistException;
+import softeer.carbook.domain.post.model.CachedPostDetail;
 import softeer.carbook.domain.post.model.Image;
 import softeer.carbook.domain.post.model.Post;
+import softeer.carbook.domain.post.model.PostDetail;
 import softeer.carbook.domain.post.repository.ImageRepository;
 import softeer.carbook.domain.post.repository.PostRepository;
-import softeer.carbook.domain.post.repository.S3Repository;
 import softeer.carbook.domain.tag.exception.HashtagNotExistException;
 import softeer.carbook.domain.tag.model.Hashtag;
 import softeer.carbook.domain.tag.model.Model;
 import softeer.carbook.domain.tag.model.Type;
 import softeer.carbook.domain.tag.repository.TagRepository;
+import softeer.carbook.domain.tag.service.TagAutocompleteIndex;
 import softeer.carbook.domain.user.model.User;
 import softeer.carbook.domain.user.repository.UserRepository;
 import softeer.carbook.global.dto.Message;
@@ -34,11 +42,17 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -58,7 +72,25 @@ class PostServiceTest {
     @Mock
     private TagRepository tagRepository;
     @Mock
-    private S3Repository s3Repository;
+    private PopularPostRanking popularPostRanking;
+    @Mock
+    private PostTagIndex postTagIndex;
+    @Mock
+    private TagAutocompleteIndex tagAutocompleteIndex;
+    @Mock
+    private PostDetailCache postDetailCache;
+    @Mock
+    private HomeTimeline homeTimeline;
+    @Mock
+    private LikeCountBuffer likeCountBuffer;
+    @Mock
+    private LikedPostFilter likedPostFilter;
+    @Mock
+    private PostImageUploader postImageUploader;
+    @Mock
+    private DirectImageUploader directImageUploader;
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
 
     private final int POST_COUNT = 10;
     private final List<Image> images = new ArrayList<>(List.of(
@@ -76,8 +108,6 @@ class PostServiceTest {
             new Post(8, 8, null, null, null, 8, 24),
             new Post(6, 6, null, null, null, 6, 25)
     ));
-    private final Image image1 = new Image(8, "/eighth/image.jpg");
-    private final Image image2 = new Image(6, "/sixth/image.jpg");
     private final List<Image> imagesEightAndSix = new ArrayList<Image>(List.of(
             new Image(8, "/eighth/image.jpg"),
             new Image(6, "/sixth/image.jpg")
@@ -137,6 +167,25 @@ class PostServiceTest {
         verify(imageRepository).getImagesOfRecentFollowingPosts(POST_COUNT, postId, user.getId(), lastWeekDay);
     }
 
+    @Test
+    @DisplayName("로그인 상태 메인 페이지 테스트 - 미리 만들어 둔 타임라인 사용")
+    void getRecentFollowerPostsFromTimelineTest() {
+        //given
+        int postId = 9;
+        User user = new User(15, "user15@exam.com", "15번유저", "pw15");
+        given(homeTimeline.findPostIds(user.getId(), postId, POST_COUNT)).willReturn(Optional.of(List.of(1, 2)));
+        given(imageRepository.getImagesByPostIds(List.of(1, 2))).willReturn(images);
+        given(likeRepository.findLikedPostIds(eq(user.getId()), anyList())).willReturn(List.of(1));
+
+        //when
+        LoginPostsResponse loginPostsResponse = postService.getRecentFollowerPosts(postId, user);
+
+        //then
+        assertThat(loginPostsResponse.getImages()).isEqualTo(images);
+        assertThat(loginPostsResponse.getLikedPostIds()).isEqualTo(List.of(1));
+        verify(imageRepository, never()).getImagesOfRecentFollowingPosts(anyInt(), anyInt(), anyInt(), anyString());
+    }
+
     @Test
     @DisplayName("팔로잉중인 게시글이 없는 경우 테스트")
     void getNoFollowingPostsTest() {
@@ -163,11 +212,8 @@ class PostServiceTest {
         //given
         int postId = 0;
         User user = new User(15, "user15@exam.com", "15번유저", "pw15");
-        LocalDateTime lastWeek = LocalDateTime.now().minusWeeks(1);
-        String lastWeekDay = lastWeek.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-        given(postRepository.findPopularPostsDuringWeek(lastWeekDay)).willReturn(posts);
-        given(imageRepository.getImageByPostId(8)).willReturn(image1);
-        given(imageRepository.getImageByPostId(6)).willReturn(image2);
+        given(popularPostRanking.findPostIdsAfter(postId, POST_COUNT)).willReturn(List.of(8, 6));
+        given(imageRepository.getImagesByPostIds(List.of(8, 6))).willReturn(imagesEightAndSix);
 
         //when
         LoginPostsResponse loginPostsResponse = postService.getPopularPostsDuringWeek(postId, user);
@@ -176,9 +222,8 @@ class PostServiceTest {
         assertThat(loginPostsResponse.isLogin()).isTrue();
         assertThat(loginPostsResponse.getImages()).usingRecursiveComparison().isEqualTo(imagesEightAndSix);
 
-        verify(postRepository).findPopularPostsDuringWeek(lastWeekDay);
-        verify(imageRepository).getImageByPostId(8);
-        verify(imageRepository).getImageByPostId(6);
+        verify(popularPostRanking).findPostIdsAfter(postId, POST_COUNT);
+        verify(imageRepository).getImagesByPostIds(List.of(8, 6));
     }
 
     @Test
@@ -189,28 +234,19 @@ class PostServiceTest {
         String hashtags = "맑음 흐림";
         String type = "type";
         String model = "model";
-        String[] tagNames = hashtags.split(" ");
+        List<String> tagNames = List.of("맑음", "흐림");
 
-        given(postRepository.searchByType(type)).willReturn(posts);
-        given(postRepository.searchByModel(model)).willReturn(posts);
-        given(postRepository.searchByHashtag(tagNames[0])).willReturn(posts);
-        given(postRepository.searchByHashtag(tagNames[1])).willReturn(posts);
-        given(imageRepository.getImageByPostId(8)).willReturn(image1);
-        given(imageRepository.getImageByPostId(6)).willReturn(image2);
+        given(postRepository.searchPostIdsByTags(type, model, tagNames, Integer.MAX_VALUE, POST_COUNT)).willReturn(List.of(8, 6));
+        given(imageRepository.getImagesByPostIds(List.of(8, 6))).willReturn(imagesEightAndSix);
 
         // when
         PostsSearchResponse response = postService.searchByTags(hashtags, type, model, index);
 
         // then
         List<Image> result = response.getImages();
-        assertThat(result.size()).isEqualTo(2);
         assertThat(result).usingRecursiveComparison().isEqualTo(imagesEightAndSix);
-        verify(postRepository).searchByType(type);
-        verify(postRepository).searchByModel(model);
-        verify(postRepository).searchByHashtag(tagNames[0]);
-        verify(postRepository).searchByHashtag(tagNames[1]);
-        verify(imageRepository).getImageByPostId(8);
-        verify(imageRepository).getImageByPostId(6);
+        verify(postRepository).searchPostIdsByTags(type, model, tagNames, Integer.MAX_VALUE, POST_COUNT);
+        verify(imageRepository).getImagesByPostIds(List.of(8, 6));
     }
 
     @Test
@@ -221,26 +257,19 @@ class PostServiceTest {
         String hashtags = "맑음 흐림";
         String type = null;
         String model = "model";
-        String[] tagNames = hashtags.split(" ");
+        List<String> tagNames = List.of("맑음", "흐림");
 
-        given(postRepository.searchByModel(model)).willReturn(posts);
-        given(postRepository.searchByHashtag(tagNames[0])).willReturn(posts);
-        given(postRepository.searchByHashtag(tagNames[1])).willReturn(posts);
-        given(imageRepository.getImageByPostId(8)).willReturn(image1);
-        given(imageRepository.getImageByPostId(6)).willReturn(image2);
+        given(postRepository.searchPostIdsByTags(type, model, tagNames, Integer.MAX_VALUE, POST_COUNT)).willReturn(List.of(8, 6));
+        given(imageRepository.getImagesByPostIds(List.of(8, 6))).willReturn(imagesEightAndSix);
 
         // when
         PostsSearchResponse response = postService.searchByTags(hashtags, type, model, index);
 
         // then
         List<Image> result = response.getImages();
-        assertThat(result.size()).isEqualTo(2);
         assertThat(result).usingRecursiveComparison().isEqualTo(imagesEightAndSix);
-        verify(postRepository).searchByModel(model);
-        verify(postRepository).searchByHashtag(tagNames[0]);
-        verify(postRepository).searchByHashtag(tagNames[1]);
-        verify(imageRepository).getImageByPostId(8);
-        verify(imageRepository).getImageByPostId(6);
+        verify(postRepository).searchPostIdsByTags(type, model, tagNames, Integer.MAX_VALUE, POST_COUNT);
+        verify(imageRepository).getImagesByPostIds(List.of(8, 6));
     }
 
     @Test
@@ -251,26 +280,19 @@ class PostServiceTest {
         String hashtags = "맑음 흐림";
         String type = "type";
         String model = null;
-        String[] tagNames = hashtags.split(" ");
+        List<String> tagNames = List.of("맑음", "흐림");
 
-        given(postRepository.searchByType(type)).willReturn(posts);
-        given(postRepository.searchByHashtag(tagNames[0])).willReturn(posts);
-        given(postRepository.searchByHashtag(tagNames[1])).willReturn(posts);
-        given(imageRepository.getImageByPostId(8)).willReturn(image1);
-        given(imageRepository.getImageByPostId(6)).willReturn(image2);
+        given(postRepository.searchPostIdsByTags(type, model, tagNames, Integer.MAX_VALUE, POST_COUNT)).willReturn(List.of(8, 6));
+        given(imageRepository.getImagesByPostIds(List.of(8, 6))).willReturn(imagesEightAndSix);
 
         // when
         PostsSearchResponse response = postService.searchByTags(hashtags, type, model, index);
 
         // then
         List<Image> result = response.getImages();
-        assertThat(result.size()).isEqualTo(2);
         assertThat(result).usingRecursiveComparison().isEqualTo(imagesEightAndSix);
-        verify(postRepository).searchByType(type);
-        verify(postRepository).searchByHashtag(tagNames[0]);
-        verify(postRepository).searchByHashtag(tagNames[1]);
-        verify(imageRepository).getImageByPostId(8);
-        verify(imageRepository).getImageByPostId(6);
+        verify(postRepository).searchPostIdsByTags(type, model, tagNames, Integer.MAX_VALUE, POST_COUNT);
+        verify(imageRepository).getImagesByPostIds(List.of(8, 6));
     }
 
     @Test
@@ -278,27 +300,22 @@ class PostServiceTest {
     void searchByTagsWithHashtags() {
         // given
         int index = 0;
-        String hashtags = "맑음 흐림";
+        String hashtags = "맑음  흐림 맑음";
         String type = null;
         String model = null;
-        String[] tagNames = hashtags.split(" ");
+        List<String> tagNames = List.of("맑음", "흐림");
 
-        given(postRepository.searchByHashtag(tagNames[0])).willReturn(posts);
-        given(postRepository.searchByHashtag(tagNames[1])).willReturn(posts);
-        given(imageRepository.getImageByPostId(8)).willReturn(image1);
-        given(imageRepository.getImageByPostId(6)).willReturn(image2);
+        given(postRepository.searchPostIdsByTags(type, model, tagNames, Integer.MAX_VALUE, POST_COUNT)).willReturn(List.of(8, 6));
+        given(imageRepository.getImagesByPostIds(List.of(8, 6))).willReturn(imagesEightAndSix);
 
         // when
         PostsSearchResponse response = postService.searchByTags(hashtags, type, model, index);
 
         // then
         List<Image> result = response.getImages();
-        assertThat(result.size()).isEqualTo(2);
         assertThat(result).usingRecursiveComparison().isEqualTo(imagesEightAndSix);
-        verify(postRepository).searchByHashtag(tagNames[0]);
-        verify(postRepository).searchByHashtag(tagNames[1]);
-        verify(imageRepository).getImageByPostId(8);
-        verify(imageRepository).getImageByPostId(6);
+        verify(postRepository).searchPostIdsByTags(type, model, tagNames, Integer.MAX_VALUE, POST_COUNT);
+        verify(imageRepository).getImagesByPostIds(List.of(8, 6));
     }
 
     @Test
@@ -309,24 +326,50 @@ class PostServiceTest {
         String hashtags = "맑음 흐림";
         String type = "type";
         String model = "model";
-        String[] tagNames = hashtags.split(" ");
+        List<String> tagNames = List.of("맑음", "흐림");
 
-        given(postRepository.searchByType(type)).willReturn(posts);
-        given(postRepository.searchByModel(model)).willReturn(posts);
-        given(postRepository.searchByHashtag(tagNames[0])).willReturn(posts);
-        given(postRepository.searchByHashtag(tagNames[1])).willReturn(new ArrayList<>());
+        given(postRepository.searchPostIdsByTags(type, model, tagNames, Integer.MAX_VALUE, POST_COUNT)).willReturn(new ArrayList<>());
 
         // when
         PostsSearchResponse response = postService.searchByTags(hashtags, type, model, index);
 
         // then
         List<Image> result = response.getImages();
-        assertThat(result.size()).isEqualTo(0);
         assertThat(result).usingRecursiveComparison().isEqualTo(new ArrayList<>());
-        verify(postRepository).searchByType(type);
-        verify(postRepository).searchByModel(model);
-        verify(postRepository).searchByHashtag(tagNames[0]);
-        verify(postRepository).searchByHashtag(tagNames[1]);
+        verify(postRepository).searchPostIdsByTags(type, model, tagNames, Integer.MAX_VALUE, POST_COUNT);
+        verify(imageRepository).getImagesByPostIds(new ArrayList<>());
+    }
+
+    @Test
+    @DisplayName("태그 인덱스를 사용할 수 있으면 인덱스로 게시물을 검색하는 테스트")
+    void searchByTagsWithIndex() {
+        // given
+        String hashtags = "맑음 흐림";
+        String type = "type";
+        List<String> tagNames = List.of("맑음", "흐림");
+
+        given(postTagIndex.isAvailable()).willReturn(true);
+        given(postTagIndex.search(type, null, tagNames, Integer.MAX_VALUE, POST_COUNT)).willReturn(List.of(8, 6));
+        given(imageRepository.getImagesByPostIds(List.of(8, 6))).willReturn(imagesEightAndSix);
+
+        // when
+        PostsSearchResponse response = postService.searchByTags(hashtags, type, null, 0);
+
+        // then
+        assertThat(response.getImages()).usingRecursiveComparison().isEqualTo(imagesEightAndSix);
+        verify(postTagIndex).search(type, null, tagNames, Integer.MAX_VALUE, POST_COUNT);
+        verify(postRepository, never()).searchPostIdsByTags(any(), any(), anyList(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("검색 조건 없이 게시물을 검색한 경우 테스트")
+    void searchByTagsWithoutCondition() {
+        // when
+        PostsSearchResponse response = postService.searchByTags(" ", null, null, 0);
+
+        // then
+        assertThat(response.getImages()).isEmpty();
+        verify(postRepository, never()).searchPostIdsByTags(any(), any(), anyList(), anyInt(), anyInt());
     }
 
     @Test
@@ -342,11 +385,13 @@ class PostServiceTest {
                 .follower(3)
                 .following(0)
                 .images(images)
+                .nextIndex(1)
+                .hasNext(false)
                 .build();
 
         given(followRepository.getFollowerCount(user.getId())).willReturn(3);
         given(followRepository.getFollowingCount(user.getId())).willReturn(0);
-        given(imageRepository.findImagesByUserId(user.getId())).willReturn(images);
+        given(imageRepository.findImagesByUserId(user.getId(), 31)).willReturn(images);
 
         // when
         MyProfileResponse result = postService.myProfile(user);
@@ -355,7 +400,7 @@ class PostServiceTest {
         assertThat(result).usingRecursiveComparison().isEqualTo(expectedResult);
         verify(followRepository).getFollowerCount(user.getId());
         verify(followRepository).getFollowingCount(user.getId());
-        verify(imageRepository).findImagesByUserId(user.getId());
+        verify(imageRepository).findImagesByUserId(user.getId(), 31);
     }
 
     @Test
@@ -374,13 +419,15 @@ class PostServiceTest {
                 .follower(3)
                 .following(0)
                 .images(images)
+                .nextIndex(1)
+                .hasNext(false)
                 .build();
 
         given(userRepository.findUserByNickname(profileUserNickname)).willReturn(profileUser);
         given(followRepository.isFollow(loginUser.getId(), profileUser.getId())).willReturn(true);
         given(followRepository.getFollowerCount(profileUser.getId())).willReturn(3);
         given(followRepository.getFollowingCount(profileUser.getId())).willReturn(0);
-        given(imageRepository.findImagesByNickName(profileUserNickname)).willReturn(images);
+        given(imageRepository.findImagesByUserId(profileUser.getId(), 31)).willReturn(images);
 
         OtherProfileResponse result = postService.otherProfile(loginUser, profileUserNickname);
 
@@ -389,7 +436,29 @@ class PostServiceTest {
         verify(followRepository).isFollow(loginUser.getId(), profileUser.getId());
         verify(followRepository).getFollowerCount(profileUser.getId());
         verify(followRepository).getFollowingCount(profileUser.getId());
-        verify(imageRepository).findImagesByNickName(profileUserNickname);
+        verify(imageRepository).findImagesByUserId(profileUser.getId(), 31);
+    }
+
+    @Test
+    @DisplayName("프로필 다음 페이지 테스트")
+    void getProfileImages() {
+        // given
+        User profileUser = new User(17, "user17@gmail.com", "사용자17", "pw17");
+        List<Image> profileImages = new ArrayList<>();
+        for (int postId = 40; postId > 9; postId--) {
+            profileImages.add(new Image(postId, "/" + postId + "/image.jpg"));
+        }
+        given(userRepository.findUserByNickname(profileUser.getNickname())).willReturn(profileUser);
+        given(imageRepository.findImagesByUserIdBefore(profileUser.getId(), 41, 31)).willReturn(profileImages);
+
+        // when
+        ProfileImagesResponse result = postService.getProfileImages(profileUser.getNickname(), 41);
+
+        // then
+        assertThat(result.getImages()).isEqualTo(profileImages.subList(0, 30));
+        assertThat(result.getNextIndex()).isEqualTo(11);
+        assertThat(result.isHasNext()).isTrue();
+        verify(imageRepository).findImagesByUserIdBefore(profileUser.getId(), 41, 31);
     }
 
     @Test
@@ -398,7 +467,7 @@ class PostServiceTest {
         // given
         User user = new User(17, "user17@email.com", "사용자17", "pw17");
         Post post = new Post(1, 17, new Timestamp(12341241), new Timestamp(1231235), "asdf", 1, 23);
-        Image image = images.get(0);
+        PostDetail postDetail = new PostDetail(post, "사용자17", images.get(0).getImageUrl(), true);
         List<Type> types = new ArrayList<>(List.of(
                 new Type(1, "승용"), new Type(2, "SUV")));
         List<Model> models = new ArrayList<>(List.of(
@@ -406,26 +475,26 @@ class PostServiceTest {
         List<String> hashtags = new ArrayList<>(List.of(
                "맑음", "흐림"
         ));
-        given(postRepository.findPostById(anyInt())).willReturn(post);
+        given(postRepository.findPostDetailById(anyInt(), anyInt())).willReturn(postDetail);
         given(tagRepository.findHashtagsByPostId(anyInt())).willReturn(hashtags);
         given(tagRepository.findModelByModelId(anyInt())).willReturn(models);
         given(tagRepository.findTypeById(anyInt())).willReturn(types);
-        given(imageRepository.getImageByPostId(anyInt())).willReturn(image);
-        given(likeRepository.checkLike(anyInt(), anyInt())).willReturn(true);
-        given(userRepository.findUserById(anyInt())).willReturn(user);
 
         // when
         PostDetailResponse result = postService.getPostDetails(1, user);
 
         // then
         assertThat(result.isMyPost()).isTrue();
-        verify(postRepository).findPostById(anyInt());
+        assertThat(result.getNickname()).isEqualTo("사용자17");
+        assertThat(result.isLike()).isTrue();
+        verify(postRepository).findPostDetailById(1, 17);
         verify(tagRepository).findHashtagsByPostId(anyInt());
         verify(tagRepository).findModelByModelId(anyInt());
         verify(tagRepository).findTypeById(anyInt());
-        verify(imageRepository).getImageByPostId(anyInt());
-        verify(likeRepository).checkLike(anyInt(),anyInt());
-        verify(userRepository).findUserById(anyInt());
+        verify(postDetailCache).put(any(CachedPostDetail.class), anyLong());
+        verify(imageRepository, never()).getImageByPostId(anyInt());
+        verify(likeRepository, never()).checkLike(anyInt(), anyInt());
+        verify(userRepository, never()).findUserById(anyInt());
     }
 
     @Test
@@ -434,7 +503,7 @@ class PostServiceTest {
         // given
         User user = new User(17, "user17@email.com", "사용자17", "pw17");
         Post post = new Post(1, 1, new Timestamp(12341241), new Timestamp(1231235), "asdf", 1, 23);
-        Image image = images.get(0);
+        PostDetail postDetail = new PostDetail(post, "사용자17", images.get(0).getImageUrl(), true);
         List<Type> types = new ArrayList<>(List.of(
                 new Type(1, "승용"), new Type(2, "SUV")));
         List<Model> models = new ArrayList<>(List.of(
@@ -442,26 +511,71 @@ class PostServiceTest {
         List<String> hashtags = new ArrayList<>(List.of(
                 "맑음", "흐림"
         ));
-        given(postRepository.findPostById(anyInt())).willReturn(post);
+        given(postRepository.findPostDetailById(anyInt(), anyInt())).willReturn(postDetail);
         given(tagRepository.findHashtagsByPostId(anyInt())).willReturn(hashtags);
         given(tagRepository.findModelByModelId(anyInt())).willReturn(models);
         given(tagRepository.findTypeById(anyInt())).willReturn(types);
-        given(imageRepository.getImageByPostId(anyInt())).willReturn(image);
-        given(likeRepository.checkLike(anyInt(), anyInt())).willReturn(true);
-        given(userRepository.findUserById(anyInt())).willReturn(user);
 
         // when
         PostDetailResponse result = postService.getPostDetails(1, user);
 
         // then
         assertThat(result.isMyPost()).isFalse();
-        verify(postRepository).findPostById(anyInt());
+        assertThat(result.getNickname()).isEqualTo("사용자17");
+        assertThat(result.isLike()).isTrue();
+        verify(postRepository).findPostDetailById(1, 17);
         verify(tagRepository).findHashtagsByPostId(anyInt());
         verify(tagRepository).findModelByModelId(anyInt());
         verify(tagRepository).findTypeById(anyInt());
-        verify(imageRepository).getImageByPostId(anyInt());
-        verify(likeRepository).checkLike(anyInt(),anyInt());
-        verify(userRepository).findUserById(anyInt());
+        verify(postDetailCache).put(any(CachedPostDetail.class), anyLong());
+        verify(imageRepository, never()).getImageByPostId(anyInt());
+        verify(likeRepository, never()).checkLike(anyInt(), anyInt());
+        verify(userRepository, never()).findUserById(anyInt());
+    }
+
+    @Test
+    @DisplayName("캐시된 글 상세 페이지 불러오기 테스트 - 좋아요 여부만 조회")
+    void getCachedPostDetails() {
+        // given
+        User user = new User(17, "user17@email.com", "사용자17", "pw17");
+        Post post = new Post(1, 1, new Timestamp(12341241), new Timestamp(1231235), "asdf", 1, 23);
+        CachedPostDetail cached = new CachedPostDetail(
+                new PostDetail(post, "사용자1", images.get(0).getImageUrl(), true),
+                List.of("맑음", "흐림"), "쏘나타", "승용");
+        given(postDetailCache.get(anyInt())).willReturn(cached);
+        given(likedPostFilter.mightContainLike(17, 1)).willReturn(true);
+        given(likeRepository.checkLike(anyInt(), anyInt())).willReturn(false);
+
+        // when
+        PostDetailResponse result = postService.getPostDetails(1, user);
+
+        // then
+        assertThat(result.isMyPost()).isFalse();
+        assertThat(result.isLike()).isFalse();
+        assertThat(result.getNickname()).isEqualTo("사용자1");
+        verify(likeRepository).checkLike(17, 1);
+        verify(postRepository, never()).findPostDetailById(anyInt(), anyInt());
+        verify(tagRepository, never()).findHashtagsByPostId(anyInt());
+    }
+
+    @Test
+    @DisplayName("캐시된 글 상세 페이지 불러오기 테스트 - 좋아요 필터에 없으면 조회하지 않음")
+    void getCachedPostDetailsNotLiked() {
+        // given
+        User user = new User(17, "user17@email.com", "사용자17", "pw17");
+        Post post = new Post(1, 1, new Timestamp(12341241), new Timestamp(1231235), "asdf", 1, 23);
+        CachedPostDetail cached = new CachedPostDetail(
+                new PostDetail(post, "사용자1", images.get(0).getImageUrl(), true),
+                List.of("맑음", "흐림"), "쏘나타", "승용");
+        given(postDetailCache.get(anyInt())).willReturn(cached);
+        given(likedPostFilter.mightContainLike(17, 1)).willReturn(false);
+
+        // when
+        PostDetailResponse result = postService.getPostDetails(1, user);
+
+        // then
+        assertThat(result.isLike()).isFalse();
+        verify(likeRepository, never()).checkLike(anyInt(), anyInt());
     }
 
     @Test
@@ -470,7 +584,11 @@ class PostServiceTest {
         // given
         User user = new User(17, "user17@email.com", "사용자17", "pw17");
         Post post = new Post(1, 17, new Timestamp(12341241), new Timestamp(1231235), "asdf", 1, 23);
+        Image image = new Image(1, "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/1_이미지.jpeg");
         given(postRepository.findPostById(anyInt())).willReturn(post);
+        given(postRepository.deletePostById(1)).willReturn(true);
+        given(imageRepository.removeImage(1)).willReturn(Optional.of(image));
+        given(tagRepository.findHashtagsByPostId(1)).willReturn(List.of("맑음"));
 
         // when
         Message result = postService.deletePost(1, user);
@@ -478,6 +596,79 @@ class PostServiceTest {
         // then
         assertThat(result.getMessage()).isEqualTo("Post Deleted Successfully");
         verify(postRepository).findPostById(anyInt());
+        verify(tagAutocompleteIndex).decreaseHashtagPopularity("맑음");
+        verify(postDetailCache).evict(1);
+        verify(postImageUploader).release(image);
+    }
+
+    @Test
+    @DisplayName("글 삭제 테스트 - 이미지가 올라가는 중이면 업로드가 끝난 뒤 회수한다")
+    void deletePendingPost() {
+        // given
+        User user = new User(17, "user17@email.com", "사용자17", "pw17");
+        Post post = new Post(1, 17, new Timestamp(12341241), new Timestamp(1231235), "asdf", 1, 23);
+        given(tagRepository.findModelByName(any())).willReturn(new Model(15, 3, "쏘나타"));
+        given(postRepository.addPost(any())).willReturn(1);
+        postService.createPost(new NewPostForm(null, null, new ArrayList<>(), "승용", "쏘나타", "asdf"), user);
+        ArgumentCaptor<Consumer<Image>> onUploaded = ArgumentCaptor.forClass(Consumer.class);
+        verify(postImageUploader).upload(any(), eq(1), onUploaded.capture(), any());
+        given(postRepository.findPostById(1)).willReturn(post);
+        given(postRepository.deletePostById(1)).willReturn(true);
+
+        // when
+        postService.deletePost(1, user);
+        Image uploaded = new Image(1, "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/1_이미지.jpeg");
+        given(postRepository.findPostByIdForUpdate(1)).willThrow(new PostNotExistException());
+        onUploaded.getValue().accept(uploaded);
+
+        // then
+        verify(postImageUploader).release(uploaded);
+        verify(imageRepository, never()).addImageIfAbsent(any());
+        verify(postTagIndex, never()).addPost(anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("이미지를 끝내 올리지 못하면 게시글을 삭제한다")
+    void discardPostWhenUploadFails() {
+        // given
+        User user = new User(17, "user17@email.com", "사용자17", "pw17");
+        Post post = new Post(1, 17, new Timestamp(12341241), new Timestamp(1231235), "asdf", 1, 0);
+        given(tagRepository.findModelByName(any())).willReturn(new Model(15, 3, "쏘나타"));
+        given(postRepository.addPost(any())).willReturn(1);
+        given(tagRepository.findHashtagByName("맑음")).willReturn(new Hashtag(1, "맑음"));
+        postService.createPost(new NewPostForm(null, null, List.of("맑음"), "승용", "쏘나타", "asdf"), user);
+        ArgumentCaptor<Runnable> onFailed = ArgumentCaptor.forClass(Runnable.class);
+        verify(postImageUploader).upload(any(), eq(1), any(), onFailed.capture());
+        given(postRepository.findPostById(1)).willReturn(post);
+        given(postRepository.deletePostById(1)).willReturn(true);
+        given(tagRepository.findHashtagsByPostId(1)).willReturn(List.of("맑음"));
+
+        // when
+        onFailed.getValue().run();
+
+        // then
+        verify(tagAutocompleteIndex).decreaseHashtagPopularity("맑음");
+        verify(homeTimeline).removePost(1, 17);
+    }
+
+    @Test
+    @DisplayName("이미 삭제된 게시글은 다시 정리하지 않는다")
+    void discardDeletedPost() {
+        // given
+        User user = new User(17, "user17@email.com", "사용자17", "pw17");
+        given(tagRepository.findModelByName(any())).willReturn(new Model(15, 3, "쏘나타"));
+        given(postRepository.addPost(any())).willReturn(1);
+        postService.createPost(new NewPostForm(null, null, new ArrayList<>(), "승용", "쏘나타", "asdf"), user);
+        ArgumentCaptor<Runnable> onFailed = ArgumentCaptor.forClass(Runnable.class);
+        verify(postImageUploader).upload(any(), eq(1), any(), onFailed.capture());
+        given(postRepository.findPostById(1)).willThrow(new PostNotExistException());
+
+        // when
+        onFailed.getValue().run();
+
+        // then
+        verify(postRepository, never()).deletePostById(anyInt());
+        verify(homeTimeline, never()).removePost(anyInt(), anyInt());
     }
 
     @Test
@@ -517,7 +708,7 @@ class PostServiceTest {
             add("테스트태그");
         }};
 
-        NewPostForm newPostForm = new NewPostForm(image, hashtagNames, "승용", "쏘나타", "테스트 쏘나타 게시글입니다");
+        NewPostForm newPostForm = new NewPostForm(image, null, hashtagNames, "승용", "쏘나타", "테스트 쏘나타 게시글입니다");
         User user = new User(17, "user17@email.com", "사용자17", "pw17");
 
         Model model = new Model(15,3, "쏘나타");
@@ -525,16 +716,86 @@ class PostServiceTest {
         String imageURL = "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/40472_다운로드 (1).jpeg";
         given(tagRepository.findModelByName(any())).willReturn(model);
         given(postRepository.addPost(any())).willReturn(postId);
-        given(s3Repository.upload(any(MultipartFile.class),anyString(),anyInt())).willReturn(imageURL);
         given(tagRepository.findHashtagByName(hashtagNames.get(0))).willReturn(hashtags.get(0));
         given(tagRepository.findHashtagByName(hashtagNames.get(1))).willThrow(new HashtagNotExistException());
         given(tagRepository.addHashtag(any())).willReturn(2);
+        Post post = new Post(postId, user.getId(), new Timestamp(12341241), new Timestamp(12341241), "테스트 쏘나타 게시글입니다", 15, 0);
+        given(postRepository.findPostByIdForUpdate(postId)).willReturn(post);
         Message result = postService.createPost(newPostForm, user);
 
         // Then
         AssertionsForClassTypes.assertThat(result.getMessage()).isEqualTo("Post create success");
         verify(tagRepository).findHashtagByName(hashtagNames.get(0));
         verify(tagRepository).addHashtag(any());
+        verify(imageRepository, never()).addImageIfAbsent(any());
+
+        // 업로드가 끝나야 이미지가 저장되고 목록에 보인다
+        Image uploaded = new Image(postId, imageURL);
+        given(imageRepository.addImageIfAbsent(uploaded)).willReturn(true);
+        ArgumentCaptor<Consumer<Image>> onUploaded = ArgumentCaptor.forClass(Consumer.class);
+        verify(postImageUploader).upload(eq(image), eq(postId), onUploaded.capture(), any());
+        onUploaded.getValue().accept(uploaded);
+        verify(imageRepository).addImageIfAbsent(uploaded);
+        verify(postImageUploader, never()).release(any());
+        verify(postTagIndex).addPost(postId, model.getId(), hashtagNames);
+        verify(homeTimeline).addPost(post);
+    }
+
+    @Test
+    @DisplayName("직접 올린 이미지로 게시글 등록 테스트")
+    void createPostWithImageKeyTest() {
+        // given
+        User user = new User(17, "user17@email.com", "사용자17", "pw17");
+        String imageKey = "uploads/17/direct.jpeg";
+        String imageURL = "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/" + imageKey;
+        NewPostForm newPostForm = new NewPostForm(null, imageKey, new ArrayList<>(), "승용", "쏘나타", "테스트 쏘나타 게시글입니다");
+        given(directImageUploader.verify(17, imageKey)).willReturn(imageURL);
+        given(tagRepository.findModelByName(any())).willReturn(new Model(15, 3, "쏘나타"));
+        given(postRepository.addPost(any())).willReturn(100);
+        Post post = new Post(100, 17, new Timestamp(12341241), new Timestamp(12341241), "테스트 쏘나타 게시글입니다", 15, 0);
+        given(postRepository.findPostById(100)).willReturn(post);
+
+        // when
+        Message result = postService.createPost(newPostForm, user);
+
+        // then
+        assertThat(result.getMessage()).isEqualTo("Post create success");
+        verify(directImageUploader).claim(imageKey, imageURL);
+        verify(imageRepository).addImage(argThat(image -> image.getPostId() == 100 && image.getImageUrl().equals(imageURL)));
+        verify(postRepository, never()).findPostByIdForUpdate(anyInt());
+        verify(homeTimeline).addPost(post);
+        verify(postImageUploader, never()).upload(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    @DisplayName("다른 게시글에 이미 쓴 키로는 게시글을 등록하지 않는다")
+    void createPostWithReusedImageKeyTest() {
+        // given
+        User user = new User(17, "user17@email.com", "사용자17", "pw17");
+        String imageKey = "uploads/17/direct.jpeg";
+        String imageURL = "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/" + imageKey;
+        NewPostForm newPostForm = new NewPostForm(null, imageKey, new ArrayList<>(), "승용", "쏘나타", "내용");
+        given(directImageUploader.verify(17, imageKey)).willReturn(imageURL);
+        doThrow(new IllegalArgumentException("Invalid Image")).when(directImageUploader).claim(imageKey, imageURL);
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> postService.createPost(newPostForm, user));
+        verify(postRepository, never()).addPost(any());
+        verify(homeTimeline, never()).addPost(any());
+    }
+
+    @Test
+    @DisplayName("직접 올린 이미지가 없으면 게시글을 등록하지 않는다")
+    void createPostWithMissingImageKeyTest() {
+        // given
+        User user = new User(17, "user17@email.com", "사용자17", "pw17");
+        NewPostForm newPostForm = new NewPostForm(null, "uploads/17/none.jpeg", new ArrayList<>(), "승용", "쏘나타", "내용");
+        given(directImageUploader.verify(17, "uploads/17/none.jpeg"))
+                .willThrow(new IllegalArgumentException("Image Upload Failed"));
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> postService.createPost(newPostForm, user));
+        verify(postRepository, never()).addPost(any());
     }
 
     @Test
@@ -564,11 +825,11 @@ class PostServiceTest {
         String imageURL = "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/40472_다운로드 (1).jpeg";
         given(postRepository.findPostById(postId)).willReturn(new Post(17,"변경 전 내용",15));
         given(tagRepository.findModelByName(any())).willReturn(model);
-        given(s3Repository.upload(any(MultipartFile.class),anyString(),anyInt())).willReturn(imageURL);
         given(tagRepository.findHashtagByName(hashtagNames.get(0))).willReturn(hashtags.get(0));
         given(tagRepository.findHashtagByName(hashtagNames.get(1))).willThrow(new HashtagNotExistException());
         given(tagRepository.addHashtag(any())).willReturn(2);
-        given(imageRepository.getImageByPostId(postId)).willReturn(new Image(postId,imageURL));
+        given(tagRepository.findHashtagsByPostId(postId)).willReturn(List.of("맑음", "지난태그"));
+        Image oldImage = new Image(postId,imageURL);
 
         Message result = postService.modifyPost(modifiedPostForm, user);
 
@@ -576,6 +837,101 @@ class PostServiceTest {
         AssertionsForClassTypes.assertThat(result.getMessage()).isEqualTo("Post modify success");
         verify(tagRepository).findHashtagByName(hashtagNames.get(0));
         verify(tagRepository).addHashtag(any());
+        // 원래 달려 있던 태그는 인기도를 다시 올리지 않는다
+        verify(tagAutocompleteIndex).increaseHashtagPopularity("테스트태그");
+        verify(tagAutocompleteIndex, never()).increaseHashtagPopularity("맑음");
+        verify(tagAutocompleteIndex).decreaseHashtagPopularity("지난태그");
+        verify(imageRepository, never()).replaceImage(any());
+
+        // 업로드가 끝나면 이미지를 바꾸고 이전 이미지를 지운다
+        Image uploaded = new Image(postId,
+                "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/100_modifiedTestImage.jpeg",
+                "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/thumbnail/100_modifiedTestImage.jpg",
+                "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/feed/100_modifiedTestImage.jpg");
+        given(imageRepository.replaceImage(uploaded)).willReturn(Optional.of(oldImage));
+        ArgumentCaptor<Consumer<Image>> onUploaded = ArgumentCaptor.forClass(Consumer.class);
+        verify(postImageUploader).upload(eq(image), eq(postId), onUploaded.capture(), any());
+        onUploaded.getValue().accept(uploaded);
+        verify(imageRepository).replaceImage(uploaded);
+        verify(postImageUploader).release(oldImage);
+    }
+
+    @Test
+    @DisplayName("게시글 수정 테스트 - 수정이 겹쳐도 바꾸는 시점의 이미지를 한 번씩만 회수한다")
+    void modifyPostTwice() {
+        // given
+        User user = new User(17, "user17@email.com", "사용자17", "pw17");
+        int postId = 100;
+        given(postRepository.findPostById(postId)).willReturn(new Post(17, "변경 전 내용", 15));
+        given(tagRepository.findModelByName(any())).willReturn(new Model(15, 3, "쏘나타"));
+        ModifiedPostForm modifiedPostForm = new ModifiedPostForm(postId, null, new ArrayList<>(), "승용", "쏘나타", "내용");
+        postService.modifyPost(modifiedPostForm, user);
+        postService.modifyPost(modifiedPostForm, user);
+        ArgumentCaptor<Consumer<Image>> onUploaded = ArgumentCaptor.forClass(Consumer.class);
+        verify(postImageUploader, times(2)).upload(any(), eq(postId), onUploaded.capture(), any());
+        Image original = new Image(postId, "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/original.jpeg");
+        Image first = new Image(postId, "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/first.jpeg");
+        Image second = new Image(postId, "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/second.jpeg");
+        given(imageRepository.replaceImage(first)).willReturn(Optional.of(original));
+        given(imageRepository.replaceImage(second)).willReturn(Optional.of(first));
+
+        // when
+        onUploaded.getAllValues().get(0).accept(first);
+        onUploaded.getAllValues().get(1).accept(second);
+
+        // then
+        verify(postImageUploader).release(original);
+        verify(postImageUploader).release(first);
+        verify(postImageUploader, never()).release(second);
+    }
+
+    @Test
+    @DisplayName("처음 올린 이미지가 올라가는 중에 수정하면 수정한 이미지를 남긴다")
+    void modifyPendingPost() {
+        // given
+        User user = new User(17, "user17@email.com", "사용자17", "pw17");
+        int postId = 100;
+        given(tagRepository.findModelByName(any())).willReturn(new Model(15, 3, "쏘나타"));
+        given(postRepository.addPost(any())).willReturn(postId);
+        postService.createPost(new NewPostForm(null, null, new ArrayList<>(), "승용", "쏘나타", "내용"), user);
+        given(postRepository.findPostById(postId)).willReturn(new Post(postId, 17, new Timestamp(12341241), new Timestamp(12341241), "내용", 15, 0));
+        postService.modifyPost(new ModifiedPostForm(postId, null, new ArrayList<>(), "승용", "쏘나타", "수정한 내용"), user);
+        ArgumentCaptor<Consumer<Image>> onUploaded = ArgumentCaptor.forClass(Consumer.class);
+        verify(postImageUploader, times(2)).upload(any(), eq(postId), onUploaded.capture(), any());
+        Image created = new Image(postId, "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/created.jpeg");
+        Image modified = new Image(postId, "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/modified.jpeg");
+        given(imageRepository.replaceImage(modified)).willReturn(Optional.empty());
+        given(imageRepository.addImageIfAbsent(created)).willReturn(false);
+
+        // when
+        onUploaded.getAllValues().get(1).accept(modified);
+        onUploaded.getAllValues().get(0).accept(created);
+
+        // then
+        verify(postImageUploader).release(created);
+        verify(postImageUploader, never()).release(modified);
+    }
+
+    @Test
+    @DisplayName("게시글 수정 테스트 - 이미지가 올라가는 중에 삭제되면 새 이미지를 회수한다")
+    void modifyDeletedPost() {
+        // given
+        User user = new User(17, "user17@email.com", "사용자17", "pw17");
+        int postId = 100;
+        given(postRepository.findPostById(postId)).willReturn(new Post(17, "변경 전 내용", 15));
+        given(tagRepository.findModelByName(any())).willReturn(new Model(15, 3, "쏘나타"));
+        postService.modifyPost(new ModifiedPostForm(postId, null, new ArrayList<>(), "승용", "쏘나타", "내용"), user);
+        ArgumentCaptor<Consumer<Image>> onUploaded = ArgumentCaptor.forClass(Consumer.class);
+        verify(postImageUploader).upload(any(), eq(postId), onUploaded.capture(), any());
+        Image modified = new Image(postId, "https://team2-carbook.s3.ap-northeast-2.amazonaws.com/images/modified.jpeg");
+        given(postRepository.findPostByIdForUpdate(postId)).willThrow(new PostNotExistException());
+
+        // when
+        onUploaded.getValue().accept(modified);
+
+        // then
+        verify(postImageUploader).release(modified);
+        verify(imageRepository, never()).replaceImage(any());
     }
 
     @Test
@@ -0,0 +1,81 @@
+package softeer.carbook.domain.post.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import softeer.carbook.domain.post.model.TaggedPost;
+import softeer.carbook.domain.post.repository.PostRepository;
+import softeer.carbook.domain.tag.model.Model;
+import softeer.carbook.domain.tag.model.Type;
+import softeer.carbook.domain.tag.repository.TagRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class PostTagIndexTest {
+    @Mock
+    private PostRepository postRepository;
+    @Mock
+    private TagRepository tagRepository;
+
+    private PostTagIndex postTagIndex;
+
+    @BeforeEach
+    void setUp() {
+        postTagIndex = new PostTagIndex(postRepository, tagRepository, true);
+        given(tagRepository.findAllTypes()).willReturn(List.of(new Type(1, "승용"), new Type(2, "SUV")));
+        given(tagRepository.findAllModels()).willReturn(List.of(
+                new Model(10, 1, "쏘나타"), new Model(20, 2, "투싼")));
+        given(postRepository.findAllTaggedPosts()).willReturn(List.of(
+                new TaggedPost(1, 10, new ArrayList<>(List.of("맑음", "흐림"))),
+                new TaggedPost(2, 20, new ArrayList<>(List.of("맑음"))),
+                new TaggedPost(3, 10, new ArrayList<>(List.of("맑음"))),
+                new TaggedPost(4, 10, new ArrayList<>(List.of("흐림"))),
+                new TaggedPost(5, 10, new ArrayList<>(List.of("맑음", "흐림")))
+        ));
+        postTagIndex.build();
+    }
+
+    @Test
+    @DisplayName("타입, 해시태그 교집합 검색 테스트")
+    void searchByTypeAndHashtags() {
+        List<Integer> result = postTagIndex.search("승용", null, List.of("맑음", "흐림"), Integer.MAX_VALUE, 10);
+
+        assertThat(postTagIndex.isAvailable()).isTrue();
+        assertThat(result).containsExactly(5, 1);
+    }
+
+    @Test
+    @DisplayName("postId 미만에서 size 만큼 검색 테스트")
+    void searchWithCursor() {
+        List<Integer> result = postTagIndex.search(null, "쏘나타", new ArrayList<>(), 5, 2);
+
+        assertThat(result).containsExactly(4, 3);
+    }
+
+    @Test
+    @DisplayName("없는 태그로 검색하는 경우 테스트")
+    void searchWithUnknownTag() {
+        List<Integer> result = postTagIndex.search(null, "아반떼", List.of("맑음"), Integer.MAX_VALUE, 10);
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    @DisplayName("게시글 추가, 수정, 삭제 시 인덱스 갱신 테스트")
+    void updateIndex() {
+        postTagIndex.addPost(6, 20, List.of("눈"));
+        postTagIndex.addPost(1, 20, List.of("눈"));
+        postTagIndex.removePost(6);
+
+        assertThat(postTagIndex.search("SUV", null, List.of("눈"), Integer.MAX_VALUE, 10)).containsExactly(1);
+        assertThat(postTagIndex.search(null, null, List.of("흐림"), Integer.MAX_VALUE, 10)).containsExactly(5, 4);
+    }
+}
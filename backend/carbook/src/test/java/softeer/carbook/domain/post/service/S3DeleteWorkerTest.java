@@ -0,0 +1,147 @@
+package softeer.carbook.domain.post.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import softeer.carbook.domain.post.repository.ImageObjectRepository;
+import softeer.carbook.domain.post.repository.ObjectStore;
+import softeer.carbook.domain.post.repository.S3DeleteQueueRepository;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class S3DeleteWorkerTest {
+    @Mock
+    private S3DeleteQueueRepository s3DeleteQueueRepository;
+    @Mock
+    private ImageObjectRepository imageObjectRepository;
+    @Mock
+    private ObjectStore objectStore;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private S3DeleteWorker s3DeleteWorker;
+
+    @BeforeEach
+    void setUp() {
+        s3DeleteWorker = new S3DeleteWorker(s3DeleteQueueRepository, imageObjectRepository, objectStore,
+                new TransactionTemplate(transactionManager), 2, 0);
+    }
+
+    private void givenUrls() {
+        given(objectStore.getUrl(anyString())).willAnswer(invocation -> "https://s3/" + invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("큐에 쌓인 키를 batch-size 개씩 한 번에 지운다")
+    void drain() {
+        // given
+        givenUrls();
+        given(s3DeleteQueueRepository.findKeys(any(), anyInt()))
+                .willReturn(List.of("images/a.jpeg", "images/b.jpeg"))
+                .willReturn(List.of("images/c.jpeg"));
+        given(imageObjectRepository.markDeleting(any())).willReturn(Set.of());
+        given(objectStore.delete(any())).willReturn(List.of());
+
+        // when
+        s3DeleteWorker.drain();
+
+        // then
+        verify(objectStore).delete(List.of("images/a.jpeg", "images/b.jpeg"));
+        verify(objectStore).delete(List.of("images/c.jpeg"));
+        verify(s3DeleteQueueRepository).remove(List.of("images/a.jpeg", "images/b.jpeg"));
+        verify(s3DeleteQueueRepository).remove(List.of("images/c.jpeg"));
+    }
+
+    @Test
+    @DisplayName("지우는 중으로 표시한 뒤 트랜잭션 밖에서 S3 에 요청하고, 다른 트랜잭션에서 행과 큐를 정리한다")
+    void deleteOutsideTransaction() {
+        // given
+        givenUrls();
+        given(s3DeleteQueueRepository.findKeys(any(), anyInt())).willReturn(List.of("images/a.jpeg"));
+        given(imageObjectRepository.markDeleting(any())).willReturn(Set.of());
+        given(objectStore.delete(any())).willReturn(List.of());
+
+        // when
+        s3DeleteWorker.drain();
+
+        // then
+        InOrder inOrder = inOrder(imageObjectRepository, objectStore, transactionManager, s3DeleteQueueRepository);
+        inOrder.verify(imageObjectRepository).markDeleting(List.of("https://s3/images/a.jpeg"));
+        inOrder.verify(objectStore).delete(List.of("images/a.jpeg"));
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(imageObjectRepository).removeReleased(List.of("https://s3/images/a.jpeg"));
+        inOrder.verify(imageObjectRepository).clearDeleting(List.of("https://s3/images/a.jpeg"));
+        inOrder.verify(s3DeleteQueueRepository).remove(List.of("images/a.jpeg"));
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    @DisplayName("다시 참조된 객체는 지우지 않고 큐에서만 뺀다")
+    void skipReferenced() {
+        // given
+        givenUrls();
+        given(s3DeleteQueueRepository.findKeys(any(), anyInt())).willReturn(List.of("images/a.jpeg"));
+        given(imageObjectRepository.markDeleting(List.of("https://s3/images/a.jpeg")))
+                .willReturn(Set.of("https://s3/images/a.jpeg"));
+        given(objectStore.delete(List.of())).willReturn(List.of());
+
+        // when
+        s3DeleteWorker.drain();
+
+        // then
+        verify(s3DeleteQueueRepository).remove(List.of("images/a.jpeg"));
+    }
+
+    @Test
+    @DisplayName("지우지 못한 키는 큐에 남기고 다음 주기에 다시 시도한다")
+    void keepFailedKeys() {
+        // given
+        givenUrls();
+        given(s3DeleteQueueRepository.findKeys(any(), anyInt())).willReturn(List.of("images/a.jpeg", "images/b.jpeg"));
+        given(imageObjectRepository.markDeleting(any())).willReturn(Set.of());
+        given(objectStore.delete(any())).willReturn(List.of("images/b.jpeg"));
+
+        // when
+        s3DeleteWorker.drain();
+
+        // then
+        verify(s3DeleteQueueRepository).remove(List.of("images/a.jpeg"));
+        verify(imageObjectRepository).removeReleased(List.of("https://s3/images/a.jpeg"));
+        verify(imageObjectRepository).clearDeleting(List.of("https://s3/images/a.jpeg", "https://s3/images/b.jpeg"));
+        verify(s3DeleteQueueRepository, times(1)).findKeys(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("S3 요청이 실패하면 큐를 그대로 두고 지우는 중 표시를 푼다")
+    void keepQueueOnFailure() {
+        // given
+        givenUrls();
+        given(s3DeleteQueueRepository.findKeys(any(), anyInt())).willReturn(List.of("images/a.jpeg"));
+        given(imageObjectRepository.markDeleting(any())).willReturn(Set.of());
+        given(objectStore.delete(any())).willThrow(new IllegalStateException("S3 unavailable"));
+
+        // when
+        s3DeleteWorker.drain();
+
+        // then
+        verify(s3DeleteQueueRepository, never()).remove(any());
+        verify(imageObjectRepository).clearDeleting(List.of("https://s3/images/a.jpeg"));
+    }
+}
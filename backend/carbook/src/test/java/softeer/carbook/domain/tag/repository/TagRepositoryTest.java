@@ -8,13 +8,16 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
 import softeer.carbook.domain.tag.exception.HashtagNotExistException;
 import softeer.carbook.domain.tag.model.Hashtag;
 import softeer.carbook.domain.tag.model.Model;
+import softeer.carbook.domain.tag.model.Type;
 
 import javax.sql.DataSource;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -143,6 +146,50 @@ class TagRepositoryTest {
         assertThat(result.get(0).getTag()).isEqualTo(tagName);
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"'", "' OR '1'='1", "!"})
+    @DisplayName("따옴표, escape 문자를 접두어로 한 해시태그 조회 테스트")
+    void searchHashtagByPrefixWithQuote(String keyword) {
+        // when
+        List<Hashtag> result = tagRepository.searchHashtagByPrefix(keyword);
+
+        // then
+        assertThat(result.size()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("모든 해시태그 조회 테스트")
+    void findAllHashtags() {
+        // when
+        List<Hashtag> result = tagRepository.findAllHashtags();
+
+        // then
+        assertThat(result.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("해시태그별 게시글 수 조회 테스트 - 삭제된 게시글 제외")
+    void countPostsByHashtagId() {
+        // when
+        Map<Integer, Integer> result = tagRepository.countPostsByHashtagId();
+
+        // then
+        assertThat(result.get(1)).isEqualTo(2);
+        assertThat(result.get(2)).isEqualTo(3);
+        assertThat(result.get(3)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("모델별 게시글 수 조회 테스트 - 삭제된 게시글 제외")
+    void countPostsByModelId() {
+        // when
+        Map<Integer, Integer> result = tagRepository.countPostsByModelId();
+
+        // then
+        assertThat(result.get(1)).isEqualTo(1);
+        assertThat(result.containsKey(3)).isFalse();
+    }
+
     @ParameterizedTest
     @CsvSource(value = {"1,1,아이오닉 6", "2,1,아이오닉 5", "3,1,넥쏘"})
     @DisplayName("모델 이름으로 모델 태그 조회 테스트")
@@ -156,6 +203,69 @@ class TagRepositoryTest {
         assertThat(result.getTag()).isEqualTo(tagName);
     }
 
+    @Test
+    @DisplayName("모델 id, 타입 id로 조회 테스트")
+    void findModelAndTypeById() {
+        // when
+        List<Model> models = tagRepository.findModelByModelId(11);
+        List<Type> types = tagRepository.findTypeById(models.get(0).getTypeId());
+
+        // then
+        assertThat(models.get(0).getTag()).isEqualTo("디 올 뉴 그랜저");
+        assertThat(types.get(0).getTag()).isEqualTo("승용");
+        assertThat(tagRepository.findModelByModelId(100)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("모델 이름은 대소문자 구분 없이 조회 테스트")
+    void findModelByNameIgnoringCase() {
+        // given & when
+        Model result = tagRepository.findModelByName("아반떼 n line");
+
+        // then
+        assertThat(result.getId()).isEqualTo(7);
+        assertThat(result.getTag()).isEqualTo("아반떼 N Line");
+    }
+
+    @Test
+    @DisplayName("없는 모델 이름으로 모델 태그 조회 테스트")
+    void findModelByNameWithNoModel() {
+        // given & when
+        Throwable exception = assertThrows(IllegalArgumentException.class, () -> tagRepository.findModelByName("없는 모델"));
+
+        // then
+        assertThat(exception.getMessage()).isEqualTo("ERROR: Model not exist");
+    }
+
+    @Test
+    @DisplayName("타입, 모델 대소문자 구분 없는 접두어 검색 테스트")
+    void searchTypeAndModelByPrefix() {
+        // when
+        List<Type> types = tagRepository.searchTypeByPrefix("su");
+        List<Model> models = tagRepository.searchModelByPrefix("아이오닉");
+
+        // then
+        assertThat(types).extracting(Type::getTag).containsExactly("SUV");
+        assertThat(models.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("타입, 모델 캐시 다시 불러오기 테스트")
+    void reloadReferenceTags() {
+        // given
+        assertThat(tagRepository.findAllTypes().size()).isEqualTo(8);
+        new JdbcTemplate(dataSource).update("insert into TYPE (id, tag) values (9, '특수차')");
+
+        // when
+        int beforeReload = tagRepository.findAllTypes().size();
+        tagRepository.reloadReferenceTags();
+
+        // then
+        assertThat(beforeReload).isEqualTo(8);
+        assertThat(tagRepository.findAllTypes().size()).isEqualTo(9);
+        assertThat(tagRepository.findTypeById(9).get(0).getTag()).isEqualTo("특수차");
+    }
+
     @Test
     @DisplayName("게시물에 해시태그 추가 테스트")
     void addPostHashtag() {
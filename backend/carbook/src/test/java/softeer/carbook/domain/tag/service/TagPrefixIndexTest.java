@@ -0,0 +1,64 @@
+package softeer.carbook.domain.tag.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import softeer.carbook.domain.tag.model.Hashtag;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TagPrefixIndexTest {
+    private TagPrefixIndex<Hashtag> index;
+
+    @BeforeEach
+    void setUp() {
+        Map<Integer, Integer> popularity = Map.of(1, 3, 2, 10, 3, 1, 4, 7);
+        index = new TagPrefixIndex<>(Hashtag::getTag);
+        index.load(List.of(
+                new Hashtag(1, "맑음"),
+                new Hashtag(2, "맑은하늘"),
+                new Hashtag(3, "흐림"),
+                new Hashtag(4, "Mountain")
+        ), hashtag -> popularity.get(hashtag.getId()));
+    }
+
+    @Test
+    @DisplayName("접두어 검색 결과는 인기도 순")
+    void searchOrderedByPopularity() {
+        List<Hashtag> result = index.search("맑", 10);
+
+        assertThat(result).extracting(Hashtag::getTag).containsExactly("맑은하늘", "맑음");
+    }
+
+    @Test
+    @DisplayName("접두어 검색 결과 개수 제한, 대소문자 구분 없음")
+    void searchWithLimitIgnoringCase() {
+        assertThat(index.search("", 2)).extracting(Hashtag::getTag).containsExactly("맑은하늘", "Mountain");
+        assertThat(index.search("mou", 10)).extracting(Hashtag::getTag).containsExactly("Mountain");
+    }
+
+    @Test
+    @DisplayName("해시태그 추가, 인기도 증가 테스트")
+    void addAndIncreasePopularity() {
+        index.add(new Hashtag(5, "맑게"), 0);
+        for (int count = 0; count < 20; count++) {
+            index.increasePopularity("맑게");
+        }
+
+        assertThat(index.search("맑", 1)).extracting(Hashtag::getTag).containsExactly("맑게");
+        assertThat(index.search("맑", 10)).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("인기도 감소 테스트 - 0 아래로 내려가지 않음")
+    void decreasePopularity() {
+        for (int count = 0; count < 10; count++) {
+            index.decreasePopularity("맑은하늘");
+        }
+
+        assertThat(index.search("맑", 10)).extracting(Hashtag::getTag).containsExactly("맑음", "맑은하늘");
+    }
+}
@@ -17,6 +17,7 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +27,8 @@ class TagServiceTest {
 
     @Mock
     private TagRepository tagRepository;
+    @Mock
+    private TagAutocompleteIndex tagAutocompleteIndex;
 
     private final List<TagSearchResult> keywords = new ArrayList<>(List.of(
             new TagSearchResult(1, "type", "승용"),
@@ -77,6 +80,51 @@ class TagServiceTest {
         verify(tagRepository).searchHashtagByPrefix(keyword);
     }
 
+    @Test
+    @DisplayName("모든 태그 검색 기능 테스트 - 자동완성 인덱스를 사용하는 경우")
+    void searchAllTagsWithIndex() {
+        // given
+        String keyword = "keyword";
+        given(tagAutocompleteIndex.isLoaded()).willReturn(true);
+        given(tagAutocompleteIndex.searchTypes(keyword, 10)).willReturn(new ArrayList<>(List.of(
+                new Type(1, "승용")
+        )));
+        given(tagAutocompleteIndex.searchModels(keyword, 10)).willReturn(new ArrayList<>(List.of(
+                new Model(1, 1, "아이오닉")
+        )));
+        given(tagAutocompleteIndex.searchHashtags(keyword, 10)).willReturn(new ArrayList<>(List.of(
+                new Hashtag(1, "맑음")
+        )));
+
+        // when
+        TagSearchResopnse response = tagService.searchAllTags(keyword);
+
+        // then
+        assertThat(response.getKeywords()).usingRecursiveComparison().isEqualTo(keywords);
+        verify(tagRepository, never()).searchTypeByPrefix(keyword);
+        verify(tagRepository, never()).searchModelByPrefix(keyword);
+        verify(tagRepository, never()).searchHashtagByPrefix(keyword);
+    }
+
+    @Test
+    @DisplayName("해시태그 검색 기능 테스트 - 검색 결과 개수 제한")
+    void searchHashTagWithLimit() {
+        // given
+        String keyword = "맑";
+        List<Hashtag> hashtags = new ArrayList<>();
+        for (int id = 1; id <= 15; id++) {
+            hashtags.add(new Hashtag(id, "맑음" + id));
+        }
+        given(tagRepository.searchHashtagByPrefix(keyword)).willReturn(hashtags);
+
+        // when
+        HashtagSearchResponse response = tagService.searchHashTag(keyword);
+
+        // then
+        assertThat(response.getHashtags().size()).isEqualTo(10);
+        verify(tagRepository).searchHashtagByPrefix(keyword);
+    }
+
     @Test
     @DisplayName("해시태그 검색 기능 테스트 - 검색 결과가 있는 경우")
     void searchHashTag() {
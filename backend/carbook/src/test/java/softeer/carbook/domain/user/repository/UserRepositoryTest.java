@@ -11,6 +11,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.mock.web.MockHttpSession;
 import org.springframework.test.context.jdbc.Sql;
+import softeer.carbook.domain.follow.model.FollowNickname;
 import softeer.carbook.domain.follow.repository.FollowRepository;
 import softeer.carbook.domain.user.exception.IdNotExistException;
 import softeer.carbook.domain.user.exception.LoginEmailNotExistException;
@@ -181,7 +182,7 @@ class UserRepositoryTest {
                 userRepository.findUserByEmail(user2.getEmail()).getId());
 
         // when
-        List<String> nicknames = userRepository.getFollowingNicknames(user.getNickname());
+        List<String> nicknames = userRepository.getFollowingNicknames(user.getNickname(), 10);
 
         // then
         assertThat(nicknames.size()).isEqualTo(2);
@@ -202,9 +203,82 @@ class UserRepositoryTest {
                 userRepository.findUserByEmail(user.getEmail()).getId());
 
         // when
-        List<String> nicknames = userRepository.getFollowerNicknames(user.getNickname());
+        List<String> nicknames = userRepository.getFollowerNicknames(user.getNickname(), 10);
 
         // then
         assertThat(nicknames.size()).isEqualTo(2);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("팔로잉 리스트 개수 제한 테스트")
+    void getFollowingNicknamesWithLimit() {
+        // given
+        userRepository.addUser(user);
+        userRepository.addUser(user1);
+        userRepository.addUser(user2);
+        followRepository.addFollow(
+                userRepository.findUserByEmail(user.getEmail()).getId(),
+                userRepository.findUserByEmail(user1.getEmail()).getId());
+        followRepository.addFollow(
+                userRepository.findUserByEmail(user.getEmail()).getId(),
+                userRepository.findUserByEmail(user2.getEmail()).getId());
+
+        // when
+        List<String> nicknames = userRepository.getFollowingNicknames(user.getNickname(), 1);
+
+        // then
+        assertThat(nicknames.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("팔로잉 리스트 페이지 조회 테스트")
+    void getFollowingNicknamesBefore() {
+        // given
+        userRepository.addUser(user);
+        userRepository.addUser(user1);
+        userRepository.addUser(user2);
+        followRepository.addFollow(
+                userRepository.findUserByEmail(user.getEmail()).getId(),
+                userRepository.findUserByEmail(user1.getEmail()).getId());
+        followRepository.addFollow(
+                userRepository.findUserByEmail(user.getEmail()).getId(),
+                userRepository.findUserByEmail(user2.getEmail()).getId());
+
+        // when
+        List<FollowNickname> firstPage = userRepository.getFollowingNicknamesBefore(user.getNickname(), Integer.MAX_VALUE, 1);
+        List<FollowNickname> secondPage = userRepository.getFollowingNicknamesBefore(
+                user.getNickname(), firstPage.get(0).getFollowId(), 1);
+
+        // then
+        assertThat(firstPage.size()).isEqualTo(1);
+        assertThat(firstPage.get(0).getNickname()).isEqualTo(user2.getNickname());
+        assertThat(secondPage.size()).isEqualTo(1);
+        assertThat(secondPage.get(0).getNickname()).isEqualTo(user1.getNickname());
+    }
+
+    @Test
+    @DisplayName("팔로워 리스트 페이지 조회 테스트")
+    void getFollowerNicknamesBefore() {
+        // given
+        userRepository.addUser(user);
+        userRepository.addUser(user1);
+        userRepository.addUser(user2);
+        followRepository.addFollow(
+                userRepository.findUserByEmail(user1.getEmail()).getId(),
+                userRepository.findUserByEmail(user.getEmail()).getId());
+        followRepository.addFollow(
+                userRepository.findUserByEmail(user2.getEmail()).getId(),
+                userRepository.findUserByEmail(user.getEmail()).getId());
+
+        // when
+        List<FollowNickname> firstPage = userRepository.getFollowerNicknamesBefore(user.getNickname(), Integer.MAX_VALUE, 2);
+        List<FollowNickname> secondPage = userRepository.getFollowerNicknamesBefore(
+                user.getNickname(), firstPage.get(1).getFollowId(), 2);
+
+        // then
+        assertThat(firstPage.size()).isEqualTo(2);
+        assertThat(firstPage.get(0).getNickname()).isEqualTo(user2.getNickname());
+        assertThat(firstPage.get(1).getNickname()).isEqualTo(user1.getNickname());
+        assertThat(secondPage.size()).isEqualTo(0);
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpSession;
 import org.springframework.transaction.annotation.Transactional;
+import softeer.carbook.domain.post.service.PostDetailCache;
 import softeer.carbook.domain.user.dto.IsLoginForm;
 import softeer.carbook.domain.user.dto.LoginForm;
 import softeer.carbook.domain.user.dto.ModifyPasswordForm;
@@ -39,6 +40,8 @@ class UserServiceTest {
     private UserService userService;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private PostDetailCache postDetailCache;
 
     @Test
     @DisplayName("회원가입 성공 테스트")
@@ -160,6 +163,7 @@ class UserServiceTest {
 
         given(userRepository.isNicknameDuplicated(nickname)).willReturn(true);
         given(userRepository.isNicknameDuplicated(newNickname)).willReturn(false);
+        given(userRepository.findUserByNickname(newNickname)).willReturn(new User(14, "user14@email.com", newNickname, "pw14"));
 
         // When
         Message resultMsg = userService.modifyNickname(nickname, newNickname, httpServletRequest);
@@ -169,6 +173,7 @@ class UserServiceTest {
         verify(userRepository).isNicknameDuplicated(nickname);
         verify(userRepository).isNicknameDuplicated(newNickname);
         verify(userRepository).modifyNickname(nickname, newNickname);
+        verify(postDetailCache).evictByUserId(14);
     }
 
     @Test
@@ -81,6 +81,12 @@ values (1,2,0),
        (2,4,0),
        (4,3,0);
 
+insert into FOLLOW_COUNT (user_id, follower_count, following_count)
+values (1, 1, 2),
+       (2, 1, 2),
+       (3, 2, 0),
+       (4, 1, 1);
+
 insert into POST (user_id, create_date, update_date, content, model_id, is_deleted, like_count)
 values (1,TIMESTAMPADD(DAY, -5, NOW()),'2023-02-07 11:24:24','1번 유저 첫글',1,0,3),
        (1,TIMESTAMPADD(DAY, -6, NOW()),'2023-02-07 11:25:10','1번 유저 두번째글',2,0,0),
@@ -1,7 +1,10 @@
 SET MODE MYSQL;
 
+drop table if exists FOLLOW_COUNT;
 drop table if exists FOLLOW;
 drop table if exists IMAGE;
+drop table if exists IMAGE_OBJECT;
+drop table if exists S3_DELETE_QUEUE;
 drop table if exists POST_HASHTAG;
 drop table if exists POST_LIKE;
 drop table if exists HASHTAG;
@@ -71,6 +74,17 @@ create table FOLLOW
             on update cascade on delete cascade
 );
 
+create table FOLLOW_COUNT
+(
+    user_id         int           not null
+        primary key,
+    follower_count  int default 0 not null,
+    following_count int default 0 not null,
+    constraint follow_count_user_id_fk
+        foreign key (user_id) references `USER` (id)
+            on update cascade on delete cascade
+);
+
 create table POST
 (
     id          int auto_increment
@@ -90,12 +104,41 @@ create table POST
             on update cascade on delete cascade
 );
 
+create table IMAGE_OBJECT
+(
+    digest        char(64)     not null
+        primary key,
+    image_url     varchar(255) not null,
+    thumbnail_url varchar(255) null,
+    feed_url      varchar(255) null,
+    ref_count     int default 1 not null,
+    uploaded      boolean default false not null,
+    deleting      boolean default false not null,
+    constraint IMAGE_OBJECT_image_url_uindex
+        unique (image_url)
+);
+
+create table S3_DELETE_QUEUE
+(
+    id          int auto_increment
+        primary key,
+    object_key  varchar(255)                        not null,
+    create_date timestamp default CURRENT_TIMESTAMP not null
+);
+
+create index S3_DELETE_QUEUE_object_key_index
+    on S3_DELETE_QUEUE (object_key);
+
 create table IMAGE
 (
     id        int auto_increment
         primary key,
     post_id   int          not null,
     image_url varchar(255) not null,
+    thumbnail_url varchar(255) null,
+    feed_url  varchar(255) null,
+    constraint IMAGE_post_id_uindex
+        unique (post_id),
     constraint image_post_id_fk
         foreign key (post_id) references POST (id)
             on update cascade on delete cascade